@@ -0,0 +1,26 @@
+package com.easyserve.benchmark;
+
+import ch.qos.logback.classic.Level;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+
+import java.util.Map;
+
+// Minimal Spring context holding just the beans a benchmark exercises
+final class BenchmarkContext {
+
+    private BenchmarkContext() {}
+
+    static AnnotationConfigApplicationContext create(Map<String, Object> properties, Class<?>... components) {
+        // Notification and SQL logging would dominate the measurements
+        ((ch.qos.logback.classic.Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME)).setLevel(Level.WARN);
+
+        AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+        context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("benchmark", properties));
+        context.register(components);
+        context.refresh();
+        return context;
+    }
+}
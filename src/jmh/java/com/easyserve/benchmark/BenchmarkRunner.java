@@ -0,0 +1,51 @@
+package com.easyserve.benchmark;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+// Runs the selected benchmarks once per thread count and writes one JSON result file per run:
+//   -Djmh.include=<regex>  -Djmh.threads=1,4,16  -Djmh.params=datasetSize=1000,10000;backend=jpa
+//   -Djmh.profilers=gc  -Djmh.resultDir=target/jmh
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() {}
+
+    public static void main(String[] args) throws IOException, RunnerException {
+        String include = System.getProperty("jmh.include", ".*");
+        String threads = System.getProperty("jmh.threads", "1");
+        String params = System.getProperty("jmh.params", "");
+        String profilers = System.getProperty("jmh.profilers", "");
+        Path resultDir = Path.of(System.getProperty("jmh.resultDir", "target/jmh"));
+        Files.createDirectories(resultDir);
+
+        for (String value : threads.split(",")) {
+            int threadCount = Integer.parseInt(value.trim());
+            ChainedOptionsBuilder options = new OptionsBuilder()
+                    .include(include)
+                    .threads(threadCount)
+                    .resultFormat(ResultFormatType.JSON)
+                    .result(resultDir.resolve("results-" + threadCount + "t.json").toString());
+
+            for (String param : params.split(";")) {
+                if (param.isBlank()) {
+                    continue;
+                }
+                String[] nameAndValues = param.split("=", 2);
+                options.param(nameAndValues[0].trim(), nameAndValues[1].split(","));
+            }
+            for (String profiler : profilers.split(",")) {
+                if (!profiler.isBlank()) {
+                    options.addProfiler(profiler.trim());
+                }
+            }
+            new Runner(options.build()).run();
+        }
+    }
+}
@@ -0,0 +1,266 @@
+package com.easyserve.benchmark;
+
+import com.easyserve.config.WebConfig;
+import com.easyserve.controller.OrderController;
+import com.easyserve.controller.ReservationController;
+import com.easyserve.repository.InMemoryOrderStore;
+import com.easyserve.repository.InMemoryReservationStore;
+import com.easyserve.service.KitchenFeed;
+import com.easyserve.service.KitchenStatsTracker;
+import com.easyserve.service.LoggingNotificationTransport;
+import com.easyserve.service.MenuCache;
+import com.easyserve.service.MenuItemService;
+import com.easyserve.service.NotificationDispatcher;
+import com.easyserve.service.NotificationService;
+import com.easyserve.service.OrderService;
+import com.easyserve.service.PriceCatalog;
+import com.easyserve.service.ReservationService;
+import com.easyserve.service.SeatInventory;
+import com.easyserve.service.TableInventory;
+import com.easyserve.service.TurnoverModel;
+import com.easyserve.service.Waitlist;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.context.PropertyPlaceholderAutoConfiguration;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.DispatcherServletAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.ServletWebServerFactoryAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntFunction;
+
+// Closed-loop HTTP load test of order creation and reservation availability, once per thread
+// mode. Each of loadtest.users clients sends its next request as soon as the previous answer
+// arrives. The in-memory backend has no real I/O, so a filter sleeps loadtest.ioLatencyMs per
+// request to stand in for the database round trip of a peak-hour burst:
+//   mvn -Pbenchmark,java21 -DskipTests verify -Dbenchmark.main=com.easyserve.benchmark.EndpointLoadTest
+//       -Dloadtest.modes=platform,virtual -Dloadtest.users=1000 -Dloadtest.seconds=20 -Dloadtest.ioLatencyMs=20
+// Results are printed and written to <jmh.resultDir>/loadtest.json. The virtual mode needs the
+// java21 profile (VirtualThreadConfig); the platform mode runs on any build.
+public final class EndpointLoadTest {
+
+    private static final long BUCKET_NANOS = 100_000; // latency histogram resolution: 0.1 ms
+    private static final int BUCKETS = 300_000;       // up to 30 s, slower answers share the last bucket
+
+    private EndpointLoadTest() {}
+
+    public static void main(String[] args) throws Exception {
+        String[] modes = System.getProperty("loadtest.modes", "platform,virtual").split(",");
+        int users = Integer.getInteger("loadtest.users", 1000);
+        int warmupSeconds = Integer.getInteger("loadtest.warmupSeconds", 5);
+        int seconds = Integer.getInteger("loadtest.seconds", 20);
+        long ioLatencyMs = Long.getLong("loadtest.ioLatencyMs", 20);
+        Path resultDir = Path.of(System.getProperty("jmh.resultDir", "target/jmh"));
+        Files.createDirectories(resultDir);
+
+        List<Result> results = new ArrayList<>();
+        for (String mode : modes) {
+            try (ConfigurableApplicationContext server = startServer(mode.trim(), ioLatencyMs)) {
+                int port = ((ServletWebServerApplicationContext) server).getWebServer().getPort();
+                String base = "http://localhost:" + port;
+                HttpClient client = HttpClient.newBuilder()
+                        .version(HttpClient.Version.HTTP_1_1)
+                        .connectTimeout(Duration.ofSeconds(10))
+                        .build();
+
+                IntFunction<HttpRequest> createOrder = i -> HttpRequest.newBuilder(URI.create(base + "/api/orders"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(orderJson(i)))
+                        .build();
+                IntFunction<HttpRequest> availability = i -> HttpRequest.newBuilder(URI.create(base
+                                + "/api/reservations/availability?restaurantId=" + (i % 20 + 1)
+                                + "&date=" + LocalDate.now().plusDays(i % 30 + 1)
+                                + "&time=19:00:00&partySize=" + (i % 6 + 1)))
+                        .GET()
+                        .build();
+
+                results.add(run(mode.trim(), "POST /api/orders", client, createOrder, users, warmupSeconds, seconds));
+                results.add(run(mode.trim(), "GET /api/reservations/availability", client, availability,
+                        users, warmupSeconds, seconds));
+            }
+        }
+
+        System.out.printf("%n%-9s %-36s %10s %8s %10s %10s %10s%n",
+                "mode", "endpoint", "req/s", "errors", "p50 ms", "p99 ms", "max ms");
+        for (Result result : results) {
+            System.out.printf(Locale.ROOT, "%-9s %-36s %10.0f %8d %10.1f %10.1f %10.1f%n", result.mode,
+                    result.endpoint, result.throughput, result.errors, result.p50Ms, result.p99Ms, result.maxMs);
+        }
+        Files.writeString(resultDir.resolve("loadtest.json"), toJson(results, users, ioLatencyMs));
+    }
+
+    private static ConfigurableApplicationContext startServer(String mode, long ioLatencyMs) throws ClassNotFoundException {
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(LoadTestServer.class);
+        // Passed as arguments so they win over application.properties
+        List<String> settings = new ArrayList<>(List.of("--server.port=0", "--spring.main.banner-mode=off",
+                "--logging.level.root=WARN", "--loadtest.ioLatencyMs=" + ioLatencyMs));
+        if (mode.equals("virtual")) {
+            try {
+                builder.sources(Class.forName("com.easyserve.config.VirtualThreadConfig"));
+                settings.add("--app.threads.virtual=true");
+            } catch (ClassNotFoundException e) {
+                throw new ClassNotFoundException("Virtual thread mode needs a build with -Pjava21", e);
+            }
+        } else if (!mode.equals("platform")) {
+            throw new IllegalArgumentException("Unknown thread mode: " + mode);
+        }
+        return builder.run(settings.toArray(String[]::new));
+    }
+
+    private static Result run(String mode, String endpoint, HttpClient client, IntFunction<HttpRequest> requests,
+                              int users, int warmupSeconds, int seconds) {
+        drive(client, requests, users, warmupSeconds, new Recorder());
+
+        Recorder recorder = new Recorder();
+        long started = System.nanoTime();
+        drive(client, requests, users, seconds, recorder);
+        double elapsedSeconds = (System.nanoTime() - started) / 1e9;
+        return new Result(mode, endpoint, recorder.count() / elapsedSeconds, recorder.errors.sum(),
+                recorder.percentileMs(0.50), recorder.percentileMs(0.99), recorder.maxNanos() / 1e6);
+    }
+
+    private static void drive(HttpClient client, IntFunction<HttpRequest> requests, int users, int seconds,
+                              Recorder recorder) {
+        long stopAt = System.nanoTime() + seconds * 1_000_000_000L;
+        List<CompletableFuture<Void>> clients = new ArrayList<>(users);
+        for (int i = 0; i < users; i++) {
+            CompletableFuture<Void> done = new CompletableFuture<>();
+            next(client, requests, stopAt, recorder, done);
+            clients.add(done);
+        }
+        CompletableFuture.allOf(clients.toArray(CompletableFuture[]::new)).join();
+    }
+
+    private static void next(HttpClient client, IntFunction<HttpRequest> requests, long stopAt, Recorder recorder,
+                             CompletableFuture<Void> done) {
+        if (System.nanoTime() >= stopAt) {
+            done.complete(null);
+            return;
+        }
+        long start = System.nanoTime();
+        client.sendAsync(requests.apply(ThreadLocalRandom.current().nextInt(1 << 20)), HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, error) -> {
+                    recorder.record(System.nanoTime() - start, error == null && response.statusCode() < 400);
+                    next(client, requests, stopAt, recorder, done);
+                });
+    }
+
+    private static String orderJson(int i) {
+        return "{\"restaurant_id\":" + (i % 20 + 1) + ",\"customer_id\":" + (i % 5000 + 1)
+                + ",\"table_number\":" + (i % 10 + 1) + ",\"menu_item_ids\":[" + (i % 5 + 1) + "," + ((i >> 3) % 5 + 1) + "]}";
+    }
+
+    private static String toJson(List<Result> results, int users, long ioLatencyMs) {
+        StringBuilder json = new StringBuilder("{\"users\":").append(users)
+                .append(",\"ioLatencyMs\":").append(ioLatencyMs).append(",\"results\":[");
+        for (int i = 0; i < results.size(); i++) {
+            Result r = results.get(i);
+            json.append(i == 0 ? "" : ",").append(String.format(Locale.ROOT,
+                    "{\"mode\":\"%s\",\"endpoint\":\"%s\",\"throughput\":%.1f,\"errors\":%d,"
+                            + "\"p50Ms\":%.2f,\"p99Ms\":%.2f,\"maxMs\":%.2f}",
+                    r.mode, r.endpoint, r.throughput, r.errors, r.p50Ms, r.p99Ms, r.maxMs));
+        }
+        return json.append("]}").toString();
+    }
+
+    private record Result(String mode, String endpoint, double throughput, long errors,
+                          double p50Ms, double p99Ms, double maxMs) {}
+
+    private static final class Recorder {
+
+        private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+        private final LongAdder errors = new LongAdder();
+        private volatile long max;
+
+        void record(long nanos, boolean ok) {
+            if (!ok) {
+                errors.increment();
+            }
+            buckets.incrementAndGet((int) Math.min(nanos / BUCKET_NANOS, BUCKETS - 1));
+            if (nanos > max) {
+                synchronized (this) {
+                    max = Math.max(max, nanos);
+                }
+            }
+        }
+
+        long count() {
+            long count = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                count += buckets.get(i);
+            }
+            return count;
+        }
+
+        long maxNanos() {
+            return max;
+        }
+
+        // Upper edge of the bucket holding the given quantile
+        double percentileMs(double quantile) {
+            long rank = (long) Math.ceil(count() * quantile);
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += buckets.get(i);
+                if (seen >= rank && seen > 0) {
+                    return (i + 1) * BUCKET_NANOS / 1e6;
+                }
+            }
+            return 0;
+        }
+    }
+
+    // The two controllers on the in-memory backend, with the application's MVC and JSON setup
+    @Configuration
+    @ImportAutoConfiguration({PropertyPlaceholderAutoConfiguration.class, ServletWebServerFactoryAutoConfiguration.class,
+            DispatcherServletAutoConfiguration.class, TaskExecutionAutoConfiguration.class})
+    @Import({WebConfig.class, MenuBenchmarkConfig.class, RollupBenchmarkConfig.class, OrderController.class, ReservationController.class,
+            MenuItemService.class, MenuCache.class, PriceCatalog.class,
+            OrderService.class, ReservationService.class, InMemoryOrderStore.class, InMemoryReservationStore.class,
+            KitchenStatsTracker.class, KitchenFeed.class, TableInventory.class, SeatInventory.class, TurnoverModel.class, Waitlist.class,
+            NotificationService.class, NotificationDispatcher.class, LoggingNotificationTransport.class})
+    static class LoadTestServer {
+
+        @Bean
+        OncePerRequestFilter simulatedIoLatency(@Value("${loadtest.ioLatencyMs}") long ioLatencyMs) {
+            return new OncePerRequestFilter() {
+                @Override
+                protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                                FilterChain chain) throws ServletException, IOException {
+                    try {
+                        Thread.sleep(ioLatencyMs);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    chain.doFilter(request, response);
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.easyserve.benchmark;
+
+import com.easyserve.model.PreassignedIdInterceptor;
+import com.easyserve.repository.OrderRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+
+import javax.sql.DataSource;
+import java.util.Properties;
+
+// In-memory H2 with the same Hibernate batching settings as DatabaseConfig; class-based
+// proxies as under Spring Boot, so stores can be injected by their concrete type
+@Configuration
+@EnableTransactionManagement(proxyTargetClass = true)
+@EnableJpaRepositories(basePackageClasses = OrderRepository.class)
+public class JpaBenchmarkConfig {
+
+    static final int BATCH_SIZE = 50;
+
+    @Bean
+    public DataSource dataSource() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource();
+        dataSource.setDriverClassName("org.h2.Driver");
+        dataSource.setUrl("jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1");
+        dataSource.setUsername("sa");
+        dataSource.setPassword("");
+        return dataSource;
+    }
+
+    @Bean
+    public LocalContainerEntityManagerFactoryBean entityManagerFactory(DataSource dataSource) {
+        LocalContainerEntityManagerFactoryBean em = new LocalContainerEntityManagerFactoryBean();
+        em.setDataSource(dataSource);
+        em.setPackagesToScan("com.easyserve.model");
+        em.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+
+        Properties props = new Properties();
+        props.put("hibernate.hbm2ddl.auto", "create-drop");
+        props.put("hibernate.jdbc.batch_size", BATCH_SIZE);
+        props.put("hibernate.order_inserts", true);
+        props.put("hibernate.order_updates", true);
+        props.put("hibernate.jdbc.batch_versioned_data", true);
+        props.put("hibernate.session_factory.interceptor", new PreassignedIdInterceptor());
+        em.setJpaProperties(props);
+        return em;
+    }
+
+    @Bean
+    public PlatformTransactionManager transactionManager(EntityManagerFactory emf) {
+        return new JpaTransactionManager(emf);
+    }
+}
@@ -0,0 +1,16 @@
+package com.easyserve.benchmark;
+
+import com.easyserve.config.WebConfig;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+// The application's JSON converter without the rest of WebConfig, which needs a servlet context
+@Configuration
+public class JsonBenchmarkConfig {
+
+    @Bean
+    public MappingJackson2HttpMessageConverter jacksonConverter() {
+        return new WebConfig().jacksonConverter();
+    }
+}
@@ -0,0 +1,170 @@
+package com.easyserve.benchmark;
+
+import com.easyserve.repository.InMemoryUserStore;
+import com.easyserve.repository.UserStore;
+import com.easyserve.security.JwtAuthenticationFilter;
+import com.easyserve.security.JwtTokenProvider;
+import com.easyserve.service.LoggingNotificationTransport;
+import com.easyserve.service.LoginThrottle;
+import com.easyserve.service.NotificationDispatcher;
+import com.easyserve.service.NotificationService;
+import com.easyserve.service.PasswordHasher;
+import com.easyserve.service.UserService;
+import com.easyserve.service.UserService.UserProfile;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Per-request authentication cost: the stateless filter against the same token check followed
+// by the user lookup a UserDetailsService-backed filter would do. Run with -Djmh.threads=1,4
+// to see how both behave when requests authenticate concurrently.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx6g"})
+public class JwtAuthenticationFilterBenchmark {
+
+    private static final String SECRET = "benchmark-secret-benchmark-secret-benchmark-secret-benchmark-secret";
+
+    // Distinct users, and so distinct tokens, hitting the service
+    @Param({"1000", "100000"})
+    public int datasetSize;
+
+    private AnnotationConfigApplicationContext context;
+    private JwtTokenProvider jwtTokenProvider;
+    private UserService userService;
+    private JwtAuthenticationFilter filter;
+    private String[] headers;
+
+    // Nothing past the filter is measured; the wrapper answers what the filter asks for
+    private final HttpServletRequest baseRequest = unsupported(HttpServletRequest.class);
+    private final HttpServletResponse response = unsupported(HttpServletResponse.class);
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.create(Map.of("jwt.secret", SECRET),
+                LoggingNotificationTransport.class, NotificationDispatcher.class, NotificationService.class,
+                PasswordHasher.class, LoginThrottle.class, InMemoryUserStore.class, UserService.class,
+                JwtTokenProvider.class);
+        jwtTokenProvider = context.getBean(JwtTokenProvider.class);
+        userService = context.getBean(UserService.class);
+        filter = new JwtAuthenticationFilter(jwtTokenProvider);
+
+        UserStore userStore = context.getBean(UserStore.class);
+        headers = new String[datasetSize];
+        for (int i = 0; i < datasetSize; i++) {
+            UserProfile user = SyntheticData.userProfile(i, "not-a-real-hash");
+            userStore.insert(user);
+            headers[i] = "Bearer " + jwtTokenProvider.generateAccessToken(user);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void statelessFilter(Blackhole blackhole) throws ServletException, IOException {
+        FilterChain chain = (request, response) ->
+                blackhole.consume(SecurityContextHolder.getContext().getAuthentication());
+        filter.doFilter(new BearerRequest(baseRequest, randomHeader()), response, chain);
+        SecurityContextHolder.clearContext();
+    }
+
+    // Before: the token only identified the user, whose role then came from the user store
+    @Benchmark
+    public void userStoreLookup(Blackhole blackhole) {
+        String token = randomHeader().substring(7);
+        if (jwtTokenProvider.validateToken(token)) {
+            UserProfile user = userService.getUserByEmail(jwtTokenProvider.getUserEmail(token));
+            SecurityContext securityContext = SecurityContextHolder.createEmptyContext();
+            securityContext.setAuthentication(UsernamePasswordAuthenticationToken.authenticated(user, null,
+                    List.of(new SimpleGrantedAuthority("ROLE_" + user.getRole()))));
+            SecurityContextHolder.setContext(securityContext);
+            blackhole.consume(SecurityContextHolder.getContext().getAuthentication());
+        }
+        SecurityContextHolder.clearContext();
+    }
+
+    private String randomHeader() {
+        return headers[ThreadLocalRandom.current().nextInt(datasetSize)];
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T unsupported(Class<T> type) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, (proxy, method, args) -> {
+            throw new UnsupportedOperationException(method.getName());
+        });
+    }
+
+    // One per request, as a container would hand out
+    private static final class BearerRequest extends HttpServletRequestWrapper {
+
+        private final String authorization;
+        private final Map<String, Object> attributes = new HashMap<>();
+
+        BearerRequest(HttpServletRequest request, String authorization) {
+            super(request);
+            this.authorization = authorization;
+        }
+
+        @Override
+        public String getHeader(String name) {
+            return HttpHeaders.AUTHORIZATION.equalsIgnoreCase(name) ? authorization : null;
+        }
+
+        @Override
+        public Object getAttribute(String name) {
+            return attributes.get(name);
+        }
+
+        @Override
+        public void setAttribute(String name, Object value) {
+            attributes.put(name, value);
+        }
+
+        @Override
+        public void removeAttribute(String name) {
+            attributes.remove(name);
+        }
+
+        @Override
+        public DispatcherType getDispatcherType() {
+            return DispatcherType.REQUEST;
+        }
+    }
+}
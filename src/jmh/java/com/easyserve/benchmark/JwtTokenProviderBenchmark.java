@@ -0,0 +1,82 @@
+package com.easyserve.benchmark;
+
+import com.easyserve.model.User;
+import com.easyserve.security.JwtTokenProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx6g"})
+public class JwtTokenProviderBenchmark {
+
+    // HS512 needs at least a 64-byte key
+    private static final String SECRET = "benchmark-secret-benchmark-secret-benchmark-secret-benchmark-secret";
+
+    // Number of distinct users, and so of distinct tokens in circulation
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int datasetSize;
+
+    private AnnotationConfigApplicationContext context;
+    private JwtTokenProvider jwtTokenProvider;
+    private User[] users;
+    private String[] tokens;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.create(Map.of("jwt.secret", SECRET), JwtTokenProvider.class);
+        jwtTokenProvider = context.getBean(JwtTokenProvider.class);
+
+        users = new User[datasetSize];
+        tokens = new String[datasetSize];
+        for (int i = 0; i < datasetSize; i++) {
+            users[i] = SyntheticData.user(i);
+            tokens[i] = jwtTokenProvider.generateAccessToken(users[i]);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtTokenProvider.generateAccessToken(users[ThreadLocalRandom.current().nextInt(datasetSize)]);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return jwtTokenProvider.validateToken(tokens[ThreadLocalRandom.current().nextInt(datasetSize)]);
+    }
+
+    // What one authenticated request does: validate, then read the claims it needs
+    @Benchmark
+    public void authenticateRequest(Blackhole blackhole) {
+        String token = tokens[ThreadLocalRandom.current().nextInt(datasetSize)];
+        blackhole.consume(jwtTokenProvider.validateToken(token));
+        blackhole.consume(jwtTokenProvider.getUserEmail(token));
+        blackhole.consume(jwtTokenProvider.getUserRoleFromToken(token));
+        blackhole.consume(jwtTokenProvider.isTokenExpired(token));
+    }
+}
@@ -0,0 +1,24 @@
+package com.easyserve.benchmark;
+
+import com.easyserve.repository.MenuItemRepository;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.lang.reflect.Proxy;
+
+// Menu repository serving SyntheticData's menu for every restaurant; other queries fail loudly
+@Configuration
+public class MenuBenchmarkConfig {
+
+    @Bean
+    public MenuItemRepository menuItemRepository() {
+        return (MenuItemRepository) Proxy.newProxyInstance(MenuItemRepository.class.getClassLoader(),
+                new Class<?>[] {MenuItemRepository.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "findByRestaurantId" -> SyntheticData.menu((Long) args[0]);
+                    case "toString" -> "MenuItemRepository (benchmark stub)";
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> throw new UnsupportedOperationException("Not available in benchmarks: " + method.getName());
+                });
+    }
+}
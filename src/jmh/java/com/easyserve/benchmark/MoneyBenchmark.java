@@ -0,0 +1,111 @@
+package com.easyserve.benchmark;
+
+import com.easyserve.dto.OrderDTO;
+import com.easyserve.dto.OrderDTO.OrderItemDTO;
+import com.easyserve.model.MenuItem;
+import com.easyserve.model.Money;
+import com.easyserve.service.PriceCatalog;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Order pricing and revenue sums with BigDecimal, as OrderService did them, against long cents.
+// Run with -Djmh.profilers=gc for the allocation per operation (gc.alloc.rate.norm).
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx6g"})
+public class MoneyBenchmark {
+
+    private static final int ORDERS = 1024;
+
+    private AnnotationConfigApplicationContext context;
+    private PriceCatalog priceCatalog;
+    private final Map<Long, BigDecimal> menuItemPrices = new HashMap<>();
+    private OrderDTO[] orders;
+    private List<OrderDTO> completedOrders;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.create(Map.of(), MenuBenchmarkConfig.class, PriceCatalog.class);
+        priceCatalog = context.getBean(PriceCatalog.class);
+        for (MenuItem item : SyntheticData.menu(1)) {
+            menuItemPrices.put(item.getId(), item.getPrice());
+        }
+
+        Random random = new Random(SyntheticData.SEED);
+        orders = new OrderDTO[ORDERS];
+        for (int i = 0; i < ORDERS; i++) {
+            orders[i] = SyntheticData.newOrder(random);
+        }
+        completedOrders = SyntheticData.orders(ORDERS);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    // Subtotal, tax and total the way createOrder used to compute them
+    @Benchmark
+    public BigDecimal priceOrderBigDecimal() {
+        List<OrderItemDTO> items = randomOrder().getItems();
+        BigDecimal subtotal = items.stream()
+                .map(item -> {
+                    BigDecimal price = menuItemPrices.getOrDefault(item.getMenuItemId(), new BigDecimal("9.99"));
+                    return price.multiply(BigDecimal.valueOf(item.getQuantity()));
+                })
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        BigDecimal tax = subtotal.multiply(new BigDecimal("0.10"));
+        return subtotal.add(tax);
+    }
+
+    @Benchmark
+    public long priceOrderCents() {
+        OrderDTO order = randomOrder();
+        long subtotal = priceCatalog.subtotalCents(order.getRestaurantId(), order.getItems());
+        long tax = Money.percentage(subtotal, 1000, RoundingMode.HALF_UP);
+        return Money.plus(subtotal, tax);
+    }
+
+    @Benchmark
+    public BigDecimal revenueBigDecimal() {
+        return completedOrders.stream()
+                .map(OrderDTO::getTotal)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    @Benchmark
+    public long revenueCents() {
+        long revenue = 0;
+        for (OrderDTO order : completedOrders) {
+            revenue = Money.plus(revenue, order.getTotalCents());
+        }
+        return revenue;
+    }
+
+    private OrderDTO randomOrder() {
+        return orders[ThreadLocalRandom.current().nextInt(ORDERS)];
+    }
+}
@@ -0,0 +1,106 @@
+package com.easyserve.benchmark;
+
+import com.easyserve.dto.KitchenStatsResponse;
+import com.easyserve.dto.OrderDTO;
+import com.easyserve.dto.OrderPage;
+import com.easyserve.model.OrderStatus;
+import com.easyserve.repository.InMemoryOrderStore;
+import com.easyserve.repository.OrderStore;
+import com.easyserve.service.KitchenFeed;
+import com.easyserve.service.KitchenStatsTracker;
+import com.easyserve.service.LoggingNotificationTransport;
+import com.easyserve.service.NotificationDispatcher;
+import com.easyserve.service.NotificationService;
+import com.easyserve.service.OrderService;
+import com.easyserve.service.PriceCatalog;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx6g"})
+public class OrderServiceBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int datasetSize;
+
+    private AnnotationConfigApplicationContext context;
+    private OrderService orderService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.create(Map.of(),
+                JsonBenchmarkConfig.class, MenuBenchmarkConfig.class, RollupBenchmarkConfig.class, LoggingNotificationTransport.class,
+                NotificationDispatcher.class, NotificationService.class, InMemoryOrderStore.class,
+                KitchenStatsTracker.class, KitchenFeed.class, PriceCatalog.class, OrderService.class);
+        orderService = context.getBean(OrderService.class);
+        context.getBean(OrderStore.class).insertAll(SyntheticData.orders(datasetSize));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    // Grows the dataset while it runs; the measured window adds little next to the preloaded orders
+    @Benchmark
+    public OrderDTO createOrder() {
+        return orderService.createOrder(SyntheticData.newOrder(ThreadLocalRandom.current()));
+    }
+
+    @Benchmark
+    public BigDecimal calculateSubtotal() {
+        OrderDTO order = SyntheticData.newOrder(ThreadLocalRandom.current());
+        return orderService.calculateSubtotal(order.getRestaurantId(), order.getItems());
+    }
+
+    // Typical dashboard query: the first two pages of one restaurant's pending orders since yesterday
+    @Benchmark
+    public OrderPage listOrders() {
+        Long restaurantId = randomRestaurant();
+        LocalDateTime since = LocalDate.now().minusDays(1).atStartOfDay();
+        OrderPage first = orderService.listOrders(restaurantId, OrderStatus.PENDING, null, since, null, null, 20, null);
+        return orderService.listOrders(restaurantId, OrderStatus.PENDING, null, since, null, null, 20,
+                first.getNextCursor());
+    }
+
+    // A restaurant's completed orders of the week as NDJSON; allocation stays per order with -Djmh.profilers=gc
+    @Benchmark
+    public void exportOrders() throws IOException {
+        orderService.exportOrders(randomRestaurant(), OrderStatus.COMPLETED, null, null, null, null,
+                OutputStream.nullOutputStream());
+    }
+
+    @Benchmark
+    public KitchenStatsResponse calculateKitchenStats() {
+        return orderService.calculateKitchenStats(randomRestaurant());
+    }
+
+    private static Long randomRestaurant() {
+        return (long) ThreadLocalRandom.current().nextInt(SyntheticData.ORDER_RESTAURANTS) + 1;
+    }
+}
@@ -0,0 +1,127 @@
+package com.easyserve.benchmark;
+
+import com.easyserve.dto.OrderDTO;
+import com.easyserve.model.Customer;
+import com.easyserve.model.Restaurant;
+import com.easyserve.repository.InMemoryOrderStore;
+import com.easyserve.repository.JpaOrderStore;
+import com.easyserve.repository.OrderStore;
+import com.easyserve.repository.WriteBehindOrderStore;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Burst order intake per storage backend (app.storage.backend, plus write-behind on top of jpa)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx6g"})
+public class OrderStoreBenchmark {
+
+    @Param({"memory", "jpa", "write-behind"})
+    public String backend;
+
+    @Param({"100", "1000"})
+    public int burstSize;
+
+    private AnnotationConfigApplicationContext context;
+    private OrderStore orderStore;
+    private Path journalDir;
+    private Long restaurantId;
+    private Long customerId;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        journalDir = Files.createTempDirectory("order-journal");
+        switch (backend) {
+            case "memory" -> context = BenchmarkContext.create(Map.of(), InMemoryOrderStore.class);
+            case "jpa" -> context = BenchmarkContext.create(Map.of("app.storage.backend", "jpa"),
+                    JpaBenchmarkConfig.class, JpaOrderStore.class);
+            case "write-behind" -> context = BenchmarkContext.create(Map.of(
+                            "app.storage.backend", "jpa",
+                            "app.orders.write-behind.enabled", "true",
+                            "app.orders.write-behind.journal", journalDir.resolve("orders.journal").toString()),
+                    JpaBenchmarkConfig.class, JpaOrderStore.class, WriteBehindOrderStore.class);
+            default -> throw new IllegalArgumentException("Unknown backend: " + backend);
+        }
+        orderStore = context.getBean(OrderStore.class);
+
+        if (!"memory".equals(backend)) {
+            createOwners();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        context.close();
+        try (var files = Files.walk(journalDir)) {
+            files.sorted((a, b) -> b.compareTo(a)).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    // One op is one burst; orders per second = score * burstSize
+    @Benchmark
+    public List<OrderDTO> insertBurst() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        List<OrderDTO> burst = new ArrayList<>(burstSize);
+        for (int i = 0; i < burstSize; i++) {
+            OrderDTO order = SyntheticData.newOrder(random);
+            order.setRestaurantId(restaurantId);
+            order.setCustomerId(customerId);
+            burst.add(SyntheticData.priced(order));
+        }
+        return orderStore.insertAll(burst);
+    }
+
+    // Orders reference a restaurant and customer row
+    private void createOwners() {
+        EntityManager entityManager = context.getBean(EntityManagerFactory.class).createEntityManager();
+        try {
+            entityManager.getTransaction().begin();
+            Restaurant restaurant = new Restaurant();
+            restaurant.setName("Benchmark Bistro");
+            restaurant.setEmail("bistro@example.com");
+            restaurant.setPhone("555-0100");
+            restaurant.setAddress("1 Main St");
+            entityManager.persist(restaurant);
+
+            Customer customer = new Customer();
+            customer.setFirstName("Bench");
+            customer.setLastName("Mark");
+            customer.setEmail("bench@example.com");
+            customer.setPhone("555-0101");
+            customer.setRestaurant(restaurant);
+            entityManager.persist(customer);
+            entityManager.getTransaction().commit();
+
+            restaurantId = restaurant.getId();
+            customerId = customer.getId();
+        } finally {
+            entityManager.close();
+        }
+    }
+}
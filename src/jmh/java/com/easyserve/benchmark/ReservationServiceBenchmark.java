@@ -0,0 +1,105 @@
+package com.easyserve.benchmark;
+
+import com.easyserve.dto.AvailabilityResponse;
+import com.easyserve.dto.ReservationDTO;
+import com.easyserve.dto.ReservationPage;
+import com.easyserve.repository.InMemoryReservationStore;
+import com.easyserve.service.LoggingNotificationTransport;
+import com.easyserve.service.NotificationDispatcher;
+import com.easyserve.service.NotificationService;
+import com.easyserve.service.ReservationService;
+import com.easyserve.service.SeatInventory;
+import com.easyserve.service.TableInventory;
+import com.easyserve.service.TurnoverModel;
+import com.easyserve.service.Waitlist;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx6g"})
+public class ReservationServiceBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int datasetSize;
+
+    private AnnotationConfigApplicationContext context;
+    private ReservationService reservationService;
+    private int restaurants;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.create(Map.of(), RollupBenchmarkConfig.class, LoggingNotificationTransport.class,
+                NotificationDispatcher.class, NotificationService.class, TableInventory.class,
+                InMemoryReservationStore.class, SeatInventory.class, TurnoverModel.class, Waitlist.class, ReservationService.class);
+        reservationService = context.getBean(ReservationService.class);
+        restaurants = SyntheticData.reservationRestaurants(datasetSize);
+
+        for (ReservationDTO reservation : SyntheticData.reservations(datasetSize)) {
+            try {
+                reservationService.createReservation(reservation);
+            } catch (IllegalStateException e) {
+                // Slot already full; the generator overbooks a few popular times
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public AvailabilityResponse checkAvailability() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return reservationService.checkAvailability(randomRestaurant(random),
+                SyntheticData.reservationDay(random.nextInt(SyntheticData.RESERVATION_DAYS)),
+                LocalTime.of(11, 0).plusMinutes(30L * random.nextInt(20)),
+                random.nextInt(6) + 1);
+    }
+
+    @Benchmark
+    public List<LocalTime> getAvailableTimeSlots() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return reservationService.getAvailableTimeSlots(randomRestaurant(random),
+                SyntheticData.reservationDay(random.nextInt(SyntheticData.RESERVATION_DAYS)));
+    }
+
+    // A listing screen: 20 reservations from a given day on, then the page after it
+    @Benchmark
+    public ReservationPage listReservations() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Long restaurantId = randomRestaurant(random);
+        LocalDate from = SyntheticData.reservationDay(random.nextInt(SyntheticData.RESERVATION_DAYS));
+        ReservationPage first = reservationService.getReservations(restaurantId, from, null, null, null,
+                "reservationDate", "asc", 20, null);
+        return first.getNextCursor() == null ? first : reservationService.getReservations(restaurantId, from, null,
+                null, null, "reservationDate", "asc", 20, first.getNextCursor());
+    }
+
+    private Long randomRestaurant(ThreadLocalRandom random) {
+        return (long) random.nextInt(restaurants) + 1;
+    }
+}
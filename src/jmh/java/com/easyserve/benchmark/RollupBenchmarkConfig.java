@@ -0,0 +1,41 @@
+package com.easyserve.benchmark;
+
+import com.easyserve.repository.RestaurantRepository;
+import com.easyserve.repository.SalesRollupRepository;
+import com.easyserve.service.SalesRollupService;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+
+// Sales rollups without a database: flushed deltas are dropped and no stored rows are found,
+// so services record their events at full cost; other queries fail loudly
+@Configuration
+@Import(SalesRollupService.class)
+public class RollupBenchmarkConfig {
+
+    @Bean
+    public SalesRollupRepository salesRollupRepository() {
+        return stub(SalesRollupRepository.class);
+    }
+
+    @Bean
+    public RestaurantRepository restaurantRepository() {
+        return stub(RestaurantRepository.class);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T stub(Class<T> type) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "addAll" -> null;
+                    case "findBuckets", "findByIsActiveTrue" -> List.of();
+                    case "toString" -> type.getSimpleName() + " (benchmark stub)";
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> throw new UnsupportedOperationException("Not available in benchmarks: " + method.getName());
+                });
+    }
+}
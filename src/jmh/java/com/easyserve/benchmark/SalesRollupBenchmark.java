@@ -0,0 +1,140 @@
+package com.easyserve.benchmark;
+
+import com.easyserve.dto.OrderDTO;
+import com.easyserve.dto.SalesSummaryResponse;
+import com.easyserve.model.Customer;
+import com.easyserve.model.OrderStatus;
+import com.easyserve.model.Restaurant;
+import com.easyserve.repository.JpaOrderStore;
+import com.easyserve.repository.OrderStore;
+import com.easyserve.service.LoggingNotificationTransport;
+import com.easyserve.service.NotificationDispatcher;
+import com.easyserve.service.NotificationService;
+import com.easyserve.service.SalesRollupService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// A restaurant's sales for the last week on H2: aggregate queries over the orders, as
+// OrderRepository used to run them, against the daily rollup rows. Both go through a shared
+// EntityManager outside a transaction, like repository query methods, so each pays for its own
+// connection. recordStatusChange is what every order update now pays to keep the rollups current.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx6g"})
+public class SalesRollupBenchmark {
+
+    private static final OrderStatus[] STATUSES = OrderStatus.values();
+
+    // Orders of the one restaurant
+    @Param({"10000", "100000"})
+    public int datasetSize;
+
+    private AnnotationConfigApplicationContext context;
+    private SalesRollupService salesRollupService;
+    private EntityManager sharedEntityManager;
+    private List<OrderDTO> orders;
+    private Long restaurantId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.create(Map.of("app.storage.backend", "jpa"),
+                JpaBenchmarkConfig.class, JpaOrderStore.class, LoggingNotificationTransport.class,
+                NotificationDispatcher.class, NotificationService.class, SalesRollupService.class);
+        salesRollupService = context.getBean(SalesRollupService.class);
+        EntityManagerFactory entityManagerFactory = context.getBean(EntityManagerFactory.class);
+        sharedEntityManager = SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory);
+        Long customerId = createOwners(entityManagerFactory);
+
+        orders = SyntheticData.orders(datasetSize);
+        for (OrderDTO order : orders) {
+            order.setRestaurantId(restaurantId);
+            order.setCustomerId(customerId);
+        }
+        context.getBean(OrderStore.class).insertAll(orders);
+        orders.forEach(salesRollupService::orderCreated);
+        salesRollupService.flush();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void weekFromOrders(Blackhole blackhole) {
+        LocalDateTime start = LocalDate.now().minusDays(6).atStartOfDay();
+        LocalDateTime end = LocalDate.now().plusDays(1).atStartOfDay();
+        blackhole.consume(sharedEntityManager.createQuery("SELECT SUM(o.total) FROM Order o WHERE o.restaurant.id = :restaurantId " +
+                        "AND o.createdAt BETWEEN :start AND :end")
+                .setParameter("restaurantId", restaurantId).setParameter("start", start).setParameter("end", end)
+                .getSingleResult());
+        blackhole.consume(sharedEntityManager.createQuery("SELECT AVG(o.total) FROM Order o WHERE o.restaurant.id = :restaurantId " +
+                        "AND o.createdAt BETWEEN :start AND :end")
+                .setParameter("restaurantId", restaurantId).setParameter("start", start).setParameter("end", end)
+                .getSingleResult());
+    }
+
+    @Benchmark
+    public SalesSummaryResponse weekFromRollups() {
+        return salesRollupService.summarize(restaurantId, LocalDate.now().minusDays(6), LocalDate.now());
+    }
+
+    // Touches the pending hour and day deltas only; nothing is flushed while it runs
+    @Benchmark
+    public void recordStatusChange() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        OrderDTO order = orders.get(random.nextInt(orders.size()));
+        salesRollupService.orderStatusChanged(order, order.getStatus(), STATUSES[random.nextInt(STATUSES.length)]);
+    }
+
+    // Orders reference a restaurant and customer row
+    private Long createOwners(EntityManagerFactory entityManagerFactory) {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        entityManager.getTransaction().begin();
+        Restaurant restaurant = new Restaurant();
+        restaurant.setName("Benchmark Bistro");
+        restaurant.setEmail("bistro@example.com");
+        restaurant.setPhone("555-0100");
+        restaurant.setAddress("1 Main St");
+        entityManager.persist(restaurant);
+
+        Customer customer = new Customer();
+        customer.setFirstName("Bench");
+        customer.setLastName("Mark");
+        customer.setEmail("bench@example.com");
+        customer.setPhone("555-0101");
+        customer.setRestaurant(restaurant);
+        entityManager.persist(customer);
+        entityManager.getTransaction().commit();
+        entityManager.close();
+
+        restaurantId = restaurant.getId();
+        return customer.getId();
+    }
+}
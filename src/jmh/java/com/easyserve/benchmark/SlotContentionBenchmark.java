@@ -0,0 +1,105 @@
+package com.easyserve.benchmark;
+
+import com.easyserve.dto.ReservationDTO;
+import com.easyserve.repository.InMemoryReservationStore;
+import com.easyserve.service.LoggingNotificationTransport;
+import com.easyserve.service.NotificationDispatcher;
+import com.easyserve.service.NotificationService;
+import com.easyserve.service.ReservationService;
+import com.easyserve.service.SeatInventory;
+import com.easyserve.service.TableInventory;
+import com.easyserve.service.TurnoverModel;
+import com.easyserve.service.Waitlist;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Every thread books the same 7pm slot of one restaurant and gives the table back, so all
+// bookings compete for the same ten tables. Run with several thread counts
+// (-Djmh.threads=1,4,16). Every booking must land on a table nobody else holds at 7pm; an
+// iteration that double-books a table fails the run.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx6g"})
+public class SlotContentionBenchmark {
+
+    private static final Long RESTAURANT_ID = 1L;
+    private static final LocalTime SEVEN_PM = LocalTime.of(19, 0);
+
+    private AnnotationConfigApplicationContext context;
+    private ReservationService reservationService;
+    private int tables;
+
+    // Holders per table (by table number) of the 7pm slot, counted by the benchmark itself
+    private AtomicIntegerArray holders;
+    private final AtomicInteger doubleBookings = new AtomicInteger();
+    private final AtomicLong booked = new AtomicLong();
+    private final AtomicLong turnedAway = new AtomicLong();
+    private final AtomicLong guests = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.create(Map.of(), RollupBenchmarkConfig.class, LoggingNotificationTransport.class,
+                NotificationDispatcher.class, NotificationService.class, TableInventory.class,
+                InMemoryReservationStore.class, SeatInventory.class, TurnoverModel.class, Waitlist.class, ReservationService.class);
+        reservationService = context.getBean(ReservationService.class);
+        tables = context.getBean(TableInventory.class).layoutFor(RESTAURANT_ID).tableCount();
+        holders = new AtomicIntegerArray(tables + 1);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @TearDown(Level.Iteration)
+    public void checkNoDoubleBooking() {
+        System.out.printf("%n%d booked, %d turned away with the slot full%n", booked.getAndSet(0), turnedAway.getAndSet(0));
+        if (doubleBookings.get() > 0) {
+            throw new IllegalStateException(doubleBookings.get() + " bookings got a table already taken at 7pm");
+        }
+    }
+
+    @Benchmark
+    public void bookAndCancel() {
+        ReservationDTO booking = new ReservationDTO(RESTAURANT_ID, "Guest", "Number" + guests.incrementAndGet(),
+                "guest@example.com", "555-0100", LocalDate.now().plusDays(1), SEVEN_PM, 2);
+        try {
+            reservationService.createReservation(booking);
+        } catch (IllegalStateException e) {
+            // Every table taken at 7pm right now
+            turnedAway.incrementAndGet();
+            return;
+        }
+        booked.incrementAndGet();
+
+        int table = booking.getTableNumber();
+        if (holders.incrementAndGet(table) > 1) {
+            doubleBookings.incrementAndGet();
+        }
+        // Given up before the table is, so the next holder never counts this one
+        holders.decrementAndGet(table);
+        reservationService.cancelReservation(booking.getId(), "benchmark", null);
+    }
+}
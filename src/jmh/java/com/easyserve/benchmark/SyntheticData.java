@@ -0,0 +1,146 @@
+package com.easyserve.benchmark;
+
+import com.easyserve.dto.OrderDTO;
+import com.easyserve.dto.OrderDTO.OrderItemDTO;
+import com.easyserve.dto.ReservationDTO;
+import com.easyserve.model.MenuItem;
+import com.easyserve.model.OrderStatus;
+import com.easyserve.model.OrderType;
+import com.easyserve.model.Restaurant;
+import com.easyserve.model.User;
+import com.easyserve.service.UserService.UserProfile;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+// Deterministic generated data shaped like a small restaurant group
+final class SyntheticData {
+
+    static final long SEED = 42;
+    static final int ORDER_RESTAURANTS = 20;
+    static final int RESERVATION_DAYS = 60;
+    static final UUID TENANT_ID = UUID.fromString("550e8400-e29b-41d4-a716-446655440000");
+
+    // Menu every restaurant serves: ids 1-5
+    private static final String[] MENU_ITEMS = {"Burger", "Pizza", "Salad", "Fries", "Drink"};
+    private static final BigDecimal[] MENU_PRICES = {
+            new BigDecimal("12.99"), new BigDecimal("8.99"), new BigDecimal("6.99"),
+            new BigDecimal("4.99"), new BigDecimal("2.99")};
+
+    // Mostly finished orders, with a live kitchen queue on top
+    private static final OrderStatus[] STATUS_MIX = {
+            OrderStatus.COMPLETED, OrderStatus.COMPLETED, OrderStatus.COMPLETED, OrderStatus.COMPLETED,
+            OrderStatus.CANCELLED, OrderStatus.SERVED, OrderStatus.READY,
+            OrderStatus.PREPARING, OrderStatus.CONFIRMED, OrderStatus.PENDING};
+
+    private SyntheticData() {}
+
+    // Orders spread over the last week, so roughly a seventh of them are today's
+    static List<OrderDTO> orders(int count) {
+        Random random = new Random(SEED);
+        LocalDateTime now = LocalDateTime.now();
+        List<OrderDTO> orders = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            OrderDTO order = newOrder(random);
+            order.setStatus(STATUS_MIX[random.nextInt(STATUS_MIX.length)]);
+            order.setCreatedAt(now.minusMinutes(random.nextInt(7 * 24 * 60)));
+            order.setUpdatedAt(order.getCreatedAt());
+            orders.add(priced(order));
+        }
+        return orders;
+    }
+
+    // An order as it arrives at OrderService.createOrder
+    static OrderDTO newOrder(Random random) {
+        long customerId = random.nextInt(50_000) + 1;
+        OrderDTO order = new OrderDTO((long) random.nextInt(ORDER_RESTAURANTS) + 1, customerId,
+                "Customer " + customerId, "customer" + customerId + "@example.com", "555-0100",
+                OrderType.values()[random.nextInt(OrderType.values().length)]);
+
+        int lines = random.nextInt(4) + 1;
+        List<OrderItemDTO> items = new ArrayList<>(lines);
+        for (int i = 0; i < lines; i++) {
+            int menuItem = random.nextInt(MENU_ITEMS.length);
+            items.add(new OrderItemDTO((long) menuItem + 1, MENU_ITEMS[menuItem],
+                    random.nextInt(3) + 1, MENU_PRICES[menuItem]));
+        }
+        order.setItems(items);
+        return order;
+    }
+
+    static List<MenuItem> menu(long restaurantId) {
+        Restaurant restaurant = new Restaurant();
+        restaurant.setId(restaurantId);
+        List<MenuItem> menu = new ArrayList<>(MENU_ITEMS.length);
+        for (int i = 0; i < MENU_ITEMS.length; i++) {
+            menu.add(MenuItem.builder().id((long) i + 1).restaurant(restaurant).name(MENU_ITEMS[i])
+                    .price(MENU_PRICES[i]).category("Mains").available(true).popular(false).build());
+        }
+        return menu;
+    }
+
+    // Enough restaurants that a day rarely fills up (about 17 bookings per restaurant and day)
+    static int reservationRestaurants(int count) {
+        return Math.max(1, count / 1000);
+    }
+
+    static LocalDate reservationDay(int day) {
+        return LocalDate.now().plusDays(1 + day % RESERVATION_DAYS);
+    }
+
+    static List<ReservationDTO> reservations(int count) {
+        Random random = new Random(SEED);
+        int restaurants = reservationRestaurants(count);
+        List<ReservationDTO> reservations = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            reservations.add(new ReservationDTO((long) random.nextInt(restaurants) + 1,
+                    "Guest", "Number" + i, "guest" + i + "@example.com", "555-0100",
+                    reservationDay(random.nextInt(RESERVATION_DAYS)),
+                    LocalTime.of(11, 0).plusMinutes(30L * random.nextInt(20)),
+                    random.nextInt(6) + 1));
+        }
+        return reservations;
+    }
+
+    static String userEmail(int i) {
+        return "user" + i + "@example.com";
+    }
+
+    // All users share one hash; hashing a million passwords would take hours
+    static UserProfile userProfile(int i, String passwordHash) {
+        String role = i % 10 == 0 ? "MANAGER" : "STAFF";
+        return new UserProfile(UUID.randomUUID(), userEmail(i), passwordHash, "First" + i, "Last" + i, role, TENANT_ID);
+    }
+
+    static User user(int i) {
+        Restaurant restaurant = new Restaurant();
+        restaurant.setId((long) (i % ORDER_RESTAURANTS) + 1);
+
+        User user = new User();
+        user.setId((long) i + 1);
+        user.setPublicId(UUID.randomUUID());
+        user.setEmail(userEmail(i));
+        user.setRole(i % 10 == 0 ? User.Role.MANAGER : User.Role.STAFF);
+        user.setRestaurant(restaurant);
+        user.setTenantId(TENANT_ID);
+        return user;
+    }
+
+    // Fills in the totals OrderService.createOrder would compute
+    static OrderDTO priced(OrderDTO order) {
+        BigDecimal subtotal = BigDecimal.ZERO;
+        for (OrderItemDTO item : order.getItems()) {
+            subtotal = subtotal.add(item.getTotalPrice());
+        }
+        order.setSubtotal(subtotal);
+        order.setTax(subtotal.multiply(new BigDecimal("0.10")));
+        order.setTotal(subtotal.add(order.getTax()));
+        return order;
+    }
+}
@@ -0,0 +1,75 @@
+package com.easyserve.benchmark;
+
+import com.easyserve.repository.InMemoryUserStore;
+import com.easyserve.repository.UserStore;
+import com.easyserve.service.LoggingNotificationTransport;
+import com.easyserve.service.LoginThrottle;
+import com.easyserve.service.NotificationDispatcher;
+import com.easyserve.service.NotificationService;
+import com.easyserve.service.PasswordHasher;
+import com.easyserve.service.UserService;
+import com.easyserve.service.UserService.UserProfile;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx6g"})
+public class UserServiceBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int datasetSize;
+
+    private AnnotationConfigApplicationContext context;
+    private UserService userService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Attempt limits off: every benchmark call is a login for a random user
+        context = BenchmarkContext.create(Map.of(
+                        "app.auth.login.max-attempts-per-email", 0,
+                        "app.auth.login.max-attempts-per-ip", 0,
+                        "app.auth.hash.queue-capacity", 1024),
+                LoggingNotificationTransport.class, NotificationDispatcher.class, NotificationService.class,
+                PasswordHasher.class, LoginThrottle.class, InMemoryUserStore.class, UserService.class);
+        userService = context.getBean(UserService.class);
+
+        UserStore userStore = context.getBean(UserStore.class);
+        String passwordHash = new BCryptPasswordEncoder().encode("password");
+        for (int i = 0; i < datasetSize; i++) {
+            userStore.insert(SyntheticData.userProfile(i, passwordHash));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    // Dominated by the BCrypt check, which is the point: login cost per core
+    @Benchmark
+    public UserProfile authenticateUser() {
+        String email = SyntheticData.userEmail(ThreadLocalRandom.current().nextInt(datasetSize));
+        return userService.authenticateUser(email, "password", null).join();
+    }
+}
@@ -0,0 +1,88 @@
+package com.easyserve.benchmark;
+
+import com.easyserve.dto.WaitlistEntryDTO;
+import com.easyserve.service.TableInventory;
+import com.easyserve.service.Waitlist;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Seating decisions with a full waitlist. Goes to Waitlist directly: seating through
+// ReservationService holds tables from the wall clock, and after 10pm nothing can be seated.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx6g"})
+public class WaitlistBenchmark {
+
+    private static final Long RESTAURANT_ID = 1L;
+    private static final int[] TABLE_SIZES = {2, 4, 6, 8};
+
+    @Param({"100", "500", "2000"})
+    public int waiting;
+
+    private AnnotationConfigApplicationContext context;
+    private Waitlist waitlist;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.create(Map.of(), TableInventory.class, Waitlist.class);
+        waitlist = context.getBean(Waitlist.class);
+
+        LocalDateTime now = LocalDateTime.now();
+        // Each table of the default layout turns twice, one table every 6 minutes
+        int tables = context.getBean(TableInventory.class).layoutFor(RESTAURANT_ID).tableCount();
+        for (int i = 0; i < 2 * tables; i++) {
+            waitlist.tableTurned(RESTAURANT_ID, i % tables + 1, now.minusMinutes(6L * (2 * tables - i)));
+        }
+        for (int i = 0; i < waiting; i++) {
+            waitlist.join(party(ThreadLocalRandom.current()), now);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    // A table frees up: seat the longest-waiting party it fits, and a new party walks in
+    @Benchmark
+    public WaitlistEntryDTO seatNext() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        WaitlistEntryDTO next = waitlist.nextFitting(RESTAURANT_ID, TABLE_SIZES[random.nextInt(TABLE_SIZES.length)]);
+        if (next != null) {
+            waitlist.remove(next.getId());
+        }
+        return waitlist.join(party(random), LocalDateTime.now());
+    }
+
+    @Benchmark
+    public List<WaitlistEntryDTO> listWaiting() {
+        return waitlist.waiting(RESTAURANT_ID);
+    }
+
+    // Mostly couples and small groups
+    private static WaitlistEntryDTO party(ThreadLocalRandom random) {
+        int size = random.nextInt(10) < 7 ? random.nextInt(4) + 1 : random.nextInt(5) + 4;
+        return new WaitlistEntryDTO(RESTAURANT_ID, "Walk", "In", null, "555-0100", size);
+    }
+}
@@ -1,6 +1,7 @@
 
 package com.easyserve.config;
 
+import com.easyserve.model.PreassignedIdInterceptor;
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
 import jakarta.persistence.EntityManagerFactory;
@@ -51,6 +52,9 @@ public class DatabaseConfig {
     @Value("${spring.transaction.timeout:30}")
     private int transactionTimeout;
 
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int jdbcBatchSize;
+
     @Bean
     public DataSource dataSource() {
         HikariConfig config = new HikariConfig();
@@ -77,6 +81,13 @@ public class DatabaseConfig {
         props.put("hibernate.show_sql", showSql);
         props.put("hibernate.format_sql", true);
 
+        // Group inserts/updates per entity into JDBC batches (needs sequence ids, not IDENTITY)
+        props.put("hibernate.jdbc.batch_size", jdbcBatchSize);
+        props.put("hibernate.order_inserts", true);
+        props.put("hibernate.order_updates", true);
+        props.put("hibernate.jdbc.batch_versioned_data", true);
+        props.put("hibernate.session_factory.interceptor", new PreassignedIdInterceptor());
+
         em.setJpaProperties(props);
         return em;
     }
@@ -0,0 +1,45 @@
+package com.easyserve.controller;
+
+import com.easyserve.dto.SalesSummaryResponse;
+import com.easyserve.service.SalesRollupService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/analytics")
+public class AnalyticsController {
+
+    @Autowired
+    private SalesRollupService salesRollupService;
+
+    // Sales and reservation totals for the days from..to (inclusive), read from the daily rollups
+    @PreAuthorize("hasRole('OWNER') or hasRole('MANAGER')")
+    @GetMapping("/sales")
+    public ResponseEntity<SalesSummaryResponse> getSales(
+            @RequestParam Long restaurantId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+
+        try {
+            return ResponseEntity.ok(salesRollupService.summarize(restaurantId, from, to));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // The day broken down by hour, from the hourly rollups
+    @PreAuthorize("hasRole('OWNER') or hasRole('MANAGER')")
+    @GetMapping("/sales/hourly")
+    public ResponseEntity<List<SalesSummaryResponse>> getHourlySales(
+            @RequestParam Long restaurantId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+
+        return ResponseEntity.ok(salesRollupService.hourly(restaurantId, date));
+    }
+}
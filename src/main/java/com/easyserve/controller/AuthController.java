@@ -2,15 +2,23 @@
 package com.easyserve.controller;
 
 import com.easyserve.dto.*;
+import com.easyserve.security.AuthenticatedUser;
+import com.easyserve.security.JwtTokenProvider;
+import com.easyserve.service.LoginThrottle;
+import com.easyserve.service.PasswordHasher;
 import com.easyserve.service.UserService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.*;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.UUID;
 import java.util.Map;
 import java.util.HashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestController
 @RequestMapping("/api/auth")
@@ -19,6 +27,15 @@ public class AuthController {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    @Autowired
+    private PasswordHasher passwordHasher;
+
+    @Autowired
+    private LoginThrottle loginThrottle;
+
     @PostMapping("/register")
     public ResponseEntity<?> register(@Valid @RequestBody RegisterRequest req) {
         try {
@@ -34,62 +51,94 @@ public class AuthController {
                 "lastName", user.getLastName(),
                 "role", user.getRole()
             ));
-            response.put("token", "mock-jwt-token-" + user.getId()); // Mock token for MVP
+            response.put("token", jwtTokenProvider.generateAccessToken(user));
+            response.put("refreshToken", jwtTokenProvider.generateRefreshToken(user));
+            response.put("expiresIn", jwtTokenProvider.getAccessTokenValiditySeconds());
             
             return ResponseEntity.ok(response);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest()
                 .body(Map.of("error", e.getMessage()));
+        } catch (RejectedExecutionException e) {
+            return busy();
         }
     }
 
+    // Asynchronous: the request thread is released while the password is checked on the
+    // hashing pool, so a login storm cannot hold every request thread
     @PostMapping("/login")
-    public ResponseEntity<?> login(@Valid @RequestBody LoginRequest req) {
+    public CompletableFuture<ResponseEntity<?>> login(@Valid @RequestBody LoginRequest req, HttpServletRequest request) {
         try {
-            UserService.UserProfile user = userService.authenticateUser(req.getEmail(), req.getPassword());
-            
-            // Create login response
-            Map<String, Object> response = new HashMap<>();
-            response.put("message", "Login successful");
-            response.put("user", Map.of(
-                "id", user.getId(),
-                "email", user.getEmail(),
-                "firstName", user.getFirstName(),
-                "lastName", user.getLastName(),
-                "role", user.getRole(),
-                "restaurantId", user.getRestaurantId()
-            ));
-            response.put("token", "mock-jwt-token-" + user.getId()); // Mock token for MVP
-            response.put("expiresIn", 3600); // 1 hour in seconds
-            
-            return ResponseEntity.ok(response);
-        } catch (IllegalArgumentException e) {
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-                .body(Map.of("error", "Invalid credentials"));
+            return userService.authenticateUser(req.getEmail(), req.getPassword(), request.getRemoteAddr())
+                .handle((user, error) -> {
+                    if (error == null) {
+                        return loginResponse(user);
+                    }
+                    Throwable cause = error instanceof CompletionException && error.getCause() != null
+                        ? error.getCause() : error;
+                    if (cause instanceof IllegalArgumentException) {
+                        return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                            .body(Map.of("error", "Invalid credentials"));
+                    }
+                    throw new CompletionException(cause);
+                });
+        } catch (LoginThrottle.TooManyAttemptsException e) {
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(e.getRetryAfterSeconds()))
+                .body(Map.of("error", "Too many login attempts")));
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.completedFuture(busy());
         }
     }
 
+    private ResponseEntity<?> loginResponse(UserService.UserProfile user) {
+        // Create login response
+        Map<String, Object> response = new HashMap<>();
+        response.put("message", "Login successful");
+        response.put("user", Map.of(
+            "id", user.getId(),
+            "email", user.getEmail(),
+            "firstName", user.getFirstName(),
+            "lastName", user.getLastName(),
+            "role", user.getRole(),
+            "restaurantId", user.getRestaurantId()
+        ));
+        response.put("token", jwtTokenProvider.generateAccessToken(user));
+        response.put("refreshToken", jwtTokenProvider.generateRefreshToken(user));
+        response.put("expiresIn", jwtTokenProvider.getAccessTokenValiditySeconds());
+        
+        return ResponseEntity.ok(response);
+    }
+
+    // Password hashing pool is full; clients should back off briefly
+    private ResponseEntity<?> busy() {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, "1")
+            .body(Map.of("error", "Too many logins in progress, try again shortly"));
+    }
+
     @PostMapping("/refresh")
     public ResponseEntity<?> refresh(@RequestHeader("Authorization") String bearerToken) {
         try {
             // Extract token (remove "Bearer " prefix)
             String token = bearerToken.substring(7);
             
-            // Mock token validation - in real implementation, you'd validate JWT
-            if (!token.startsWith("mock-jwt-token-")) {
+            if (!jwtTokenProvider.validateToken(token) || !jwtTokenProvider.isRefreshToken(token)) {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body(Map.of("error", "Invalid token"));
             }
             
-            // Extract user ID from mock token
-            String userIdStr = token.replace("mock-jwt-token-", "");
-            UUID userId = UUID.fromString(userIdStr);
-            
-            UserService.UserProfile user = userService.getUserById(userId);
+            // The one place a token leads back to the user store: a deactivated user or a
+            // changed role must not carry over into the next access token
+            UserService.UserProfile user = userService.getUserById(jwtTokenProvider.getUserIdFromToken(token));
+            if (!user.isActive()) {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(Map.of("error", "Token refresh failed"));
+            }
             
             Map<String, Object> response = new HashMap<>();
-            response.put("token", "mock-jwt-token-" + user.getId()); // New token
-            response.put("expiresIn", 3600);
+            response.put("token", jwtTokenProvider.generateAccessToken(user));
+            response.put("expiresIn", jwtTokenProvider.getAccessTokenValiditySeconds());
             
             return ResponseEntity.ok(response);
         } catch (Exception e) {
@@ -105,14 +154,9 @@ public class AuthController {
     }
 
     @GetMapping("/profile")
-    public ResponseEntity<?> getProfile(@RequestHeader("Authorization") String bearerToken) {
+    public ResponseEntity<?> getProfile(@AuthenticationPrincipal AuthenticatedUser principal) {
         try {
-            // Extract user ID from token
-            String token = bearerToken.substring(7);
-            String userIdStr = token.replace("mock-jwt-token-", "");
-            UUID userId = UUID.fromString(userIdStr);
-            
-            UserService.UserProfile user = userService.getUserById(userId);
+            UserService.UserProfile user = userService.getUserById(principal.userId());
             
             Map<String, Object> profile = new HashMap<>();
             profile.put("id", user.getId());
@@ -133,15 +177,10 @@ public class AuthController {
 
     @PutMapping("/profile")
     public ResponseEntity<?> updateProfile(@RequestBody Map<String, String> updates,
-                                         @RequestHeader("Authorization") String bearerToken) {
+                                         @AuthenticationPrincipal AuthenticatedUser principal) {
         try {
-            // Extract user ID from token
-            String token = bearerToken.substring(7);
-            String userIdStr = token.replace("mock-jwt-token-", "");
-            UUID userId = UUID.fromString(userIdStr);
-            
             UserService.UserProfile user = userService.updateUserProfile(
-                userId, 
+                principal.userId(), 
                 updates.get("firstName"), 
                 updates.get("lastName")
             );
@@ -165,24 +204,25 @@ public class AuthController {
 
     @PostMapping("/change-password")
     public ResponseEntity<?> changePassword(@RequestBody Map<String, String> passwordData,
-                                          @RequestHeader("Authorization") String bearerToken) {
+                                          @AuthenticationPrincipal AuthenticatedUser principal) {
         try {
-            // Extract user ID from token
-            String token = bearerToken.substring(7);
-            String userIdStr = token.replace("mock-jwt-token-", "");
-            UUID userId = UUID.fromString(userIdStr);
-            
             userService.changePassword(
-                userId,
+                principal.userId(),
                 passwordData.get("oldPassword"),
                 passwordData.get("newPassword")
             );
             
             return ResponseEntity.ok(Map.of("message", "Password changed successfully"));
-        } catch (IllegalArgumentException e) {
-            return ResponseEntity.badRequest()
-                .body(Map.of("error", e.getMessage()));
         } catch (Exception e) {
+            // Both hashes run on the hashing pool; failures there arrive wrapped by join()
+            Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+            if (cause instanceof IllegalArgumentException) {
+                return ResponseEntity.badRequest()
+                    .body(Map.of("error", cause.getMessage()));
+            }
+            if (cause instanceof RejectedExecutionException) {
+                return busy();
+            }
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                 .body(Map.of("error", "Invalid token"));
         }
@@ -207,7 +247,9 @@ public class AuthController {
         return ResponseEntity.ok(Map.of(
             "status", "healthy",
             "service", "auth-controller",
-            "timestamp", java.time.LocalDateTime.now()
+            "timestamp", java.time.LocalDateTime.now(),
+            "passwordHashing", passwordHasher.metrics(),
+            "throttledLogins", loginThrottle.throttledCount()
         ));
     }
 }
\ No newline at end of file
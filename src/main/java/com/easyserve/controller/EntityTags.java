@@ -0,0 +1,32 @@
+package com.easyserve.controller;
+
+// Strong ETags carrying an order's or reservation's version, and the If-Match values that
+// come back with conditional PUT and DELETE calls
+final class EntityTags {
+
+    // Never the version of a stored entity, so a tag that is not ours fails the precondition
+    private static final long NO_VERSION = -1;
+
+    private EntityTags() {}
+
+    static String of(long version) {
+        return "\"" + version + "\"";
+    }
+
+    // The version If-Match asks for, or null for an unconditional write (no header, or *).
+    // Weak tags never match under If-Match, and neither do lists of several tags.
+    static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.length() < 3 || tag.charAt(0) != '"' || tag.charAt(tag.length() - 1) != '"') {
+            return NO_VERSION;
+        }
+        try {
+            return Long.parseLong(tag.substring(1, tag.length() - 1));
+        } catch (NumberFormatException e) {
+            return NO_VERSION;
+        }
+    }
+}
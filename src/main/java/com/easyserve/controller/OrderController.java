@@ -4,80 +4,129 @@ import com.easyserve.dto.*;
 import com.easyserve.model.Order;
 import com.easyserve.model.OrderStatus;
 import com.easyserve.model.OrderType;
+import com.easyserve.service.KitchenFeed;
+import com.easyserve.service.MenuCache;
 import com.easyserve.service.OrderService;
+import com.easyserve.service.OrderService.OrderTransitionException;
 import com.easyserve.service.MenuItemService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/orders")
 public class OrderController {
 
+    private static final String NDJSON = "application/x-ndjson";
+
     @Autowired
     private OrderService orderService;
     
     @Autowired
     private MenuItemService menuItemService;
 
+    @Autowired
+    private KitchenFeed kitchenFeed;
+
     // Create new order
     @PostMapping
-    public ResponseEntity<OrderDTO> createOrder(@RequestBody OrderCreateRequest req) {
+    public ResponseEntity<?> createOrder(@RequestBody OrderCreateRequest req) {
         // Convert OrderCreateRequest to OrderDTO
         OrderDTO orderDTO = convertToOrderDTO(req);
-        OrderDTO createdOrder = orderService.createOrder(orderDTO);
-        return ResponseEntity.ok(createdOrder);
+        try {
+            OrderDTO createdOrder = orderService.createOrder(orderDTO);
+            return ResponseEntity.ok(createdOrder);
+        } catch (IllegalArgumentException e) {
+            // Unknown or unavailable menu items and bad quantities
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (DataIntegrityViolationException e) {
+            // Unknown restaurant or customer on the jpa backend; database messages are not passed on
+            String message = e.getCause() == null ? e.getMessage() : "Order violates a database constraint";
+            return ResponseEntity.badRequest().body(Map.of("error", message));
+        }
     }
 
-    // List/filter orders
+    // List/filter orders, newest first, a page at a time; pass nextCursor back as cursor
     @GetMapping
-    public ResponseEntity<List<OrderDTO>> listOrders(
+    public ResponseEntity<OrderPage> listOrders(
+            @RequestParam(required = false) Long restaurantId,
+            @RequestParam(required = false) OrderStatus status,
+            @RequestParam(required = false) OrderType type,
+            @RequestParam(required = false) LocalDateTime from,
+            @RequestParam(required = false) LocalDateTime to,
+            @RequestParam(required = false) Long customerId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+
+        try {
+            OrderPage orders = orderService.listOrders(restaurantId, status, type, from, to, customerId, size, cursor);
+            return ResponseEntity.ok(orders);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // Every matching order as NDJSON, streamed while it is read so any range can be exported
+    @GetMapping(value = "/export", produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> exportOrders(
             @RequestParam(required = false) Long restaurantId,
             @RequestParam(required = false) OrderStatus status,
             @RequestParam(required = false) OrderType type,
             @RequestParam(required = false) LocalDateTime from,
             @RequestParam(required = false) LocalDateTime to,
             @RequestParam(required = false) Long customerId) {
-        
-        List<OrderDTO> orders = orderService.filterOrders(restaurantId, status, type, from, to, customerId);
-        return ResponseEntity.ok(orders);
+
+        StreamingResponseBody body = out -> orderService.exportOrders(restaurantId, status, type, from, to, customerId, out);
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(NDJSON)).body(body);
     }
 
     // Get specific order by ID
+    // The ETag is the order's version; send it back in If-Match to make a change conditional
     @GetMapping("/{id}")
     public ResponseEntity<OrderDTO> getOrder(@PathVariable Long id) {
         OrderDTO order = orderService.getOrderById(id);
-        return ResponseEntity.ok(order);
+        return ResponseEntity.ok().eTag(EntityTags.of(order.getVersion())).body(order);
     }
 
     // Update order status (generic)
     @PutMapping("/{id}/status")
-    public ResponseEntity<OrderDTO> updateOrderStatus(@PathVariable Long id, @RequestParam OrderStatus status) {
-        OrderDTO updatedOrder = orderService.updateOrderStatus(id, status);
-        return ResponseEntity.ok(updatedOrder);
+    public ResponseEntity<OrderDTO> updateOrderStatus(@PathVariable Long id, @RequestParam OrderStatus status,
+                                                      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return changeStatus(id, status, ifMatch);
     }
 
     // Mark order as preparing
     @PutMapping("/{id}/preparing")
-    public ResponseEntity<OrderDTO> markPreparing(@PathVariable Long id) {
-        OrderDTO updatedOrder = orderService.updateOrderStatus(id, OrderStatus.PREPARING);
-        return ResponseEntity.ok(updatedOrder);
+    public ResponseEntity<OrderDTO> markPreparing(@PathVariable Long id,
+                                                  @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return changeStatus(id, OrderStatus.PREPARING, ifMatch);
     }
 
     // Mark order as ready
     @PutMapping("/{id}/ready")
-    public ResponseEntity<OrderDTO> markReady(@PathVariable Long id) {
-        OrderDTO updatedOrder = orderService.updateOrderStatus(id, OrderStatus.READY);
-        return ResponseEntity.ok(updatedOrder);
+    public ResponseEntity<OrderDTO> markReady(@PathVariable Long id,
+                                              @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return changeStatus(id, OrderStatus.READY, ifMatch);
     }
 
     // Mark order as completed
     @PutMapping("/{id}/completed")
-    public ResponseEntity<OrderDTO> markCompleted(@PathVariable Long id) {
-        OrderDTO updatedOrder = orderService.updateOrderStatus(id, OrderStatus.COMPLETED);
-        return ResponseEntity.ok(updatedOrder);
+    public ResponseEntity<OrderDTO> markCompleted(@PathVariable Long id,
+                                                  @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return changeStatus(id, OrderStatus.COMPLETED, ifMatch);
     }
 
     // Get active orders for kitchen
@@ -94,6 +143,16 @@ public class OrderController {
         return ResponseEntity.ok(stats);
     }
 
+    // Push feed for kitchen screens: a snapshot of active orders and stats, then every order change.
+    // Reconnecting with Last-Event-ID resumes after that event when it is still buffered.
+    @GetMapping(value = "/kitchen/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamKitchen(@RequestParam Long restaurantId,
+                                    @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        return kitchenFeed.subscribe(restaurantId, lastEventId,
+                () -> orderService.getOrdersForKitchen(restaurantId),
+                () -> orderService.calculateKitchenStats(restaurantId));
+    }
+
     // Get customer order history
     @GetMapping("/customer/{customerId}")
     public ResponseEntity<List<OrderDTO>> getCustomerOrders(@PathVariable Long customerId) {
@@ -103,27 +162,75 @@ public class OrderController {
 
     // Cancel order
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> cancelOrder(@PathVariable Long id, @RequestParam String reason) {
-        orderService.cancelOrder(id, reason);
+    public ResponseEntity<Void> cancelOrder(@PathVariable Long id, @RequestParam String reason,
+                                            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        try {
+            orderService.cancelOrder(id, reason, EntityTags.expectedVersion(ifMatch));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(ifMatch != null ? HttpStatus.PRECONDITION_FAILED : HttpStatus.CONFLICT).build();
+        } catch (OrderTransitionException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
         return ResponseEntity.ok().build();
     }
 
-    // Get public menu for a restaurant
+    // Get public menu for a restaurant; clients revalidate with If-None-Match and get 304
+    // while the menu is unchanged
     @GetMapping("/menu/public")
-    public ResponseEntity<List<MenuItemResponse>> listPublicMenu(@RequestParam Long restaurantId) {
-        List<MenuItemResponse> menuItems = menuItemService.getMenuForRestaurant(restaurantId);
-        return ResponseEntity.ok(menuItems);
+    public ResponseEntity<byte[]> listPublicMenu(@RequestParam Long restaurantId,
+                                                 @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        MenuCache.MenuSnapshot menu = menuItemService.getMenuSnapshot(restaurantId);
+        if (menu.matches(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(menu.etag()).cacheControl(CacheControl.noCache()).build();
+        }
+        return ResponseEntity.ok()
+                .eTag(menu.etag())
+                .cacheControl(CacheControl.noCache())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(menu.json());
     }
 
     // Helper method to convert OrderCreateRequest to OrderDTO
+    // A dine-in order for the table; repeated menu item ids become the item quantity
     private OrderDTO convertToOrderDTO(OrderCreateRequest request) {
-        // This is a placeholder - you'll need to implement the actual conversion
-        // based on your OrderCreateRequest and OrderDTO structures
         OrderDTO orderDTO = new OrderDTO();
-        // Set fields from request to orderDTO
-        // orderDTO.setRestaurantId(request.getRestaurantId());
-        // orderDTO.setCustomerId(request.getCustomerId());
-        // etc.
+        orderDTO.setRestaurantId(request.getRestaurantId());
+        orderDTO.setCustomerId(request.getCustomerId());
+        orderDTO.setOrderType(OrderType.DINE_IN);
+        if (request.getTableNumber() != null) {
+            orderDTO.setSpecialInstructions("Table " + request.getTableNumber());
+        }
+
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
+        if (request.getMenuItemIds() != null) {
+            request.getMenuItemIds().forEach(id -> quantities.merge(id, 1, Integer::sum));
+        }
+        List<OrderDTO.OrderItemDTO> items = new ArrayList<>();
+        quantities.forEach((menuItemId, quantity) -> {
+            OrderDTO.OrderItemDTO item = new OrderDTO.OrderItemDTO();
+            item.setMenuItemId(menuItemId);
+            item.setQuantity(quantity);
+            items.add(item);
+        });
+        orderDTO.setItems(items);
         return orderDTO;
     }
-}
\ No newline at end of file
+
+    // 412 when If-Match names a version the order has moved past. 409 when the transition is not
+    // allowed from the order's current status, or when an unconditional update lost a race on
+    // the JPA backend.
+    private ResponseEntity<OrderDTO> changeStatus(Long id, OrderStatus status, String ifMatch) {
+        try {
+            OrderDTO order = orderService.updateOrderStatus(id, status, EntityTags.expectedVersion(ifMatch));
+            return ResponseEntity.ok().eTag(EntityTags.of(order.getVersion())).body(order);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(ifMatch != null ? HttpStatus.PRECONDITION_FAILED : HttpStatus.CONFLICT).build();
+        } catch (OrderTransitionException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+}
@@ -7,7 +7,7 @@ import com.easyserve.model.Status;
 import com.easyserve.service.ReservationService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.*;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.*;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -17,6 +17,7 @@ import org.springframework.web.bind.annotation.*;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.List;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @RestController
@@ -34,49 +35,55 @@ public class ReservationController {
         return ResponseEntity.status(HttpStatus.CREATED).body(created);
     }
 
+    // Keyset paging: follow next_cursor from each page until it is null
     @GetMapping
-    public ResponseEntity<Page<ReservationDTO>> listReservations(
+    public ResponseEntity<ReservationPage> listReservations(
             @RequestParam Long restaurantId,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
             @RequestParam(required = false) String status,
             @RequestParam(required = false) String customerEmail,
-            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(required = false) String cursor,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "reservationDate") String sortBy,
             @RequestParam(defaultValue = "asc") String sortDir) {
 
-        Sort sort = sortDir.equalsIgnoreCase("desc") ? 
-            Sort.by(sortBy).descending() : 
-            Sort.by(sortBy).ascending();
-        
-        Pageable pageable = PageRequest.of(page, size, sort);
-        
-        Page<ReservationDTO> result = reservationService.getReservations(
-            restaurantId, from, to, status, customerEmail, pageable);
-        
-        return ResponseEntity.ok(result);
+        try {
+            ReservationPage result = reservationService.getReservations(
+                restaurantId, from, to, status, customerEmail, sortBy, sortDir, size, cursor);
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 
+    // The ETag is the reservation's version; send it back in If-Match to make a change conditional
     @GetMapping("/{id}")
     public ResponseEntity<ReservationDTO> getReservation(@PathVariable Long id) {
         ReservationDTO reservation = reservationService.getReservationById(id);
-        return ResponseEntity.ok(reservation);
+        return ResponseEntity.ok().eTag(EntityTags.of(reservation.getVersion())).body(reservation);
     }
 
     @PutMapping("/{id}")
     public ResponseEntity<ReservationDTO> updateReservation(
             @PathVariable Long id,
-            @Valid @RequestBody ReservationDTO dto) {
-        ReservationDTO updated = reservationService.updateReservation(id, dto);
-        return ResponseEntity.ok(updated);
+            @Valid @RequestBody ReservationDTO dto,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return conditionally(ifMatch, version -> reservationService.updateReservation(id, dto, version));
     }
 
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> cancelReservation(
             @PathVariable Long id,
-            @RequestParam(required = false) String reason) {
-        reservationService.cancelReservation(id, reason);
+            @RequestParam(required = false) String reason,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        try {
+            reservationService.cancelReservation(id, reason, EntityTags.expectedVersion(ifMatch));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(ifMatch != null ? HttpStatus.PRECONDITION_FAILED : HttpStatus.CONFLICT).build();
+        }
         return ResponseEntity.noContent().build();
     }
 
@@ -100,15 +107,17 @@ public class ReservationController {
     }
 
     @PutMapping("/{id}/confirm")
-    public ResponseEntity<ReservationDTO> confirmReservation(@PathVariable Long id) {
-        ReservationDTO confirmed = reservationService.confirmReservation(id);
-        return ResponseEntity.ok(confirmed);
+    public ResponseEntity<ReservationDTO> confirmReservation(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return conditionally(ifMatch, version -> reservationService.confirmReservation(id, version));
     }
 
     @PutMapping("/{id}/cancel")
-    public ResponseEntity<ReservationDTO> cancelReservationStatus(@PathVariable Long id) {
-        ReservationDTO cancelled = reservationService.cancelReservationStatus(id);
-        return ResponseEntity.ok(cancelled);
+    public ResponseEntity<ReservationDTO> cancelReservationStatus(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return conditionally(ifMatch, version -> reservationService.cancelReservationStatus(id, version));
     }
 
     @GetMapping("/customer/{email}")
@@ -117,4 +126,52 @@ public class ReservationController {
         List<ReservationDTO> reservations = reservationService.getReservationsByCustomerEmail(email);
         return ResponseEntity.ok(reservations);
     }
-}
\ No newline at end of file
+
+    // Walk-in waitlist: the party comes back TABLE_READY with its table if one is free now,
+    // otherwise WAITING with its position and estimated wait
+    @PreAuthorize("hasRole('OWNER') or hasRole('MANAGER') or hasRole('STAFF')")
+    @PostMapping("/waitlist")
+    public ResponseEntity<WaitlistEntryDTO> joinWaitlist(@Valid @RequestBody WaitlistEntryDTO entry) {
+        WaitlistEntryDTO joined = reservationService.joinWaitlist(entry);
+        return ResponseEntity.status(HttpStatus.CREATED).body(joined);
+    }
+
+    @GetMapping("/waitlist")
+    public ResponseEntity<List<WaitlistEntryDTO>> getWaitlist(@RequestParam Long restaurantId) {
+        return ResponseEntity.ok(reservationService.getWaitlist(restaurantId));
+    }
+
+    @GetMapping("/waitlist/{entryId}")
+    public ResponseEntity<WaitlistEntryDTO> getWaitlistEntry(@PathVariable Long entryId) {
+        try {
+            return ResponseEntity.ok(reservationService.getWaitlistEntry(entryId));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    @DeleteMapping("/waitlist/{entryId}")
+    public ResponseEntity<Void> leaveWaitlist(@PathVariable Long entryId) {
+        try {
+            reservationService.leaveWaitlist(entryId);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.noContent().build();
+    }
+
+    // Runs a change with the version If-Match expects. 412 when the reservation has moved past
+    // it, 409 when an unconditional change lost a race or the new slot is taken.
+    private ResponseEntity<ReservationDTO> conditionally(String ifMatch, Function<Long, ReservationDTO> change) {
+        try {
+            ReservationDTO reservation = change.apply(EntityTags.expectedVersion(ifMatch));
+            return ResponseEntity.ok().eTag(EntityTags.of(reservation.getVersion())).body(reservation);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(ifMatch != null ? HttpStatus.PRECONDITION_FAILED : HttpStatus.CONFLICT).build();
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+}
@@ -9,6 +9,9 @@ import java.util.List;
 
 public class OrderCreateRequest {
 
+    @NotNull(message = "Restaurant ID is required")
+    private Long restaurantId;
+
     @NotNull(message = "Customer ID is required")
     private Long customerId;
 
@@ -28,6 +31,14 @@ public class OrderCreateRequest {
         this.menuItemIds = menuItemIds;
     }
 
+    public Long getRestaurantId() {
+        return restaurantId;
+    }
+
+    public void setRestaurantId(Long restaurantId) {
+        this.restaurantId = restaurantId;
+    }
+
     public Long getCustomerId() {
         return customerId;
     }
@@ -1,9 +1,11 @@
 
 package com.easyserve.dto;
 
+import com.easyserve.model.Money;
 import com.easyserve.model.OrderStatus;
 import com.easyserve.model.OrderType;
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.*;
 import java.math.BigDecimal;
@@ -48,6 +50,10 @@ public class OrderDTO {
     @DecimalMin("0.00")
     private BigDecimal total;
 
+    // total in cents, kept alongside so revenue sums stay in long arithmetic
+    @JsonIgnore
+    private long totalCents;
+
     @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
     private LocalDateTime estimatedTime;
 
@@ -62,6 +68,9 @@ public class OrderDTO {
     @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
     private LocalDateTime updatedAt;
 
+    // Moves on every change; sent as the ETag, expected back in If-Match
+    private long version;
+
     // Constructors
     public OrderDTO() {}
 
@@ -78,6 +87,31 @@ public class OrderDTO {
         this.updatedAt = LocalDateTime.now();
     }
 
+    // Field-by-field copy; the item list is shared, as stored orders never change their items
+    public OrderDTO copy() {
+        OrderDTO copy = new OrderDTO();
+        copy.id = id;
+        copy.restaurantId = restaurantId;
+        copy.customerId = customerId;
+        copy.customerName = customerName;
+        copy.customerEmail = customerEmail;
+        copy.customerPhone = customerPhone;
+        copy.orderType = orderType;
+        copy.status = status;
+        copy.items = items;
+        copy.subtotal = subtotal;
+        copy.tax = tax;
+        copy.total = total;
+        copy.totalCents = totalCents;
+        copy.estimatedTime = estimatedTime;
+        copy.specialInstructions = specialInstructions;
+        copy.deliveryAddress = deliveryAddress;
+        copy.createdAt = createdAt;
+        copy.updatedAt = updatedAt;
+        copy.version = version;
+        return copy;
+    }
+
     // Getters and Setters
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
@@ -113,7 +147,13 @@ public class OrderDTO {
     public void setTax(BigDecimal tax) { this.tax = tax; }
 
     public BigDecimal getTotal() { return total; }
-    public void setTotal(BigDecimal total) { this.total = total; }
+    public void setTotal(BigDecimal total) {
+        this.total = total;
+        this.totalCents = Money.toCents(total);
+    }
+
+    @JsonIgnore
+    public long getTotalCents() { return totalCents; }
 
     public LocalDateTime getEstimatedTime() { return estimatedTime; }
     public void setEstimatedTime(LocalDateTime estimatedTime) { this.estimatedTime = estimatedTime; }
@@ -130,6 +170,9 @@ public class OrderDTO {
     public LocalDateTime getUpdatedAt() { return updatedAt; }
     public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
 
+    public long getVersion() { return version; }
+    public void setVersion(long version) { this.version = version; }
+
     // Business logic methods
     public boolean isPickupOrder() {
         return OrderType.PICKUP.equals(orderType);
@@ -155,8 +198,7 @@ public class OrderDTO {
     }
 
     public boolean canBeCancelled() {
-        return OrderStatus.PENDING.equals(status) || 
-               OrderStatus.CONFIRMED.equals(status);
+        return status != null && status.canTransitionTo(OrderStatus.CANCELLED);
     }
 
     public int getTotalItems() {
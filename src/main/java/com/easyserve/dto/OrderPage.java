@@ -0,0 +1,31 @@
+package com.easyserve.dto;
+
+import java.util.List;
+
+// One page of an order listing, newest first. nextCursor is passed back as ?cursor= for the
+// following page and is null on the last one.
+public class OrderPage {
+
+    private List<OrderDTO> content;
+    private int size;
+    private String nextCursor;
+
+    public OrderPage() {}
+
+    public OrderPage(List<OrderDTO> content, int size, String nextCursor) {
+        this.content = content;
+        this.size = size;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<OrderDTO> getContent() { return content; }
+    public void setContent(List<OrderDTO> content) { this.content = content; }
+
+    public int getSize() { return size; }
+    public void setSize(int size) { this.size = size; }
+
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+
+    public boolean isHasNext() { return nextCursor != null; }
+}
@@ -54,12 +54,17 @@ public class ReservationDTO {
              message = "Source must be ONLINE, PHONE, or WALK_IN")
     private String source;
 
+    private Integer tableNumber;
+
     @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
     private LocalDateTime createdAt;
 
     @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
     private LocalDateTime updatedAt;
 
+    // Moves on every change; sent as the ETag, expected back in If-Match
+    private long version;
+
     // Constructors
     public ReservationDTO() {}
 
@@ -80,6 +85,27 @@ public class ReservationDTO {
         this.updatedAt = LocalDateTime.now();
     }
 
+    public ReservationDTO copy() {
+        ReservationDTO copy = new ReservationDTO();
+        copy.id = id;
+        copy.restaurantId = restaurantId;
+        copy.customerFirstName = customerFirstName;
+        copy.customerLastName = customerLastName;
+        copy.customerEmail = customerEmail;
+        copy.customerPhone = customerPhone;
+        copy.reservationDate = reservationDate;
+        copy.reservationTime = reservationTime;
+        copy.partySize = partySize;
+        copy.specialRequests = specialRequests;
+        copy.status = status;
+        copy.source = source;
+        copy.tableNumber = tableNumber;
+        copy.createdAt = createdAt;
+        copy.updatedAt = updatedAt;
+        copy.version = version;
+        return copy;
+    }
+
     // Getters and Setters
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
@@ -117,12 +143,18 @@ public class ReservationDTO {
     public String getSource() { return source; }
     public void setSource(String source) { this.source = source; }
 
+    public Integer getTableNumber() { return tableNumber; }
+    public void setTableNumber(Integer tableNumber) { this.tableNumber = tableNumber; }
+
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
 
     public LocalDateTime getUpdatedAt() { return updatedAt; }
     public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
 
+    public long getVersion() { return version; }
+    public void setVersion(long version) { this.version = version; }
+
     // Business Logic Methods
     public String getCustomerFullName() {
         return customerFirstName + " " + customerLastName;
@@ -176,6 +208,7 @@ public class ReservationDTO {
                 ", partySize=" + partySize +
                 ", status='" + status + '\'' +
                 ", source='" + source + '\'' +
+                ", tableNumber=" + tableNumber +
                 '}';
     }
 }
\ No newline at end of file
@@ -0,0 +1,41 @@
+package com.easyserve.dto;
+
+import java.util.List;
+
+// One page of a reservation listing. nextCursor is passed back as ?cursor= for the following
+// page and is null on the last one.
+public class ReservationPage {
+
+    private List<ReservationDTO> content;
+    private int size;
+    private String sortBy;
+    private String sortDir;
+    private String nextCursor;
+
+    public ReservationPage() {}
+
+    public ReservationPage(List<ReservationDTO> content, int size, String sortBy, String sortDir, String nextCursor) {
+        this.content = content;
+        this.size = size;
+        this.sortBy = sortBy;
+        this.sortDir = sortDir;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<ReservationDTO> getContent() { return content; }
+    public void setContent(List<ReservationDTO> content) { this.content = content; }
+
+    public int getSize() { return size; }
+    public void setSize(int size) { this.size = size; }
+
+    public String getSortBy() { return sortBy; }
+    public void setSortBy(String sortBy) { this.sortBy = sortBy; }
+
+    public String getSortDir() { return sortDir; }
+    public void setSortDir(String sortDir) { this.sortDir = sortDir; }
+
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+
+    public boolean isHasNext() { return nextCursor != null; }
+}
@@ -0,0 +1,67 @@
+package com.easyserve.dto;
+
+import com.easyserve.model.OrderStatus;
+import com.easyserve.model.OrderType;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+// Sales and reservation figures of a restaurant for [from, to), read from the rollups
+public class SalesSummaryResponse {
+
+    private Long restaurantId;
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private long orders;
+    private Map<OrderStatus, Long> ordersByStatus;
+    private Map<OrderType, Long> ordersByType;
+    private long completedOrders;
+    private long cancelledOrders;
+    private BigDecimal revenue;
+    private BigDecimal tax;
+    private BigDecimal averageOrderValue;
+    private long reservations;
+    private long noShows;
+
+    public SalesSummaryResponse() {}
+
+    public Long getRestaurantId() { return restaurantId; }
+    public void setRestaurantId(Long restaurantId) { this.restaurantId = restaurantId; }
+
+    public LocalDateTime getFrom() { return from; }
+    public void setFrom(LocalDateTime from) { this.from = from; }
+
+    public LocalDateTime getTo() { return to; }
+    public void setTo(LocalDateTime to) { this.to = to; }
+
+    public long getOrders() { return orders; }
+    public void setOrders(long orders) { this.orders = orders; }
+
+    public Map<OrderStatus, Long> getOrdersByStatus() { return ordersByStatus; }
+    public void setOrdersByStatus(Map<OrderStatus, Long> ordersByStatus) { this.ordersByStatus = ordersByStatus; }
+
+    public Map<OrderType, Long> getOrdersByType() { return ordersByType; }
+    public void setOrdersByType(Map<OrderType, Long> ordersByType) { this.ordersByType = ordersByType; }
+
+    public long getCompletedOrders() { return completedOrders; }
+    public void setCompletedOrders(long completedOrders) { this.completedOrders = completedOrders; }
+
+    public long getCancelledOrders() { return cancelledOrders; }
+    public void setCancelledOrders(long cancelledOrders) { this.cancelledOrders = cancelledOrders; }
+
+    public BigDecimal getRevenue() { return revenue; }
+    public void setRevenue(BigDecimal revenue) { this.revenue = revenue; }
+
+    public BigDecimal getTax() { return tax; }
+    public void setTax(BigDecimal tax) { this.tax = tax; }
+
+    public BigDecimal getAverageOrderValue() { return averageOrderValue; }
+    public void setAverageOrderValue(BigDecimal averageOrderValue) { this.averageOrderValue = averageOrderValue; }
+
+    public long getReservations() { return reservations; }
+    public void setReservations(long reservations) { this.reservations = reservations; }
+
+    public long getNoShows() { return noShows; }
+    public void setNoShows(long noShows) { this.noShows = noShows; }
+}
@@ -0,0 +1,103 @@
+package com.easyserve.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import jakarta.validation.constraints.*;
+import java.time.LocalDateTime;
+
+// A walk-in party waiting for a table. Once a table frees up the party gets a walk-in
+// reservation holding it, and status moves from WAITING to TABLE_READY.
+public class WaitlistEntryDTO {
+
+    private Long id;
+
+    @NotNull
+    private Long restaurantId;
+
+    @NotBlank
+    private String customerFirstName;
+
+    @NotBlank
+    private String customerLastName;
+
+    @Email
+    private String customerEmail;
+
+    // Texted when the table is ready
+    @Pattern(regexp = "\\+?[0-9. ()-]{7,25}", message = "Invalid phone number")
+    @NotBlank
+    private String customerPhone;
+
+    @NotNull
+    @Min(1)
+    @Max(20)
+    private Integer partySize;
+
+    private String status;
+
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime joinedAt;
+
+    // Parties ahead of this one, and the expected wait from the restaurant's recent table turnover
+    private Integer position;
+    private Integer estimatedWaitMinutes;
+
+    // Set once seated
+    private Long reservationId;
+    private Integer tableNumber;
+
+    public WaitlistEntryDTO() {}
+
+    public WaitlistEntryDTO(Long restaurantId, String customerFirstName, String customerLastName,
+                            String customerEmail, String customerPhone, Integer partySize) {
+        this.restaurantId = restaurantId;
+        this.customerFirstName = customerFirstName;
+        this.customerLastName = customerLastName;
+        this.customerEmail = customerEmail;
+        this.customerPhone = customerPhone;
+        this.partySize = partySize;
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getRestaurantId() { return restaurantId; }
+    public void setRestaurantId(Long restaurantId) { this.restaurantId = restaurantId; }
+
+    public String getCustomerFirstName() { return customerFirstName; }
+    public void setCustomerFirstName(String customerFirstName) { this.customerFirstName = customerFirstName; }
+
+    public String getCustomerLastName() { return customerLastName; }
+    public void setCustomerLastName(String customerLastName) { this.customerLastName = customerLastName; }
+
+    public String getCustomerEmail() { return customerEmail; }
+    public void setCustomerEmail(String customerEmail) { this.customerEmail = customerEmail; }
+
+    public String getCustomerPhone() { return customerPhone; }
+    public void setCustomerPhone(String customerPhone) { this.customerPhone = customerPhone; }
+
+    public Integer getPartySize() { return partySize; }
+    public void setPartySize(Integer partySize) { this.partySize = partySize; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public LocalDateTime getJoinedAt() { return joinedAt; }
+    public void setJoinedAt(LocalDateTime joinedAt) { this.joinedAt = joinedAt; }
+
+    public Integer getPosition() { return position; }
+    public void setPosition(Integer position) { this.position = position; }
+
+    public Integer getEstimatedWaitMinutes() { return estimatedWaitMinutes; }
+    public void setEstimatedWaitMinutes(Integer estimatedWaitMinutes) { this.estimatedWaitMinutes = estimatedWaitMinutes; }
+
+    public Long getReservationId() { return reservationId; }
+    public void setReservationId(Long reservationId) { this.reservationId = reservationId; }
+
+    public Integer getTableNumber() { return tableNumber; }
+    public void setTableNumber(Integer tableNumber) { this.tableNumber = tableNumber; }
+
+    public String getCustomerFullName() {
+        return customerFirstName + " " + customerLastName;
+    }
+}
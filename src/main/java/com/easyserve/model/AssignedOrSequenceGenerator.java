@@ -0,0 +1,15 @@
+package com.easyserve.model;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+
+// Pooled sequence ids, except for rows that arrive with an id already assigned
+// (orders acknowledged by the write-behind store before they reach the database)
+public class AssignedOrSequenceGenerator extends SequenceStyleGenerator {
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object object) {
+        Object id = session.getEntityPersister(null, object).getIdentifier(object, session);
+        return id != null ? id : super.generate(session, object);
+    }
+}
@@ -0,0 +1,69 @@
+package com.easyserve.model;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+// Amounts of money as long cents. Order pricing and revenue figures are computed in cents and
+// only turned into BigDecimal for DTOs and entities; every operation that can produce a
+// fraction of a cent takes an explicit RoundingMode. Overflow throws ArithmeticException.
+public final class Money {
+
+    public static final int SCALE = 2;
+
+    // Rates are given in basis points: 1000 = 10%
+    private static final long BASIS_POINTS = 10_000;
+
+    private Money() {}
+
+    public static long toCents(BigDecimal amount) {
+        return toCents(amount, RoundingMode.HALF_UP);
+    }
+
+    public static long toCents(BigDecimal amount, RoundingMode rounding) {
+        if (amount == null) {
+            return 0;
+        }
+        return amount.setScale(SCALE, rounding).unscaledValue().longValueExact();
+    }
+
+    public static BigDecimal toBigDecimal(long cents) {
+        return BigDecimal.valueOf(cents, SCALE);
+    }
+
+    public static long times(long cents, long quantity) {
+        return Math.multiplyExact(cents, quantity);
+    }
+
+    public static long plus(long cents, long otherCents) {
+        return Math.addExact(cents, otherCents);
+    }
+
+    // cents * rate, for tax and service charges
+    public static long percentage(long cents, long basisPoints, RoundingMode rounding) {
+        return divide(Math.multiplyExact(cents, basisPoints), BASIS_POINTS, rounding);
+    }
+
+    // Average order value and similar; divisor must not be zero
+    public static long divide(long dividend, long divisor, RoundingMode rounding) {
+        long quotient = dividend / divisor;
+        long remainder = dividend - quotient * divisor;
+        if (remainder == 0) {
+            return quotient;
+        }
+        // Direction away from zero of the exact result, and how the remainder compares to half
+        int signum = (dividend ^ divisor) < 0 ? -1 : 1;
+        long absRemainder = Math.abs(remainder);
+        long rest = Math.abs(divisor) - absRemainder;
+        boolean increment = switch (rounding) {
+            case UNNECESSARY -> throw new ArithmeticException("Rounding necessary: " + dividend + " / " + divisor);
+            case DOWN -> false;
+            case UP -> true;
+            case FLOOR -> signum < 0;
+            case CEILING -> signum > 0;
+            case HALF_UP -> absRemainder >= rest;
+            case HALF_DOWN -> absRemainder > rest;
+            case HALF_EVEN -> absRemainder > rest || (absRemainder == rest && (quotient & 1) != 0);
+        };
+        return increment ? quotient + signum : quotient;
+    }
+}
@@ -5,17 +5,22 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotNull;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
-import jakarta.persistence.GenerationType;
+import java.util.ArrayList;
+import java.util.List;
 
 @Entity
 @Table(name = "orders", indexes = {
-        @Index(name = "idx_order_restaurant", columnList = "restaurant_id"),
-        @Index(name = "idx_order_customer", columnList = "customer_id"),
+        // Listings seek on id within a restaurant or customer, newest first
+        @Index(name = "idx_order_restaurant_id", columnList = "restaurant_id, id"),
+        @Index(name = "idx_order_customer_id", columnList = "customer_id, id"),
         @Index(name = "idx_order_status", columnList = "status")
 })
 @Getter
@@ -25,9 +30,18 @@ import jakarta.persistence.GenerationType;
 @Builder
 public class Order {
 
+    // Pooled sequence ids keep inserts batchable (IDENTITY forces one round trip per row)
     @Id
-@GeneratedValue(strategy = GenerationType.IDENTITY)
-private Long id;
+    @GeneratedValue(generator = "orders_seq")
+    @GenericGenerator(name = "orders_seq", type = AssignedOrSequenceGenerator.class, parameters = {
+            @Parameter(name = "sequence_name", value = "orders_seq"),
+            @Parameter(name = "increment_size", value = "50")
+    })
+    private Long id;
+
+    // Null until the first insert (see PreassignedIdInterceptor)
+    @Version
+    private Long version;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "restaurant_id", nullable = false)
@@ -37,13 +51,29 @@ private Long id;
     @JoinColumn(name = "customer_id", nullable = false)
     private Customer customer;
 
+    @Column(length = 100)
+    private String customerName;
+
+    @Column(length = 100)
+    private String customerEmail;
+
+    @Column(length = 20)
+    private String customerPhone;
+
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private OrderType orderType;
 
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
-    private Status status = Status.NEW;
+    @Builder.Default
+    private OrderStatus status = OrderStatus.PENDING;
+
+    @ElementCollection
+    @CollectionTable(name = "order_items", joinColumns = @JoinColumn(name = "order_id"))
+    @BatchSize(size = 50)
+    @Builder.Default
+    private List<OrderLine> items = new ArrayList<>();
 
     @DecimalMin("0.00")
     @Column(nullable = false, precision = 10, scale = 2)
@@ -72,14 +102,6 @@ private Long id;
     @UpdateTimestamp
     private LocalDateTime updatedAt;
 
-    public enum OrderType {
-        PICKUP, DELIVERY
-    }
-
-    public enum Status {
-        NEW, CONFIRMED, PREPARING, READY, COMPLETED, CANCELLED
-    }
-
     @Override
     public String toString() {
         return "Order{" +
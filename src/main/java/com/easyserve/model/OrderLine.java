@@ -0,0 +1,34 @@
+package com.easyserve.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.*;
+
+import java.math.BigDecimal;
+
+@Embeddable
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderLine {
+
+    @Column(nullable = false)
+    private Long menuItemId;
+
+    @Column(length = 100)
+    private String itemName;
+
+    @Column(nullable = false)
+    private int quantity;
+
+    @Column(precision = 10, scale = 2)
+    private BigDecimal unitPrice;
+
+    @Column(precision = 10, scale = 2)
+    private BigDecimal totalPrice;
+
+    @Column(length = 250)
+    private String specialRequests;
+}
@@ -1,6 +1,10 @@
-
 package com.easyserve.model;
 
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
 public enum OrderStatus {
     PENDING,
     CONFIRMED,
@@ -8,5 +12,23 @@ public enum OrderStatus {
     READY,
     SERVED,
     CANCELLED,
-    COMPLETED
+    COMPLETED;
+
+    // Where an order may go from each status. Only orders the kitchen has not started can be
+    // cancelled; CANCELLED and COMPLETED are final.
+    private static final Map<OrderStatus, Set<OrderStatus>> TRANSITIONS = new EnumMap<>(OrderStatus.class);
+
+    static {
+        TRANSITIONS.put(PENDING, EnumSet.of(CONFIRMED, PREPARING, CANCELLED));
+        TRANSITIONS.put(CONFIRMED, EnumSet.of(PREPARING, CANCELLED));
+        TRANSITIONS.put(PREPARING, EnumSet.of(READY));
+        TRANSITIONS.put(READY, EnumSet.of(SERVED, COMPLETED));
+        TRANSITIONS.put(SERVED, EnumSet.of(COMPLETED));
+        TRANSITIONS.put(CANCELLED, EnumSet.noneOf(OrderStatus.class));
+        TRANSITIONS.put(COMPLETED, EnumSet.noneOf(OrderStatus.class));
+    }
+
+    public boolean canTransitionTo(OrderStatus next) {
+        return TRANSITIONS.get(this).contains(next);
+    }
 }
@@ -0,0 +1,16 @@
+package com.easyserve.model;
+
+import org.hibernate.Interceptor;
+
+// Orders acknowledged by the write-behind store arrive with their id already set. Hibernate
+// would take them for detached rows; an order with an id but no version was never written.
+public class PreassignedIdInterceptor implements Interceptor {
+
+    @Override
+    public Boolean isTransient(Object entity) {
+        if (entity instanceof Order order && order.getId() != null && order.getVersion() == null) {
+            return Boolean.TRUE;
+        }
+        return null;
+    }
+}
@@ -4,6 +4,7 @@ package com.easyserve.model;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
@@ -17,7 +18,8 @@ import jakarta.persistence.GenerationType;
 @Table(name = "reservations", indexes = {
         @Index(name = "idx_reservation_restaurant", columnList = "restaurant_id"),
         @Index(name = "idx_reservation_customer", columnList = "customer_id"),
-        @Index(name = "idx_reservation_date_time", columnList = "reservationDate, reservationTime")
+        @Index(name = "idx_reservation_date_time", columnList = "reservationDate, reservationTime"),
+        @Index(name = "idx_reservation_restaurant_date_time", columnList = "restaurant_id, reservationDate, reservationTime, id")
 })
 @Getter
 @Setter
@@ -27,19 +29,35 @@ import jakarta.persistence.GenerationType;
 public class Reservation {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "reservations_seq")
+    @SequenceGenerator(name = "reservations_seq", sequenceName = "reservations_seq", allocationSize = 50)
     private Long id;
 
+    @Version
+    private Long version;
+
     @NotNull
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "restaurant_id", nullable = false)
     private Restaurant restaurant;
 
-    @NotNull
+    // Online bookings carry contact details only; the customer record is linked when known
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "customer_id", nullable = false)
+    @JoinColumn(name = "customer_id")
     private Customer customer;
 
+    @Size(max = 50)
+    private String customerFirstName;
+
+    @Size(max = 50)
+    private String customerLastName;
+
+    @Size(max = 100)
+    private String customerEmail;
+
+    @Size(max = 25)
+    private String customerPhone;
+
     @NotNull
     @Column(nullable = false)
     private LocalDate reservationDate;
@@ -5,6 +5,7 @@ package com.easyserve.model;
 public enum ReservationStatus {
     PENDING,
     CONFIRMED,
+    SEATED,
     CANCELLED,
     COMPLETED,
     NO_SHOW;
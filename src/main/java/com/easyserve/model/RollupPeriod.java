@@ -0,0 +1,17 @@
+package com.easyserve.model;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+public enum RollupPeriod {
+    HOUR,
+    DAY;
+
+    public LocalDateTime bucketStart(LocalDateTime time) {
+        return this == HOUR ? time.truncatedTo(ChronoUnit.HOURS) : time.toLocalDate().atStartOfDay();
+    }
+
+    public LocalDateTime bucketEnd(LocalDateTime bucketStart) {
+        return this == HOUR ? bucketStart.plusHours(1) : bucketStart.plusDays(1);
+    }
+}
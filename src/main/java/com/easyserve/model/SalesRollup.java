@@ -0,0 +1,138 @@
+package com.easyserve.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+// Aggregates of one restaurant's orders and reservations over an hour or a day. Orders count
+// towards the bucket they were created in, by their current status; revenue and tax are those
+// of the completed ones. Reservations count towards the bucket of the reserved time.
+// restaurantId is a plain column so a row can be written without loading the restaurant.
+@Entity
+@Table(name = "sales_rollups", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_sales_rollup_bucket", columnNames = {"restaurant_id", "period", "bucket_start"})
+})
+@Getter
+@Setter
+@NoArgsConstructor
+public class SalesRollup {
+
+    // Pooled sequence ids, so flushing a batch of new buckets stays one batched insert
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sales_rollups_seq")
+    @SequenceGenerator(name = "sales_rollups_seq", sequenceName = "sales_rollups_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "restaurant_id", nullable = false)
+    private Long restaurantId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private RollupPeriod period;
+
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart;
+
+    // Orders by current status
+    private long pendingOrders;
+    private long confirmedOrders;
+    private long preparingOrders;
+    private long readyOrders;
+    private long servedOrders;
+    private long cancelledOrders;
+    private long completedOrders;
+
+    // Orders by type
+    private long dineInOrders;
+    private long takeoutOrders;
+    private long deliveryOrders;
+    private long pickupOrders;
+
+    // Completed orders, in cents
+    private long revenueCents;
+    private long taxCents;
+
+    private long reservations;
+    private long noShows;
+
+    public SalesRollup(Long restaurantId, RollupPeriod period, LocalDateTime bucketStart) {
+        this.restaurantId = restaurantId;
+        this.period = period;
+        this.bucketStart = bucketStart;
+    }
+
+    public long getOrders() {
+        return dineInOrders + takeoutOrders + deliveryOrders + pickupOrders;
+    }
+
+    public long count(OrderStatus status) {
+        return switch (status) {
+            case PENDING -> pendingOrders;
+            case CONFIRMED -> confirmedOrders;
+            case PREPARING -> preparingOrders;
+            case READY -> readyOrders;
+            case SERVED -> servedOrders;
+            case CANCELLED -> cancelledOrders;
+            case COMPLETED -> completedOrders;
+        };
+    }
+
+    public long count(OrderType type) {
+        return switch (type) {
+            case DINE_IN -> dineInOrders;
+            case TAKEOUT -> takeoutOrders;
+            case DELIVERY -> deliveryOrders;
+            case PICKUP -> pickupOrders;
+        };
+    }
+
+    public void addStatus(OrderStatus status, long delta) {
+        switch (status) {
+            case PENDING -> pendingOrders += delta;
+            case CONFIRMED -> confirmedOrders += delta;
+            case PREPARING -> preparingOrders += delta;
+            case READY -> readyOrders += delta;
+            case SERVED -> servedOrders += delta;
+            case CANCELLED -> cancelledOrders += delta;
+            case COMPLETED -> completedOrders += delta;
+        }
+    }
+
+    public void addType(OrderType type, long delta) {
+        switch (type) {
+            case DINE_IN -> dineInOrders += delta;
+            case TAKEOUT -> takeoutOrders += delta;
+            case DELIVERY -> deliveryOrders += delta;
+            case PICKUP -> pickupOrders += delta;
+        }
+    }
+
+    public void addSales(long revenueCents, long taxCents) {
+        this.revenueCents = Math.addExact(this.revenueCents, revenueCents);
+        this.taxCents = Math.addExact(this.taxCents, taxCents);
+    }
+
+    public void addReservations(long reservations, long noShows) {
+        this.reservations += reservations;
+        this.noShows += noShows;
+    }
+
+    // Adds every counter of other, a bucket of the same or a narrower range
+    public void add(SalesRollup other) {
+        for (OrderStatus status : OrderStatus.values()) {
+            addStatus(status, other.count(status));
+        }
+        for (OrderType type : OrderType.values()) {
+            addType(type, other.count(type));
+        }
+        addSales(other.revenueCents, other.taxCents);
+        addReservations(other.reservations, other.noShows);
+    }
+
+    public SalesRollup copy() {
+        SalesRollup copy = new SalesRollup(restaurantId, period, bucketStart);
+        copy.add(this);
+        return copy;
+    }
+}
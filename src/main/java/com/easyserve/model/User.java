@@ -11,6 +11,7 @@ import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
+import java.util.UUID;
 import jakarta.persistence.GenerationType;
 
 @Entity
@@ -25,8 +26,13 @@ import jakarta.persistence.GenerationType;
 public class User {
 
     @Id
-@GeneratedValue(strategy = GenerationType.IDENTITY)
-private Long id;
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
+    private Long id;
+
+    // Public identifier handed out by UserService and embedded in tokens
+    @Column(nullable = false, unique = true, updatable = false)
+    private UUID publicId;
 
     @Email
     @NotBlank
@@ -53,9 +59,13 @@ private Long id;
     private Role role;
 
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "restaurant_id", nullable = false)
+    @JoinColumn(name = "restaurant_id")
     private Restaurant restaurant;
 
+    // Tenant key used by UserService; new owners get one before their restaurant row exists
+    @Column(nullable = false)
+    private UUID tenantId;
+
     @Column(nullable = false)
     private boolean isActive = true;
 
@@ -0,0 +1,414 @@
+package com.easyserve.repository;
+
+import com.easyserve.dto.OrderDTO;
+import com.easyserve.model.OrderStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+@Repository
+@ConditionalOnProperty(name = "app.storage.backend", havingValue = "memory", matchIfMissing = true)
+public class InMemoryOrderStore implements OrderStore {
+
+    private static final Logger log = LoggerFactory.getLogger(InMemoryOrderStore.class);
+
+    private static final int LOCK_STRIPES = 64;
+
+    // Days older than this are folded into summaries and their orders dropped; 0 keeps everything
+    @Value("${app.orders.retention-days:90}")
+    private int retentionDays;
+
+    // Each order is an immutable snapshot; an update swaps in a changed copy by compare-and-set,
+    // so readers never block and never see an order half-way through a change. Eviction swaps in
+    // null, which fails every later update.
+    private final Map<Long, AtomicReference<OrderDTO>> orders = new ConcurrentHashMap<>();
+    private final AtomicLong orderIdGenerator = new AtomicLong(1);
+
+    // Secondary indexes - every set holds order ids, which are handed out in creation order
+    private final NavigableSet<Long> allIds = new ConcurrentSkipListSet<>();
+    private final Map<Long, NavigableSet<Long>> byRestaurant = new ConcurrentHashMap<>();
+    private final Map<StatusKey, NavigableSet<Long>> byRestaurantAndStatus = new ConcurrentHashMap<>();
+    private final Map<Long, NavigableSet<Long>> byCustomer = new ConcurrentHashMap<>();
+    // Per restaurant, the ids of each day's orders keyed by epoch day of createdAt
+    private final Map<Long, ConcurrentNavigableMap<Long, NavigableSet<Long>>> byDay = new ConcurrentHashMap<>();
+
+    // Per restaurant, the days already past retention
+    private final Map<Long, ConcurrentNavigableMap<Long, OrderDaySummary>> compactedDays = new ConcurrentHashMap<>();
+
+    // Index maintenance and status changes of the same order serialize on a stripe; reads and
+    // other updates do not
+    private final Object[] locks = new Object[LOCK_STRIPES];
+
+    public InMemoryOrderStore() {
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    @Override
+    public OrderDTO insert(OrderDTO order) {
+        Long orderId = orderIdGenerator.getAndIncrement();
+        order.setId(orderId);
+        order.setVersion(0);
+
+        synchronized (lockFor(orderId)) {
+            // Publish the order before indexing it so index readers always resolve the id
+            orders.put(orderId, new AtomicReference<>(order));
+            addToIndexes(order);
+        }
+        return order;
+    }
+
+    @Override
+    public List<OrderDTO> insertAll(List<OrderDTO> orders) {
+        orders.forEach(this::insert);
+        return orders;
+    }
+
+    @Override
+    public Optional<OrderDTO> findById(Long orderId) {
+        return Optional.ofNullable(snapshot(orderId));
+    }
+
+    @Override
+    public Optional<OrderDTO> update(Long orderId, Consumer<OrderDTO> mutation) {
+        AtomicReference<OrderDTO> ref = orders.get(orderId);
+        if (ref == null) {
+            return Optional.empty();
+        }
+
+        // Retried on a fresh copy whenever another writer got in first
+        while (true) {
+            OrderDTO current = ref.get();
+            if (current == null) {
+                // Evicted by compaction
+                return Optional.empty();
+            }
+            OrderDTO updated = current.copy();
+            mutation.accept(updated);
+            updated.setVersion(current.getVersion() + 1);
+            boolean swapped = updated.getStatus() != current.getStatus() && updated.getRestaurantId() != null
+                    ? swapStatus(ref, orderId, current, updated)
+                    : ref.compareAndSet(current, updated);
+            if (swapped) {
+                return Optional.of(updated);
+            }
+        }
+    }
+
+    @Override
+    public List<OrderDTO> findAll() {
+        return orders.values().stream()
+                .map(AtomicReference::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    @Override
+    public List<OrderDTO> findByRestaurant(Long restaurantId) {
+        return resolve(byRestaurant.get(restaurantId)).toList();
+    }
+
+    @Override
+    public List<OrderDTO> findByRestaurantAndStatus(Long restaurantId, OrderStatus status) {
+        return resolve(byRestaurantAndStatus.get(new StatusKey(restaurantId, status)))
+                .filter(order -> status == order.getStatus())
+                .toList();
+    }
+
+    @Override
+    public List<OrderDTO> findByRestaurantAndStatusIn(Long restaurantId, Collection<OrderStatus> statuses) {
+        return statuses.stream()
+                .flatMap(status -> findByRestaurantAndStatus(restaurantId, status).stream())
+                .toList();
+    }
+
+    @Override
+    public List<OrderDTO> findByCustomer(Long customerId) {
+        return resolve(byCustomer.get(customerId)).toList();
+    }
+
+    // Returns the orders of every day overlapping [from, to]
+    @Override
+    public List<OrderDTO> findByRestaurantAndCreatedAtBetween(Long restaurantId, LocalDateTime from, LocalDateTime to) {
+        ConcurrentNavigableMap<Long, NavigableSet<Long>> days = byDay.get(restaurantId);
+        if (days == null) {
+            return List.of();
+        }
+
+        NavigableMap<Long, NavigableSet<Long>> range = days;
+        if (from != null) {
+            range = range.tailMap(dayOf(from), true);
+        }
+        if (to != null) {
+            range = range.headMap(dayOf(to), true);
+        }
+
+        return range.values().stream()
+                .flatMap(this::resolve)
+                .toList();
+    }
+
+    @Override
+    public List<OrderDaySummary> findCompactedDays(Long restaurantId, LocalDate from, LocalDate to) {
+        ConcurrentNavigableMap<Long, OrderDaySummary> days = compactedDays.get(restaurantId);
+        if (days == null) {
+            return List.of();
+        }
+        return List.copyOf(days.subMap(from.toEpochDay(), true, to.toEpochDay(), true).values());
+    }
+
+    // Folds every day before the retention window into its summary and drops the day's orders
+    // from the store and all indexes. Orders are created for the current day, so no insert
+    // lands in a day while it is being compacted.
+    @Override
+    @Scheduled(cron = "${app.orders.compaction-cron:0 5 0 * * *}")
+    public int compact() {
+        if (retentionDays <= 0) {
+            return 0;
+        }
+        long cutoff = LocalDate.now().minusDays(retentionDays).toEpochDay();
+        int evicted = 0;
+        for (Map.Entry<Long, ConcurrentNavigableMap<Long, NavigableSet<Long>>> restaurant : byDay.entrySet()) {
+            Long restaurantId = restaurant.getKey();
+            NavigableMap<Long, NavigableSet<Long>> expired = restaurant.getValue().headMap(cutoff, false);
+            for (Map.Entry<Long, NavigableSet<Long>> day; (day = expired.pollFirstEntry()) != null; ) {
+                OrderDaySummary summary = OrderDaySummary.empty(restaurantId, LocalDate.ofEpochDay(day.getKey()));
+                for (Long orderId : day.getValue()) {
+                    OrderDTO order = evict(orderId);
+                    if (order != null) {
+                        summary = summary.plus(order);
+                        evicted++;
+                    }
+                }
+                compactedDays.computeIfAbsent(restaurantId, id -> new ConcurrentSkipListMap<>())
+                        .merge(day.getKey(), summary, OrderDaySummary::plus);
+            }
+        }
+        if (evicted > 0) {
+            log.info("Compacted {} orders older than {} days", evicted, retentionDays);
+        }
+        return evicted;
+    }
+
+    @Override
+    public List<OrderDTO> findPage(OrderQuery query) {
+        return scan(query).limit(query.limit()).toList();
+    }
+
+    @Override
+    public void export(OrderQuery query, Consumer<OrderDTO> sink) {
+        scan(query).forEach(sink);
+    }
+
+    @Override
+    public long count() {
+        return orders.size();
+    }
+
+    // Walks the narrowest index down from the cursor, so a page costs about as many lookups as
+    // it skips and returns, not the size of the whole listing. Without a status, a restaurant
+    // listing with a time range only walks the days in the range.
+    private Stream<OrderDTO> scan(OrderQuery query) {
+        NavigableSet<Long> ids;
+        if (query.customerId() != null) {
+            ids = byCustomer.get(query.customerId());
+        } else if (query.restaurantId() != null && query.status() != null) {
+            ids = byRestaurantAndStatus.get(new StatusKey(query.restaurantId(), query.status()));
+        } else if (query.restaurantId() != null && (query.from() != null || query.to() != null)) {
+            return idsByDay(query).map(this::snapshot)
+                    .filter(Objects::nonNull)
+                    .filter(query::matches);
+        } else if (query.restaurantId() != null) {
+            ids = byRestaurant.get(query.restaurantId());
+        } else {
+            // Every live order; compacted days have left this index like the others
+            ids = allIds;
+        }
+        if (ids == null) {
+            return Stream.empty();
+        }
+
+        NavigableSet<Long> newestFirst = ids.descendingSet();
+        if (query.beforeId() != null) {
+            newestFirst = newestFirst.tailSet(query.beforeId(), false);
+        }
+        return resolve(newestFirst).filter(query::matches);
+    }
+
+    // Ids of the restaurant's orders on the days overlapping the query's range, newest first.
+    // Most of a day's ids are newer than the day before's, but an order may carry any createdAt,
+    // so the days are merged rather than walked one after another.
+    private Stream<Long> idsByDay(OrderQuery query) {
+        ConcurrentNavigableMap<Long, NavigableSet<Long>> days = byDay.get(query.restaurantId());
+        if (days == null || (query.from() != null && query.to() != null && query.from().isAfter(query.to()))) {
+            return Stream.empty();
+        }
+
+        NavigableMap<Long, NavigableSet<Long>> range = days;
+        if (query.from() != null) {
+            range = range.tailMap(dayOf(query.from()), true);
+        }
+        if (query.to() != null) {
+            range = range.headMap(dayOf(query.to()), true);
+        }
+
+        PriorityQueue<Map.Entry<Long, Iterator<Long>>> heads =
+                new PriorityQueue<>(Map.Entry.<Long, Iterator<Long>>comparingByKey().reversed());
+        for (NavigableSet<Long> day : range.values()) {
+            NavigableSet<Long> newestFirst = day.descendingSet();
+            if (query.beforeId() != null) {
+                newestFirst = newestFirst.tailSet(query.beforeId(), false);
+            }
+            advance(heads, newestFirst.iterator());
+        }
+        Iterator<Long> merged = new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return !heads.isEmpty();
+            }
+
+            @Override
+            public Long next() {
+                Map.Entry<Long, Iterator<Long>> head = heads.remove();
+                advance(heads, head.getValue());
+                return head.getKey();
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(merged, Spliterator.ORDERED), false);
+    }
+
+    private static void advance(PriorityQueue<Map.Entry<Long, Iterator<Long>>> heads, Iterator<Long> day) {
+        if (day.hasNext()) {
+            heads.add(Map.entry(day.next(), day));
+        }
+    }
+
+    private void addToIndexes(OrderDTO order) {
+        Long orderId = order.getId();
+
+        allIds.add(orderId);
+        if (order.getRestaurantId() != null) {
+            indexSet(byRestaurant, order.getRestaurantId()).add(orderId);
+            if (order.getStatus() != null) {
+                indexSet(byRestaurantAndStatus, new StatusKey(order.getRestaurantId(), order.getStatus())).add(orderId);
+            }
+            if (order.getCreatedAt() != null) {
+                byDay.computeIfAbsent(order.getRestaurantId(), id -> new ConcurrentSkipListMap<>())
+                        .computeIfAbsent(dayOf(order.getCreatedAt()), day -> new ConcurrentSkipListSet<>())
+                        .add(orderId);
+            }
+        }
+        if (order.getCustomerId() != null) {
+            indexSet(byCustomer, order.getCustomerId()).add(orderId);
+        }
+    }
+
+    // Status changes swap under the order's stripe lock: the id joins the new status set before
+    // the swap and leaves the old one after it, so a reader of either status always finds the
+    // order in the set for the status it has. A concurrent reader may briefly see the id in both.
+    private boolean swapStatus(AtomicReference<OrderDTO> ref, Long orderId, OrderDTO current, OrderDTO updated) {
+        synchronized (lockFor(orderId)) {
+            StatusKey to = updated.getStatus() != null ? new StatusKey(updated.getRestaurantId(), updated.getStatus()) : null;
+            if (to != null) {
+                indexSet(byRestaurantAndStatus, to).add(orderId);
+            }
+            if (!ref.compareAndSet(current, updated)) {
+                // Lost to another writer. No other status change is in flight under this lock, so
+                // the id stays only if the winner left the order in that status.
+                OrderDTO winner = ref.get();
+                if (to != null && (winner == null || winner.getStatus() != updated.getStatus())) {
+                    removeFromIndex(byRestaurantAndStatus, to, orderId);
+                }
+                return false;
+            }
+            if (current.getStatus() != null && current.getRestaurantId() != null) {
+                removeFromIndex(byRestaurantAndStatus, new StatusKey(current.getRestaurantId(), current.getStatus()), orderId);
+            }
+            return true;
+        }
+    }
+
+    // The day index entry is left to the caller, which drops the whole day
+    private OrderDTO evict(Long orderId) {
+        synchronized (lockFor(orderId)) {
+            AtomicReference<OrderDTO> ref = orders.remove(orderId);
+            OrderDTO order = ref != null ? ref.getAndSet(null) : null;
+            if (order == null) {
+                return null;
+            }
+            allIds.remove(orderId);
+            if (order.getRestaurantId() != null) {
+                removeFromIndex(byRestaurant, order.getRestaurantId(), orderId);
+                if (order.getStatus() != null) {
+                    removeFromIndex(byRestaurantAndStatus, new StatusKey(order.getRestaurantId(), order.getStatus()), orderId);
+                }
+            }
+            if (order.getCustomerId() != null) {
+                removeFromIndex(byCustomer, order.getCustomerId(), orderId);
+            }
+            return order;
+        }
+    }
+
+    private Stream<OrderDTO> resolve(NavigableSet<Long> orderIds) {
+        if (orderIds == null) {
+            return Stream.empty();
+        }
+        return orderIds.stream()
+                .map(this::snapshot)
+                .filter(Objects::nonNull);
+    }
+
+    private OrderDTO snapshot(Long orderId) {
+        AtomicReference<OrderDTO> ref = orders.get(orderId);
+        return ref != null ? ref.get() : null;
+    }
+
+    private static <K> NavigableSet<Long> indexSet(Map<K, NavigableSet<Long>> index, K key) {
+        return index.computeIfAbsent(key, k -> new ConcurrentSkipListSet<>());
+    }
+
+    private static <K> void removeFromIndex(Map<K, NavigableSet<Long>> index, K key, Long orderId) {
+        NavigableSet<Long> ids = index.get(key);
+        if (ids != null) {
+            ids.remove(orderId);
+        }
+    }
+
+    private static long dayOf(LocalDateTime time) {
+        return time.toLocalDate().toEpochDay();
+    }
+
+    private Object lockFor(Long orderId) {
+        return locks[(int) (orderId & (LOCK_STRIPES - 1))];
+    }
+
+    private record StatusKey(Long restaurantId, OrderStatus status) {}
+}
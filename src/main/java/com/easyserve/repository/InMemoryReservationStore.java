@@ -0,0 +1,142 @@
+package com.easyserve.repository;
+
+import com.easyserve.dto.ReservationDTO;
+import com.easyserve.repository.ReservationQuery.Position;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Repository
+@ConditionalOnProperty(name = "app.storage.backend", havingValue = "memory", matchIfMissing = true)
+public class InMemoryReservationStore implements ReservationStore {
+
+    // Stored reservations are never modified; save() swaps in a new one by compare-and-set
+    private final Map<Long, ReservationDTO> reservations = new ConcurrentHashMap<>();
+    private final AtomicLong reservationIdGenerator = new AtomicLong(1);
+
+    // Each restaurant's reservations in listing order, so a page is a range scan from the cursor
+    private final Map<Long, NavigableMap<Position, ReservationDTO>> byRestaurant = new ConcurrentHashMap<>();
+
+    // Where each reservation currently sits in that index; date and time can change on save
+    private final Map<Long, Position> positions = new ConcurrentHashMap<>();
+
+    @Override
+    public ReservationDTO insert(ReservationDTO reservation) {
+        Long reservationId = reservationIdGenerator.getAndIncrement();
+        reservation.setId(reservationId);
+        reservation.setVersion(0);
+        reservations.put(reservationId, reservation.copy());
+        index(reservationId);
+        return reservation;
+    }
+
+    @Override
+    public Optional<ReservationDTO> findById(Long reservationId) {
+        ReservationDTO reservation = reservations.get(reservationId);
+        return Optional.ofNullable(reservation != null ? reservation.copy() : null);
+    }
+
+    @Override
+    public ReservationDTO save(ReservationDTO reservation) {
+        Long reservationId = reservation.getId();
+        ReservationDTO stored = reservations.get(reservationId);
+        if (stored == null) {
+            throw new IllegalArgumentException("Reservation not found: " + reservationId);
+        }
+        ReservationDTO saved = reservation.copy();
+        saved.setVersion(reservation.getVersion() + 1);
+        // Stored instances are compared by identity, so this is a compare-and-set on the entry
+        if (stored.getVersion() != reservation.getVersion() || !reservations.replace(reservationId, stored, saved)) {
+            throw new OptimisticLockingFailureException(
+                    "Reservation " + reservationId + " changed since version " + reservation.getVersion());
+        }
+        reservation.setVersion(saved.getVersion());
+        index(reservationId);
+        return reservation;
+    }
+
+    @Override
+    public List<ReservationDTO> findPage(ReservationQuery query) {
+        NavigableMap<Position, ReservationDTO> range = byRestaurant.get(query.restaurantId());
+        if (range == null) {
+            return List.of();
+        }
+        if (query.from() != null) {
+            range = range.tailMap(new Position(query.from(), LocalTime.MIN, Long.MIN_VALUE), true);
+        }
+        if (query.to() != null) {
+            range = range.headMap(new Position(query.to(), LocalTime.MAX, Long.MAX_VALUE), true);
+        }
+        if (query.descending()) {
+            range = range.descendingMap();
+        }
+        if (query.after() != null) {
+            range = range.tailMap(query.after(), false);
+        }
+
+        List<ReservationDTO> page = new ArrayList<>(Math.min(query.limit(), 256));
+        for (ReservationDTO reservation : range.values()) {
+            if (query.matches(reservation)) {
+                page.add(reservation);
+                if (page.size() == query.limit()) {
+                    break;
+                }
+            }
+        }
+        return page;
+    }
+
+    @Override
+    public List<ReservationDTO> findAll() {
+        return List.copyOf(reservations.values());
+    }
+
+    @Override
+    public List<ReservationDTO> findByRestaurant(Long restaurantId) {
+        return reservations.values().stream()
+                .filter(r -> restaurantId.equals(r.getRestaurantId()))
+                .toList();
+    }
+
+    @Override
+    public List<ReservationDTO> findByRestaurantAndDate(Long restaurantId, LocalDate date) {
+        return reservations.values().stream()
+                .filter(r -> restaurantId.equals(r.getRestaurantId()))
+                .filter(r -> date.equals(r.getReservationDate()))
+                .toList();
+    }
+
+    @Override
+    public List<ReservationDTO> findByCustomerEmail(String email) {
+        return reservations.values().stream()
+                .filter(r -> email.equals(r.getCustomerEmail()))
+                .toList();
+    }
+
+    // Indexes whatever is stored when the entry's turn comes, so two saves that get here in the
+    // opposite order to their writes still leave the latest version in the index
+    private void index(Long reservationId) {
+        positions.compute(reservationId, (id, previous) -> {
+            ReservationDTO reservation = reservations.get(id);
+            Position position = Position.of(reservation);
+            NavigableMap<Position, ReservationDTO> index =
+                    byRestaurant.computeIfAbsent(reservation.getRestaurantId(), restaurantId -> new ConcurrentSkipListMap<>());
+            if (previous != null && !previous.equals(position)) {
+                index.remove(previous);
+            }
+            index.put(position, reservation);
+            return position;
+        });
+    }
+}
@@ -0,0 +1,62 @@
+package com.easyserve.repository;
+
+import com.easyserve.service.UserService.UserProfile;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Repository
+@ConditionalOnProperty(name = "app.storage.backend", havingValue = "memory", matchIfMissing = true)
+public class InMemoryUserStore implements UserStore {
+
+    private final Map<UUID, UserProfile> users = new ConcurrentHashMap<>();
+    private final Map<String, UUID> emailToUserId = new ConcurrentHashMap<>();
+
+    @Override
+    public UserProfile insert(UserProfile user) {
+        // Claim the email first so two registrations for it cannot both succeed
+        if (emailToUserId.putIfAbsent(user.getEmail(), user.getId()) != null) {
+            throw new IllegalArgumentException("User already exists with this email");
+        }
+        users.put(user.getId(), user);
+        return user;
+    }
+
+    @Override
+    public Optional<UserProfile> findById(UUID userId) {
+        return Optional.ofNullable(users.get(userId));
+    }
+
+    @Override
+    public Optional<UserProfile> findByEmail(String email) {
+        UUID userId = emailToUserId.get(email);
+        return userId == null ? Optional.empty() : Optional.ofNullable(users.get(userId));
+    }
+
+    @Override
+    public boolean existsByEmail(String email) {
+        return emailToUserId.containsKey(email);
+    }
+
+    @Override
+    public UserProfile save(UserProfile user) {
+        // Callers mutate the stored instance, so there is nothing to copy back
+        users.put(user.getId(), user);
+        return user;
+    }
+
+    @Override
+    public List<UserProfile> findAll() {
+        return List.copyOf(users.values());
+    }
+
+    @Override
+    public long count() {
+        return users.size();
+    }
+}
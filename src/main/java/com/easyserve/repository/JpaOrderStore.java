@@ -0,0 +1,391 @@
+package com.easyserve.repository;
+
+import com.easyserve.dto.OrderDTO;
+import com.easyserve.dto.OrderDTO.OrderItemDTO;
+import com.easyserve.model.Customer;
+import com.easyserve.model.Order;
+import com.easyserve.model.OrderLine;
+import com.easyserve.model.OrderStatus;
+import com.easyserve.model.Restaurant;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+@Repository
+@ConditionalOnProperty(name = "app.storage.backend", havingValue = "jpa")
+public class JpaOrderStore implements OrderStore {
+
+    // Open bounds for range queries that leave one side unspecified
+    private static final LocalDateTime EARLIEST = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final LocalDateTime LATEST = LocalDateTime.of(9999, 12, 31, 23, 59);
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int batchSize;
+
+    @Value("${app.orders.export.fetch-size:500}")
+    private int exportFetchSize;
+
+    @Override
+    @Transactional
+    public OrderDTO insert(OrderDTO dto) {
+        Order order = toEntity(dto);
+        entityManager.persist(order);
+        dto.setId(order.getId());
+        dto.setVersion(0);
+        return dto;
+    }
+
+    @Override
+    @Transactional
+    public List<OrderDTO> insertAll(List<OrderDTO> dtos) {
+        for (int i = 0; i < dtos.size(); i++) {
+            OrderDTO dto = dtos.get(i);
+            Order order = toEntity(dto);
+            entityManager.persist(order);
+            dto.setId(order.getId());
+            dto.setVersion(0);
+
+            // Flush each full JDBC batch and keep the persistence context small
+            if ((i + 1) % batchSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        return dtos;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<OrderDTO> findById(Long orderId) {
+        return orderRepository.findById(orderId).map(this::toDto);
+    }
+
+    @Override
+    @Transactional
+    public Optional<OrderDTO> update(Long orderId, Consumer<OrderDTO> mutation) {
+        return orderRepository.findById(orderId).map(order -> {
+            OrderDTO dto = toDto(order);
+            mutation.accept(dto);
+
+            // Dirty checking writes only what changed. The version column makes that write fail
+            // if another update of the order committed first.
+            long version = order.getVersion();
+            copyMutableFields(dto, order);
+            entityManager.flush();
+            if (order.getVersion() == version) {
+                // Nothing changed; the version still moves on, as in the other stores
+                entityManager.lock(order, LockModeType.OPTIMISTIC_FORCE_INCREMENT);
+            }
+            dto.setVersion(version + 1);
+            return dto;
+        });
+    }
+
+    // Writes orders that already carry ids: existing rows are updated, the rest inserted. Rows
+    // end at the version the order carries, which is ahead of Hibernate's single increment when
+    // the order changed more than once since it was last written.
+    @Transactional
+    public void upsertAll(Collection<OrderDTO> dtos) {
+        Map<Long, Order> existing = new HashMap<>();
+        for (Order order : orderRepository.findAllById(dtos.stream().map(OrderDTO::getId).toList())) {
+            existing.put(order.getId(), order);
+        }
+
+        Map<Long, Order> written = new HashMap<>();
+        for (OrderDTO dto : dtos) {
+            Order order = existing.get(dto.getId());
+            if (order != null) {
+                copyMutableFields(dto, order);
+            } else {
+                order = toEntity(dto);
+                entityManager.persist(order);
+            }
+            written.put(dto.getId(), order);
+        }
+        entityManager.flush();
+
+        for (OrderDTO dto : dtos) {
+            Long version = written.get(dto.getId()).getVersion();
+            if (version != null && version < dto.getVersion()) {
+                entityManager.createQuery("UPDATE Order o SET o.version = :version WHERE o.id = :id")
+                        .setParameter("version", dto.getVersion())
+                        .setParameter("id", dto.getId())
+                        .executeUpdate();
+            }
+        }
+    }
+
+    // Throws DataIntegrityViolationException when an order's restaurant or customer does not
+    // exist, as the insert would. The write-behind store checks before acknowledging an order,
+    // because its insert runs long after.
+    @Transactional(readOnly = true)
+    public void checkReferences(Collection<OrderDTO> dtos) {
+        Set<Long> restaurantIds = new HashSet<>();
+        Set<Long> customerIds = new HashSet<>();
+        for (OrderDTO dto : dtos) {
+            if (dto.getRestaurantId() == null || dto.getCustomerId() == null) {
+                throw new DataIntegrityViolationException("Order needs a restaurant and a customer");
+            }
+            restaurantIds.add(dto.getRestaurantId());
+            customerIds.add(dto.getCustomerId());
+        }
+        restaurantIds.removeAll(entityManager.createQuery("SELECT r.id FROM Restaurant r WHERE r.id IN :ids", Long.class)
+                .setParameter("ids", restaurantIds).getResultList());
+        if (!restaurantIds.isEmpty()) {
+            throw new DataIntegrityViolationException("Restaurant not found: " + restaurantIds.iterator().next());
+        }
+        customerIds.removeAll(entityManager.createQuery("SELECT c.id FROM Customer c WHERE c.id IN :ids", Long.class)
+                .setParameter("ids", customerIds).getResultList());
+        if (!customerIds.isEmpty()) {
+            throw new DataIntegrityViolationException("Customer not found: " + customerIds.iterator().next());
+        }
+    }
+
+    // Ids from orders_seq for orders the write-behind store acknowledges before writing them,
+    // so they never collide with ids handed out here, now or after write-behind is turned off
+    @Transactional
+    public List<Long> nextIds(int count) {
+        SharedSessionContractImplementor session = entityManager.unwrap(SharedSessionContractImplementor.class);
+        BeforeExecutionGenerator generator = (BeforeExecutionGenerator) session.getFactory().getMappingMetamodel()
+                .getEntityDescriptor(Order.class).getGenerator();
+        List<Long> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ids.add((Long) generator.generate(session, new Order(), null, EventType.INSERT));
+        }
+        return ids;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<OrderDTO> findAll() {
+        return orderRepository.findAll().stream().map(this::toDto).toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<OrderDTO> findByRestaurant(Long restaurantId) {
+        return orderRepository.findByRestaurantIdOrderByIdAsc(restaurantId).stream().map(this::toDto).toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<OrderDTO> findByRestaurantAndStatus(Long restaurantId, OrderStatus status) {
+        return orderRepository.findByRestaurantIdAndStatus(restaurantId, status).stream().map(this::toDto).toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<OrderDTO> findByRestaurantAndStatusIn(Long restaurantId, Collection<OrderStatus> statuses) {
+        return orderRepository.findByRestaurantIdAndStatusIn(restaurantId, statuses).stream().map(this::toDto).toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<OrderDTO> findByCustomer(Long customerId) {
+        return orderRepository.findByCustomerIdOrderByCreatedAtDesc(customerId).stream().map(this::toDto).toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<OrderDTO> findByRestaurantAndCreatedAtBetween(Long restaurantId, LocalDateTime from, LocalDateTime to) {
+        return orderRepository.findByRestaurantIdAndCreatedAtBetween(
+                        restaurantId,
+                        from != null ? from : EARLIEST,
+                        to != null ? to : LATEST)
+                .stream().map(this::toDto).toList();
+    }
+
+    // Every order stays in the database
+    @Override
+    public List<OrderDaySummary> findCompactedDays(Long restaurantId, LocalDate from, LocalDate to) {
+        return List.of();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<OrderDTO> findPage(OrderQuery query) {
+        return select(query).setMaxResults(query.limit()).getResultList().stream().map(this::toDto).toList();
+    }
+
+    // Rows come from an open cursor exportFetchSize at a time. Each chunk is converted once its
+    // item collections can be batch loaded, then dropped from the persistence context, so
+    // memory stays flat however many orders match.
+    @Override
+    @Transactional(readOnly = true)
+    public void export(OrderQuery query, Consumer<OrderDTO> sink) {
+        List<Order> chunk = new ArrayList<>(exportFetchSize);
+        try (Stream<Order> rows = select(query)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, exportFetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream()) {
+            Iterator<Order> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == exportFetchSize || !iterator.hasNext()) {
+                    chunk.forEach(order -> sink.accept(toDto(order)));
+                    chunk.clear();
+                    entityManager.clear();
+                }
+            }
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long count() {
+        return orderRepository.count();
+    }
+
+    // Newest first; the seek on id is served by the (restaurant_id, id) and (customer_id, id) indexes
+    private TypedQuery<Order> select(OrderQuery query) {
+        StringBuilder jpql = new StringBuilder("SELECT o FROM Order o WHERE 1 = 1");
+        if (query.restaurantId() != null) {
+            jpql.append(" AND o.restaurant.id = :restaurantId");
+        }
+        if (query.status() != null) {
+            jpql.append(" AND o.status = :status");
+        }
+        if (query.type() != null) {
+            jpql.append(" AND o.orderType = :type");
+        }
+        if (query.from() != null) {
+            jpql.append(" AND o.createdAt > :from");
+        }
+        if (query.to() != null) {
+            jpql.append(" AND o.createdAt < :to");
+        }
+        if (query.customerId() != null) {
+            jpql.append(" AND o.customer.id = :customerId");
+        }
+        if (query.beforeId() != null) {
+            jpql.append(" AND o.id < :beforeId");
+        }
+        jpql.append(" ORDER BY o.id DESC");
+
+        TypedQuery<Order> select = entityManager.createQuery(jpql.toString(), Order.class);
+        if (query.restaurantId() != null) {
+            select.setParameter("restaurantId", query.restaurantId());
+        }
+        if (query.status() != null) {
+            select.setParameter("status", query.status());
+        }
+        if (query.type() != null) {
+            select.setParameter("type", query.type());
+        }
+        if (query.from() != null) {
+            select.setParameter("from", query.from());
+        }
+        if (query.to() != null) {
+            select.setParameter("to", query.to());
+        }
+        if (query.customerId() != null) {
+            select.setParameter("customerId", query.customerId());
+        }
+        if (query.beforeId() != null) {
+            select.setParameter("beforeId", query.beforeId());
+        }
+        return select;
+    }
+
+    private void copyMutableFields(OrderDTO dto, Order order) {
+        order.setStatus(dto.getStatus());
+        order.setEstimatedTime(dto.getEstimatedTime());
+        order.setSpecialInstructions(dto.getSpecialInstructions());
+        order.setDeliveryAddress(dto.getDeliveryAddress());
+    }
+
+    private Order toEntity(OrderDTO dto) {
+        Order order = new Order();
+        order.setId(dto.getId());
+        order.setRestaurant(entityManager.getReference(Restaurant.class, dto.getRestaurantId()));
+        order.setCustomer(entityManager.getReference(Customer.class, dto.getCustomerId()));
+        order.setCustomerName(dto.getCustomerName());
+        order.setCustomerEmail(dto.getCustomerEmail());
+        order.setCustomerPhone(dto.getCustomerPhone());
+        order.setOrderType(dto.getOrderType());
+        order.setStatus(dto.getStatus());
+        order.setSubtotal(dto.getSubtotal());
+        order.setTax(dto.getTax());
+        order.setTotal(dto.getTotal());
+        order.setEstimatedTime(dto.getEstimatedTime());
+        order.setSpecialInstructions(dto.getSpecialInstructions());
+        order.setDeliveryAddress(dto.getDeliveryAddress());
+
+        List<OrderLine> lines = new ArrayList<>();
+        if (dto.getItems() != null) {
+            for (OrderItemDTO item : dto.getItems()) {
+                lines.add(new OrderLine(item.getMenuItemId(), item.getItemName(),
+                        item.getQuantity() != null ? item.getQuantity() : 0,
+                        item.getUnitPrice(), item.getTotalPrice(), item.getSpecialRequests()));
+            }
+        }
+        order.setItems(lines);
+        return order;
+    }
+
+    private OrderDTO toDto(Order order) {
+        OrderDTO dto = new OrderDTO();
+        dto.setId(order.getId());
+        dto.setRestaurantId(order.getRestaurant().getId());
+        dto.setCustomerId(order.getCustomer().getId());
+        dto.setCustomerName(order.getCustomerName());
+        dto.setCustomerEmail(order.getCustomerEmail());
+        dto.setCustomerPhone(order.getCustomerPhone());
+        dto.setOrderType(order.getOrderType());
+        dto.setStatus(order.getStatus());
+        dto.setSubtotal(order.getSubtotal());
+        dto.setTax(order.getTax());
+        dto.setTotal(order.getTotal());
+        dto.setEstimatedTime(order.getEstimatedTime());
+        dto.setSpecialInstructions(order.getSpecialInstructions());
+        dto.setDeliveryAddress(order.getDeliveryAddress());
+        dto.setCreatedAt(order.getCreatedAt());
+        dto.setUpdatedAt(order.getUpdatedAt());
+        dto.setVersion(order.getVersion() != null ? order.getVersion() : 0);
+
+        List<OrderItemDTO> items = new ArrayList<>();
+        for (OrderLine line : order.getItems()) {
+            OrderItemDTO item = new OrderItemDTO();
+            item.setMenuItemId(line.getMenuItemId());
+            item.setItemName(line.getItemName());
+            item.setQuantity(line.getQuantity());
+            item.setUnitPrice(line.getUnitPrice());
+            item.setTotalPrice(line.getTotalPrice());
+            item.setSpecialRequests(line.getSpecialRequests());
+            items.add(item);
+        }
+        dto.setItems(items);
+        return dto;
+    }
+}
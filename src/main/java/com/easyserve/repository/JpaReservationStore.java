@@ -0,0 +1,189 @@
+package com.easyserve.repository;
+
+import com.easyserve.dto.ReservationDTO;
+import com.easyserve.model.Reservation;
+import com.easyserve.model.ReservationSource;
+import com.easyserve.model.ReservationStatus;
+import com.easyserve.model.Restaurant;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+@ConditionalOnProperty(name = "app.storage.backend", havingValue = "jpa")
+public class JpaReservationStore implements ReservationStore {
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional
+    public ReservationDTO insert(ReservationDTO dto) {
+        Reservation reservation = new Reservation();
+        reservation.setRestaurant(entityManager.getReference(Restaurant.class, dto.getRestaurantId()));
+        reservation.setCustomerFirstName(dto.getCustomerFirstName());
+        reservation.setCustomerLastName(dto.getCustomerLastName());
+        reservation.setCustomerEmail(dto.getCustomerEmail());
+        reservation.setCustomerPhone(dto.getCustomerPhone());
+        reservation.setSource(dto.getSource() != null ? ReservationSource.valueOf(dto.getSource()) : ReservationSource.ONLINE);
+        copyMutableFields(dto, reservation);
+
+        entityManager.persist(reservation);
+        dto.setId(reservation.getId());
+        dto.setVersion(0);
+        return dto;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<ReservationDTO> findById(Long reservationId) {
+        return reservationRepository.findById(reservationId).map(this::toDto);
+    }
+
+    @Override
+    @Transactional
+    public ReservationDTO save(ReservationDTO dto) {
+        Reservation reservation = reservationRepository.findById(dto.getId())
+                .orElseThrow(() -> new IllegalArgumentException("Reservation not found: " + dto.getId()));
+        // Checked here for a cheap failure; the version column catches a save racing this one
+        if (versionOf(reservation) != dto.getVersion()) {
+            throw new OptimisticLockingFailureException(
+                    "Reservation " + dto.getId() + " changed since version " + dto.getVersion());
+        }
+        long version = versionOf(reservation);
+        copyMutableFields(dto, reservation);
+        entityManager.flush();
+        if (versionOf(reservation) == version) {
+            // Nothing changed; the version still moves on, when the transaction commits
+            entityManager.lock(reservation, LockModeType.OPTIMISTIC_FORCE_INCREMENT);
+        }
+        dto.setVersion(version + 1);
+        return dto;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ReservationDTO> findAll() {
+        return reservationRepository.findAll().stream().map(this::toDto).toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ReservationDTO> findByRestaurant(Long restaurantId) {
+        return reservationRepository.findByRestaurantId(restaurantId).stream().map(this::toDto).toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ReservationDTO> findByRestaurantAndDate(Long restaurantId, LocalDate date) {
+        return reservationRepository.findByRestaurantIdAndReservationDate(restaurantId, date)
+                .stream().map(this::toDto).toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ReservationDTO> findByCustomerEmail(String email) {
+        return reservationRepository.findByCustomerEmailOrderByCreatedAtDesc(email)
+                .stream().map(this::toDto).toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ReservationDTO> findPage(ReservationQuery query) {
+        String cmp = query.descending() ? "<" : ">";
+        String dir = query.descending() ? " DESC" : " ASC";
+        StringBuilder jpql = new StringBuilder("SELECT r FROM Reservation r WHERE r.restaurant.id = :restaurantId");
+        if (query.from() != null) {
+            jpql.append(" AND r.reservationDate >= :from");
+        }
+        if (query.to() != null) {
+            jpql.append(" AND r.reservationDate <= :to");
+        }
+        if (query.status() != null) {
+            jpql.append(" AND r.status = :status");
+        }
+        if (query.customerEmail() != null) {
+            jpql.append(" AND r.customerEmail = :customerEmail");
+        }
+        // Seek past the previous page; served by idx_reservation_restaurant_date_time
+        if (query.after() != null) {
+            jpql.append(" AND (r.reservationDate ").append(cmp).append(" :afterDate")
+                .append(" OR (r.reservationDate = :afterDate AND (r.reservationTime ").append(cmp).append(" :afterTime")
+                .append(" OR (r.reservationTime = :afterTime AND r.id ").append(cmp).append(" :afterId))))");
+        }
+        jpql.append(" ORDER BY r.reservationDate").append(dir)
+            .append(", r.reservationTime").append(dir)
+            .append(", r.id").append(dir);
+
+        TypedQuery<Reservation> page = entityManager.createQuery(jpql.toString(), Reservation.class)
+                .setParameter("restaurantId", query.restaurantId())
+                .setMaxResults(query.limit());
+        if (query.from() != null) {
+            page.setParameter("from", query.from());
+        }
+        if (query.to() != null) {
+            page.setParameter("to", query.to());
+        }
+        if (query.status() != null) {
+            page.setParameter("status", ReservationStatus.valueOf(query.status()));
+        }
+        if (query.customerEmail() != null) {
+            page.setParameter("customerEmail", query.customerEmail());
+        }
+        if (query.after() != null) {
+            page.setParameter("afterDate", query.after().date())
+                .setParameter("afterTime", query.after().time())
+                .setParameter("afterId", query.after().id());
+        }
+        return page.getResultList().stream().map(this::toDto).toList();
+    }
+
+    // Fields ReservationService may change after creation
+    private void copyMutableFields(ReservationDTO dto, Reservation reservation) {
+        reservation.setReservationDate(dto.getReservationDate());
+        reservation.setReservationTime(dto.getReservationTime());
+        reservation.setPartySize(dto.getPartySize() != null ? dto.getPartySize() : 1);
+        reservation.setSpecialRequests(dto.getSpecialRequests());
+        reservation.setStatus(dto.getStatus() != null ? ReservationStatus.valueOf(dto.getStatus()) : ReservationStatus.CONFIRMED);
+        reservation.setTableNumber(dto.getTableNumber());
+    }
+
+    private ReservationDTO toDto(Reservation reservation) {
+        ReservationDTO dto = new ReservationDTO();
+        dto.setId(reservation.getId());
+        dto.setRestaurantId(reservation.getRestaurant().getId());
+        dto.setCustomerFirstName(reservation.getCustomerFirstName());
+        dto.setCustomerLastName(reservation.getCustomerLastName());
+        dto.setCustomerEmail(reservation.getCustomerEmail());
+        dto.setCustomerPhone(reservation.getCustomerPhone());
+        dto.setReservationDate(reservation.getReservationDate());
+        dto.setReservationTime(reservation.getReservationTime());
+        dto.setPartySize(reservation.getPartySize());
+        dto.setSpecialRequests(reservation.getSpecialRequests());
+        dto.setStatus(reservation.getStatus().name());
+        dto.setSource(reservation.getSource().name());
+        dto.setTableNumber(reservation.getTableNumber());
+        dto.setCreatedAt(reservation.getCreatedAt());
+        dto.setUpdatedAt(reservation.getUpdatedAt());
+        dto.setVersion(versionOf(reservation));
+        return dto;
+    }
+
+    // Rows written before the version column existed count as version 0
+    private static long versionOf(Reservation reservation) {
+        return reservation.getVersion() != null ? reservation.getVersion() : 0;
+    }
+}
@@ -0,0 +1,93 @@
+package com.easyserve.repository;
+
+import com.easyserve.model.User;
+import com.easyserve.service.UserService.UserProfile;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+@ConditionalOnProperty(name = "app.storage.backend", havingValue = "jpa")
+public class JpaUserStore implements UserStore {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Override
+    @Transactional
+    public UserProfile insert(UserProfile profile) {
+        if (userRepository.existsByEmail(profile.getEmail())) {
+            throw new IllegalArgumentException("User already exists with this email");
+        }
+
+        User user = new User();
+        user.setPublicId(profile.getId());
+        user.setEmail(profile.getEmail());
+        copyMutableFields(profile, user);
+        userRepository.save(user);
+        return profile;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<UserProfile> findById(UUID userId) {
+        return userRepository.findByPublicId(userId).map(this::toProfile);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<UserProfile> findByEmail(String email) {
+        return userRepository.findByEmail(email).map(this::toProfile);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public boolean existsByEmail(String email) {
+        return userRepository.existsByEmail(email);
+    }
+
+    @Override
+    @Transactional
+    public UserProfile save(UserProfile profile) {
+        User user = userRepository.findByPublicId(profile.getId())
+                .orElseThrow(() -> new IllegalArgumentException("User not found"));
+        copyMutableFields(profile, user);
+        return profile;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<UserProfile> findAll() {
+        return userRepository.findAll().stream().map(this::toProfile).toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long count() {
+        return userRepository.count();
+    }
+
+    private void copyMutableFields(UserProfile profile, User user) {
+        user.setPassword(profile.getPassword());
+        user.setFirstName(profile.getFirstName());
+        user.setLastName(profile.getLastName());
+        user.setRole(User.Role.valueOf(profile.getRole()));
+        user.setTenantId(profile.getRestaurantId());
+        user.setActive(profile.isActive());
+        user.setLastLogin(profile.getLastLogin());
+    }
+
+    private UserProfile toProfile(User user) {
+        UserProfile profile = new UserProfile(user.getPublicId(), user.getEmail(), user.getPassword(),
+                user.getFirstName(), user.getLastName(), user.getRole().name(), user.getTenantId());
+        profile.setActive(user.isActive());
+        profile.setLastLogin(user.getLastLogin());
+        profile.setCreatedAt(user.getCreatedAt());
+        return profile;
+    }
+}
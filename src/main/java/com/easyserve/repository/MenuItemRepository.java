@@ -15,6 +15,10 @@ public interface MenuItemRepository extends JpaRepository<MenuItem, Long>{
     List<MenuItem> findByCategory(String category);
     
     List<MenuItem> findByAvailableTrue();
+
+    List<MenuItem> findByRestaurantIdAndAvailableTrue(Long restaurantId);
+
+    List<MenuItem> findByRestaurantId(Long restaurantId);
     
     List<MenuItem> findByAvailableFalse();
     
@@ -0,0 +1,40 @@
+package com.easyserve.repository;
+
+import com.easyserve.dto.OrderDTO;
+import com.easyserve.model.OrderStatus;
+
+import java.time.LocalDate;
+
+// What is left of a restaurant's day of orders once the orders themselves were evicted: counts
+// by status (as of eviction) and the revenue of the completed ones
+public record OrderDaySummary(Long restaurantId, LocalDate date, long[] countsByStatus, long orders,
+                              long completedRevenueCents) {
+
+    private static final int STATUSES = OrderStatus.values().length;
+
+    public static OrderDaySummary empty(Long restaurantId, LocalDate date) {
+        return new OrderDaySummary(restaurantId, date, new long[STATUSES], 0, 0);
+    }
+
+    public long count(OrderStatus status) {
+        return countsByStatus[status.ordinal()];
+    }
+
+    public OrderDaySummary plus(OrderDTO order) {
+        long[] counts = countsByStatus.clone();
+        counts[order.getStatus().ordinal()]++;
+        long revenue = order.getStatus() == OrderStatus.COMPLETED
+                ? Math.addExact(completedRevenueCents, order.getTotalCents())
+                : completedRevenueCents;
+        return new OrderDaySummary(restaurantId, date, counts, orders + 1, revenue);
+    }
+
+    public OrderDaySummary plus(OrderDaySummary other) {
+        long[] counts = countsByStatus.clone();
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] += other.countsByStatus[i];
+        }
+        return new OrderDaySummary(restaurantId, date, counts, orders + other.orders,
+                Math.addExact(completedRevenueCents, other.completedRevenueCents));
+    }
+}
@@ -0,0 +1,221 @@
+package com.easyserve.repository;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.zip.CRC32;
+
+// Append-only journal of order snapshots. Each record is [length][crc32][payload];
+// one writer thread batches whatever is queued into a single write + fsync (group commit).
+final class OrderJournal implements Closeable {
+
+    private static final int HEADER_BYTES = 8;
+    private static final int MAX_GROUP = 512;
+    private static final Append SHUTDOWN = new Append(new byte[0]);
+
+    private final FileChannel channel;
+    private final BlockingQueue<Append> queue = new LinkedBlockingQueue<>();
+    private final Thread writer;
+
+    // Guards enqueueing against close, so nothing is queued behind the shutdown marker
+    private final Object appendLock = new Object();
+    private boolean closed;
+
+    // Set when the file position is unknown after a failed write; every later append fails with it
+    private volatile IOException failure;
+
+    private OrderJournal(FileChannel channel) {
+        this.channel = channel;
+        this.writer = new Thread(this::writeLoop, "order-journal-writer");
+        this.writer.setDaemon(true);
+    }
+
+    static OrderJournal open(Path path) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        OrderJournal journal = new OrderJournal(channel);
+        journal.writer.start();
+        return journal;
+    }
+
+    // Intact records from the start of the file; a torn or corrupt tail is cut off
+    synchronized List<byte[]> readAll() throws IOException {
+        List<byte[]> records = new ArrayList<>();
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        CRC32 crc = new CRC32();
+        long position = 0;
+        long size = channel.size();
+
+        while (position + HEADER_BYTES <= size) {
+            header.clear();
+            readFully(header, position);
+            header.flip();
+            int length = header.getInt();
+            int checksum = header.getInt();
+            if (length < 0 || position + HEADER_BYTES + length > size) {
+                break;
+            }
+
+            ByteBuffer payload = ByteBuffer.allocate(length);
+            readFully(payload, position + HEADER_BYTES);
+            crc.reset();
+            crc.update(payload.array());
+            if ((int) crc.getValue() != checksum) {
+                break;
+            }
+            records.add(payload.array());
+            position += HEADER_BYTES + length;
+        }
+
+        if (position < size) {
+            channel.truncate(position);
+            channel.force(true);
+        }
+        channel.position(position);
+        return records;
+    }
+
+    // Completes once the record is on disk; fails at once if the journal is closed or failed
+    CompletableFuture<Void> append(byte[] payload) {
+        synchronized (appendLock) {
+            if (closed) {
+                return CompletableFuture.failedFuture(new IOException("Order journal is closed"));
+            }
+            if (failure != null) {
+                return CompletableFuture.failedFuture(failure);
+            }
+            Append append = new Append(payload);
+            queue.add(append);
+            return append.done;
+        }
+    }
+
+    // Drops every record; callers guarantee nothing is being appended
+    synchronized void reset() throws IOException {
+        channel.truncate(0);
+        channel.position(0);
+        channel.force(true);
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (appendLock) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            queue.add(SHUTDOWN);
+        }
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        channel.close();
+    }
+
+    private void writeLoop() {
+        List<Append> group = new ArrayList<>();
+        while (true) {
+            try {
+                group.add(queue.take());
+            } catch (InterruptedException e) {
+                return;
+            }
+            queue.drainTo(group, MAX_GROUP - 1);
+
+            boolean shutdown = group.remove(SHUTDOWN);
+            if (failure != null) {
+                group.forEach(append -> append.done.completeExceptionally(failure));
+            } else if (!group.isEmpty()) {
+                writeGroup(group);
+            }
+            group.clear();
+            if (shutdown) {
+                return;
+            }
+        }
+    }
+
+    private void writeGroup(List<Append> group) {
+        int bytes = 0;
+        for (Append append : group) {
+            bytes += HEADER_BYTES + append.payload.length;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(bytes);
+        CRC32 crc = new CRC32();
+        for (Append append : group) {
+            crc.reset();
+            crc.update(append.payload);
+            buffer.putInt(append.payload.length).putInt((int) crc.getValue()).put(append.payload);
+        }
+        buffer.flip();
+
+        synchronized (this) {
+            long start;
+            try {
+                start = channel.position();
+            } catch (IOException e) {
+                failure = e;
+                group.forEach(append -> append.done.completeExceptionally(e));
+                return;
+            }
+            try {
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                // One fsync covers every record in the group
+                channel.force(false);
+            } catch (IOException e) {
+                rollBack(start, e);
+                group.forEach(append -> append.done.completeExceptionally(e));
+                return;
+            }
+        }
+        group.forEach(append -> append.done.complete(null));
+    }
+
+    // Cuts a partly written group off again, so later groups are not appended behind a torn
+    // record that a restart would stop at. If even that fails, the journal takes no more appends.
+    private void rollBack(long start, IOException cause) {
+        try {
+            channel.truncate(start);
+            channel.position(start);
+            channel.force(false);
+        } catch (IOException e) {
+            cause.addSuppressed(e);
+            failure = cause;
+        }
+    }
+
+    private void readFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + buffer.position());
+            if (read < 0) {
+                throw new IOException("Unexpected end of order journal");
+            }
+        }
+    }
+
+    private static final class Append {
+
+        private final byte[] payload;
+        private final CompletableFuture<Void> done = new CompletableFuture<>();
+
+        private Append(byte[] payload) {
+            this.payload = payload;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.easyserve.repository;
+
+import com.easyserve.dto.OrderDTO;
+import com.easyserve.model.OrderStatus;
+import com.easyserve.model.OrderType;
+
+import java.time.LocalDateTime;
+
+// Filters of an order listing, newest first. Order ids are handed out in creation order, so
+// newest first is descending id and the id of the last row shown is the whole cursor:
+// stores return orders with ids below beforeId (null for the first page). from and to are
+// exclusive bounds on createdAt.
+public record OrderQuery(Long restaurantId, OrderStatus status, OrderType type, LocalDateTime from,
+                         LocalDateTime to, Long customerId, Long beforeId, int limit) {
+
+    public OrderQuery {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Invalid page size: " + limit);
+        }
+    }
+
+    public boolean matches(OrderDTO order) {
+        return (beforeId == null || order.getId() < beforeId)
+                && (restaurantId == null || restaurantId.equals(order.getRestaurantId()))
+                && (status == null || status == order.getStatus())
+                && (type == null || type == order.getOrderType())
+                && (from == null || (order.getCreatedAt() != null && order.getCreatedAt().isAfter(from)))
+                && (to == null || (order.getCreatedAt() != null && order.getCreatedAt().isBefore(to)))
+                && (customerId == null || customerId.equals(order.getCustomerId()));
+    }
+
+    public OrderQuery after(Long orderId) {
+        return new OrderQuery(restaurantId, status, type, from, to, customerId, orderId, limit);
+    }
+}
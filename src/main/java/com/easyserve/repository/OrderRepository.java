@@ -2,21 +2,25 @@
 package com.easyserve.repository;
 
 import com.easyserve.model.Order;
-import com.easyserve.model.Order.OrderType;
-import com.easyserve.model.Order.Status;
+import com.easyserve.model.OrderStatus;
+import com.easyserve.model.OrderType;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 
 @Repository
 public interface OrderRepository extends JpaRepository<Order, Long> {
 
-    List<Order> findByRestaurantIdAndStatus(Long restaurantId, Status status);
+    List<Order> findByRestaurantIdOrderByIdAsc(Long restaurantId);
+
+    List<Order> findByRestaurantIdAndStatus(Long restaurantId, OrderStatus status);
+
+    List<Order> findByRestaurantIdAndStatusIn(Long restaurantId, Collection<OrderStatus> statuses);
 
     List<Order> findByRestaurantIdAndCreatedAtBetween(Long restaurantId,
                                                        LocalDateTime start,
@@ -27,24 +31,12 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
     List<Order> findByRestaurantIdAndOrderType(Long restaurantId, OrderType orderType);
 
     long countByRestaurantIdAndStatusAndCreatedAtBetween(Long restaurantId,
-                                                          Status status,
+                                                          OrderStatus status,
                                                           LocalDateTime start,
                                                           LocalDateTime end);
 
-    @Query("SELECT SUM(o.total) FROM Order o WHERE o.restaurant.id = :restaurantId " +
-           "AND o.createdAt BETWEEN :start AND :end")
-    BigDecimal calculateTotalSales(@Param("restaurantId") Long restaurantId,
-                                    @Param("start") LocalDateTime start,
-                                    @Param("end") LocalDateTime end);
-
-    @Query("SELECT AVG(o.total) FROM Order o WHERE o.restaurant.id = :restaurantId " +
-           "AND o.createdAt BETWEEN :start AND :end")
-    BigDecimal calculateAverageOrderValue(@Param("restaurantId") Long restaurantId,
-                                          @Param("start") LocalDateTime start,
-                                          @Param("end") LocalDateTime end);
-
     @Query("SELECT o FROM Order o WHERE o.restaurant.id = :restaurantId " +
-           "AND o.status IN ('NEW', 'CONFIRMED', 'PREPARING') " +
+           "AND o.status IN ('PENDING', 'CONFIRMED', 'PREPARING') " +
            "ORDER BY o.estimatedTime ASC")
     List<Order> findActiveKitchenOrders(@Param("restaurantId") Long restaurantId);
 
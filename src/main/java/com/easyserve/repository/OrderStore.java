@@ -0,0 +1,61 @@
+package com.easyserve.repository;
+
+import com.easyserve.dto.OrderDTO;
+import com.easyserve.model.OrderStatus;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+// Storage backend for OrderService, selected with app.storage.backend (memory or jpa)
+public interface OrderStore {
+
+    // Assigns the order id; the order starts at version 0
+    OrderDTO insert(OrderDTO order);
+
+    // Inserts a burst of orders in as few round trips as the backend allows
+    List<OrderDTO> insertAll(List<OrderDTO> orders);
+
+    Optional<OrderDTO> findById(Long orderId);
+
+    // Applies the mutation to a copy of the stored order and stores the copy under the next
+    // version, atomically with respect to other updates of that order. The mutation may run more
+    // than once, on a fresh copy each time, and throws to abort the update. Orders handed out by
+    // a store are snapshots that callers must not modify.
+    Optional<OrderDTO> update(Long orderId, Consumer<OrderDTO> mutation);
+
+    List<OrderDTO> findAll();
+
+    List<OrderDTO> findByRestaurant(Long restaurantId);
+
+    List<OrderDTO> findByRestaurantAndStatus(Long restaurantId, OrderStatus status);
+
+    List<OrderDTO> findByRestaurantAndStatusIn(Long restaurantId, Collection<OrderStatus> statuses);
+
+    List<OrderDTO> findByCustomer(Long customerId);
+
+    // May return orders slightly outside [from, to]; callers apply exact bounds
+    List<OrderDTO> findByRestaurantAndCreatedAtBetween(Long restaurantId, LocalDateTime from, LocalDateTime to);
+
+    // Days a store has dropped from live storage, as per-day summaries, for dates in [from, to].
+    // Stores that keep every order return none.
+    List<OrderDaySummary> findCompactedDays(Long restaurantId, LocalDate from, LocalDate to);
+
+    // Folds days past retention into summaries and drops their orders; returns how many were
+    // dropped. Declared here so the scheduler can reach it through the repository proxy.
+    default int compact() {
+        return 0;
+    }
+
+    // At most query.limit() matching orders, newest first
+    List<OrderDTO> findPage(OrderQuery query);
+
+    // Every matching order, newest first, handed to the sink one at a time as the store reads
+    // them; query.limit() is ignored. For exports that must not hold the result in memory.
+    void export(OrderQuery query, Consumer<OrderDTO> sink);
+
+    long count();
+}
@@ -0,0 +1,50 @@
+package com.easyserve.repository;
+
+import com.easyserve.dto.ReservationDTO;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Comparator;
+
+// One page of a reservation listing: the filters, the sort direction on
+// (reservationDate, reservationTime, id) and the last row of the previous page (null for the
+// first page). Stores return at most limit rows strictly after that position.
+public record ReservationQuery(Long restaurantId, LocalDate from, LocalDate to, String status,
+                               String customerEmail, boolean descending, Position after, int limit) {
+
+    public ReservationQuery {
+        if (restaurantId == null) {
+            throw new IllegalArgumentException("restaurantId is required");
+        }
+        if (limit < 1) {
+            throw new IllegalArgumentException("Invalid page size: " + limit);
+        }
+    }
+
+    public boolean matches(ReservationDTO reservation) {
+        return restaurantId.equals(reservation.getRestaurantId())
+                && (from == null || !reservation.getReservationDate().isBefore(from))
+                && (to == null || !reservation.getReservationDate().isAfter(to))
+                && (status == null || status.equals(reservation.getStatus()))
+                && (customerEmail == null || customerEmail.equals(reservation.getCustomerEmail()));
+    }
+
+    // Sort key of a reservation; the id makes it unique, so a page boundary is never ambiguous
+    public record Position(LocalDate date, LocalTime time, long id) implements Comparable<Position> {
+
+        static final Comparator<Position> ORDER = Comparator.comparing(Position::date)
+                .thenComparing(Position::time)
+                .thenComparingLong(Position::id);
+
+        public static Position of(ReservationDTO reservation) {
+            return new Position(reservation.getReservationDate(),
+                    reservation.getReservationTime() != null ? reservation.getReservationTime() : LocalTime.MIN,
+                    reservation.getId());
+        }
+
+        @Override
+        public int compareTo(Position other) {
+            return ORDER.compare(this, other);
+        }
+    }
+}
@@ -2,11 +2,11 @@
 package com.easyserve.repository;
 
 import com.easyserve.model.Reservation;
+import com.easyserve.model.ReservationStatus;
 
 import org.springframework.data.jpa.repository.*;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
-import com.easyserve.model.Status;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -15,6 +15,10 @@ import java.util.List;
 @Repository
 public interface ReservationRepository extends JpaRepository<Reservation, Long> {
 
+    List<Reservation> findByRestaurantId(Long restaurantId);
+
+    List<Reservation> findByCustomerEmailOrderByCreatedAtDesc(String customerEmail);
+
     List<Reservation> findByRestaurantIdAndReservationDateBetween(
             Long restaurantId, LocalDate startDate, LocalDate endDate);
 
@@ -23,10 +27,10 @@ public interface ReservationRepository extends JpaRepository<Reservation, Long>
 
     List<Reservation> findByCustomerIdOrderByReservationDateDesc(Long customerId);
 
-    long countByRestaurantIdAndStatus(Long restaurantId, Status status);
+    long countByRestaurantIdAndStatus(Long restaurantId, ReservationStatus status);
 
     List<Reservation> findByRestaurantIdAndStatusAndReservationDate(
-            Long restaurantId, Status status, LocalDate date);
+            Long restaurantId, ReservationStatus status, LocalDate date);
 
     @Query("SELECT COUNT(r) FROM Reservation r WHERE r.restaurant.id = :restaurantId AND r.status = 'NO_SHOW'")
     long countNoShows(@Param("restaurantId") Long restaurantId);
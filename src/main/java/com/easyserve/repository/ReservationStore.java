@@ -0,0 +1,32 @@
+package com.easyserve.repository;
+
+import com.easyserve.dto.ReservationDTO;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+// Storage backend for ReservationService, selected with app.storage.backend (memory or jpa)
+public interface ReservationStore {
+
+    // Assigns the reservation id; the reservation starts at version 0
+    ReservationDTO insert(ReservationDTO reservation);
+
+    // A copy the caller may change and save()
+    Optional<ReservationDTO> findById(Long reservationId);
+
+    // Writes back a reservation previously read from this store and moves it to the next
+    // version. Throws OptimisticLockingFailureException if another save got in since it was read.
+    ReservationDTO save(ReservationDTO reservation);
+
+    List<ReservationDTO> findAll();
+
+    List<ReservationDTO> findByRestaurant(Long restaurantId);
+
+    List<ReservationDTO> findByRestaurantAndDate(Long restaurantId, LocalDate date);
+
+    List<ReservationDTO> findByCustomerEmail(String email);
+
+    // Keyset page: reads only the rows it returns, however far into the listing it starts
+    List<ReservationDTO> findPage(ReservationQuery query);
+}
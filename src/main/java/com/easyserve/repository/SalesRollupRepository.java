@@ -0,0 +1,55 @@
+package com.easyserve.repository;
+
+import com.easyserve.model.RollupPeriod;
+import com.easyserve.model.SalesRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Repository
+public interface SalesRollupRepository extends JpaRepository<SalesRollup, Long> {
+
+    // Buckets starting in [from, to)
+    @Query("SELECT r FROM SalesRollup r WHERE r.restaurantId = :restaurantId AND r.period = :period " +
+           "AND r.bucketStart >= :from AND r.bucketStart < :to ORDER BY r.bucketStart")
+    List<SalesRollup> findBuckets(@Param("restaurantId") Long restaurantId,
+                                  @Param("period") RollupPeriod period,
+                                  @Param("from") LocalDateTime from,
+                                  @Param("to") LocalDateTime to);
+
+    List<SalesRollup> findByRestaurantIdAndPeriodAndBucketStartIn(Long restaurantId, RollupPeriod period,
+                                                                  Collection<LocalDateTime> bucketStarts);
+
+    // Adds each delta to its stored bucket, creating the buckets not stored yet
+    @Transactional
+    default void addAll(Collection<SalesRollup> deltas) {
+        Map<BucketGroup, List<SalesRollup>> groups = deltas.stream()
+                .collect(Collectors.groupingBy(delta -> new BucketGroup(delta.getRestaurantId(), delta.getPeriod())));
+        for (Map.Entry<BucketGroup, List<SalesRollup>> group : groups.entrySet()) {
+            Map<LocalDateTime, SalesRollup> stored = new HashMap<>();
+            for (SalesRollup row : findByRestaurantIdAndPeriodAndBucketStartIn(group.getKey().restaurantId(),
+                    group.getKey().period(), group.getValue().stream().map(SalesRollup::getBucketStart).toList())) {
+                stored.put(row.getBucketStart(), row);
+            }
+            for (SalesRollup delta : group.getValue()) {
+                SalesRollup row = stored.get(delta.getBucketStart());
+                if (row != null) {
+                    row.add(delta);
+                } else {
+                    save(delta.copy());
+                }
+            }
+        }
+    }
+
+    record BucketGroup(Long restaurantId, RollupPeriod period) {}
+}
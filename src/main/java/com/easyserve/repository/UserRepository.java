@@ -9,12 +9,17 @@ import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
 
     Optional<User> findByEmail(String email);
 
+    Optional<User> findByPublicId(UUID publicId);
+
+    boolean existsByEmail(String email);
+
     Optional<User> findByEmailAndIsActiveTrue(String email);
 
     List<User> findByRestaurantIdAndIsActiveTrue(Long restaurantId);
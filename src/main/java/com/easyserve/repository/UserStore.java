@@ -0,0 +1,27 @@
+package com.easyserve.repository;
+
+import com.easyserve.service.UserService.UserProfile;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+// Storage backend for UserService, selected with app.storage.backend (memory or jpa)
+public interface UserStore {
+
+    // Fails with IllegalArgumentException if the email is already registered
+    UserProfile insert(UserProfile user);
+
+    Optional<UserProfile> findById(UUID userId);
+
+    Optional<UserProfile> findByEmail(String email);
+
+    boolean existsByEmail(String email);
+
+    // Writes back a user previously read from this store
+    UserProfile save(UserProfile user);
+
+    List<UserProfile> findAll();
+
+    long count();
+}
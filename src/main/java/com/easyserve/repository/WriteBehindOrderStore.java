@@ -0,0 +1,514 @@
+package com.easyserve.repository;
+
+import com.easyserve.dto.OrderDTO;
+import com.easyserve.model.OrderStatus;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Primary;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+// Write-behind in front of the JPA store (app.storage.backend=jpa plus
+// app.orders.write-behind.enabled=true). Writes are acknowledged once they are fsynced
+// to the journal, then flushed to the database in batches; the journal is replayed on startup.
+// An order the database still rejects at flush is moved to a dead-letter file rather than
+// blocking every later flush.
+@Repository
+@Primary
+@ConditionalOnExpression("${app.orders.write-behind.enabled:false} and '${app.storage.backend:memory}' == 'jpa'")
+public class WriteBehindOrderStore implements OrderStore {
+
+    private static final Logger log = LoggerFactory.getLogger(WriteBehindOrderStore.class);
+
+    private static final int LOCK_STRIPES = 64;
+    private static final long MAX_RETRY_DELAY_MS = 60_000;
+
+    @Autowired
+    private JpaOrderStore jpaOrderStore;
+
+    @Value("${app.orders.write-behind.journal:data/orders.journal}")
+    private String journalPath;
+
+    // Orders the database rejected, one JSON snapshot per line
+    @Value("${app.orders.write-behind.dead-letter:data/orders.dead-letter}")
+    private String deadLetterPath;
+
+    @Value("${app.orders.write-behind.flush-interval-ms:100}")
+    private long flushIntervalMs;
+
+    @Value("${app.orders.write-behind.max-batch:1000}")
+    private int maxBatch;
+
+    // Beyond this backlog writers help flush, so intake slows to the database's pace
+    @Value("${app.orders.write-behind.max-pending:100000}")
+    private int maxPending;
+
+    // Journal is plain JSON of the DTO fields; annotations are skipped so timestamps keep full precision
+    private final ObjectMapper journalMapper = JsonMapper.builder()
+            .addModule(new JavaTimeModule())
+            .disable(MapperFeature.USE_ANNOTATIONS)
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .build();
+
+    // Latest acknowledged snapshot of every order not yet written to the database
+    private final Map<Long, OrderDTO> pending = new ConcurrentHashMap<>();
+    private final Set<Long> unflushedInserts = ConcurrentHashMap.newKeySet();
+
+    // Appenders share the lock; the journal is only reset while no append is in flight
+    private final ReadWriteLock journalLock = new ReentrantReadWriteLock();
+    private final Object[] locks = new Object[LOCK_STRIPES];
+
+    private OrderJournal journal;
+    private ScheduledExecutorService flusher;
+
+    // Flusher thread only: failed runs in a row, and when the next retry is due. Retries, and
+    // the log lines that go with them, back off up to a minute apart.
+    private int failedFlushes;
+    private long retryAt;
+
+    public WriteBehindOrderStore() {
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    @PostConstruct
+    void start() throws IOException {
+        journal = OrderJournal.open(Path.of(journalPath));
+
+        // Replay: the last snapshot of each order wins; rows that were already flushed are simply
+        // rewritten. Nothing here stops startup: orders that cannot be written yet stay pending
+        // and journaled for the flusher. Replayed inserts are not in unflushedInserts, so count()
+        // may run short until they are flushed.
+        for (byte[] record : journal.readAll()) {
+            try {
+                OrderDTO order = decode(record);
+                pending.put(order.getId(), order);
+            } catch (UncheckedIOException e) {
+                log.error("Unreadable order journal record, moving it to {}", deadLetterPath, e);
+                try {
+                    deadLetter(record);
+                } catch (UncheckedIOException deadLetterFailure) {
+                    log.error("Could not write {}; the record is dropped", deadLetterPath, deadLetterFailure);
+                }
+            }
+        }
+        if (!pending.isEmpty()) {
+            int replayed = pending.size();
+            try {
+                flush();
+                log.info("Replayed {} orders from {}", replayed, journalPath);
+            } catch (RuntimeException e) {
+                log.error("Could not replay {} orders from {}; they stay pending", pending.size(), journalPath, e);
+            }
+        }
+
+        flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "order-write-behind");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() throws IOException, InterruptedException {
+        flusher.shutdown();
+        flusher.awaitTermination(10, TimeUnit.SECONDS);
+        try {
+            flush();
+        } finally {
+            journal.close();
+        }
+    }
+
+    @Override
+    public OrderDTO insert(OrderDTO order) {
+        insertAll(List.of(order));
+        return order;
+    }
+
+    // The whole burst is queued before waiting, so it usually shares one fsync
+    @Override
+    public List<OrderDTO> insertAll(List<OrderDTO> orders) {
+        // Rejected now, while the caller can still be told
+        jpaOrderStore.checkReferences(orders);
+        // Ids come from orders_seq like the JPA store's own, so the sequence always covers them
+        List<Long> ids = jpaOrderStore.nextIds(orders.size());
+        List<byte[]> records = new ArrayList<>(orders.size());
+        for (int i = 0; i < orders.size(); i++) {
+            OrderDTO order = orders.get(i);
+            order.setId(ids.get(i));
+            order.setVersion(0);
+            unflushedInserts.add(order.getId());
+            records.add(encode(order));
+        }
+
+        journalLock.readLock().lock();
+        try {
+            List<CompletableFuture<Void>> durable = new ArrayList<>(records.size());
+            for (byte[] record : records) {
+                durable.add(journal.append(record));
+            }
+            durable.forEach(CompletableFuture::join);
+            for (int i = 0; i < records.size(); i++) {
+                pending.put(orders.get(i).getId(), decode(records.get(i)));
+            }
+        } finally {
+            journalLock.readLock().unlock();
+        }
+
+        if (pending.size() > maxPending) {
+            flush();
+        }
+        return orders;
+    }
+
+    @Override
+    public Optional<OrderDTO> findById(Long orderId) {
+        OrderDTO order = pending.get(orderId);
+        return order != null ? Optional.of(copy(order)) : jpaOrderStore.findById(orderId);
+    }
+
+    @Override
+    public Optional<OrderDTO> update(Long orderId, Consumer<OrderDTO> mutation) {
+        synchronized (lockFor(orderId)) {
+            OrderDTO current = pending.get(orderId);
+            Optional<OrderDTO> order = current != null ? Optional.of(copy(current)) : jpaOrderStore.findById(orderId);
+            if (order.isEmpty()) {
+                return order;
+            }
+
+            OrderDTO updated = order.get();
+            mutation.accept(updated);
+            // Counted per update, not per flush; upsertAll carries the count over to the row
+            updated.setVersion(updated.getVersion() + 1);
+            journalLock.readLock().lock();
+            try {
+                pending.put(orderId, append(updated));
+            } finally {
+                journalLock.readLock().unlock();
+            }
+            return order;
+        }
+    }
+
+    @Override
+    public List<OrderDTO> findAll() {
+        return overlay(order -> true, jpaOrderStore::findAll, Comparator.comparing(OrderDTO::getId));
+    }
+
+    @Override
+    public List<OrderDTO> findByRestaurant(Long restaurantId) {
+        return overlay(order -> restaurantId.equals(order.getRestaurantId()),
+                () -> jpaOrderStore.findByRestaurant(restaurantId),
+                Comparator.comparing(OrderDTO::getId));
+    }
+
+    @Override
+    public List<OrderDTO> findByRestaurantAndStatus(Long restaurantId, OrderStatus status) {
+        return overlay(order -> restaurantId.equals(order.getRestaurantId()) && status == order.getStatus(),
+                () -> jpaOrderStore.findByRestaurantAndStatus(restaurantId, status),
+                Comparator.comparing(OrderDTO::getId));
+    }
+
+    @Override
+    public List<OrderDTO> findByRestaurantAndStatusIn(Long restaurantId, Collection<OrderStatus> statuses) {
+        return overlay(order -> restaurantId.equals(order.getRestaurantId()) && statuses.contains(order.getStatus()),
+                () -> jpaOrderStore.findByRestaurantAndStatusIn(restaurantId, statuses),
+                Comparator.comparing(OrderDTO::getId));
+    }
+
+    @Override
+    public List<OrderDTO> findByCustomer(Long customerId) {
+        return overlay(order -> customerId.equals(order.getCustomerId()),
+                () -> jpaOrderStore.findByCustomer(customerId),
+                Comparator.comparing(OrderDTO::getCreatedAt, Comparator.nullsLast(Comparator.reverseOrder())));
+    }
+
+    @Override
+    public List<OrderDTO> findByRestaurantAndCreatedAtBetween(Long restaurantId, LocalDateTime from, LocalDateTime to) {
+        return overlay(order -> restaurantId.equals(order.getRestaurantId())
+                        && order.getCreatedAt() != null
+                        && (from == null || !order.getCreatedAt().isBefore(from))
+                        && (to == null || !order.getCreatedAt().isAfter(to)),
+                () -> jpaOrderStore.findByRestaurantAndCreatedAtBetween(restaurantId, from, to),
+                Comparator.comparing(OrderDTO::getId));
+    }
+
+    @Override
+    public List<OrderDaySummary> findCompactedDays(Long restaurantId, LocalDate from, LocalDate to) {
+        return jpaOrderStore.findCompactedDays(restaurantId, from, to);
+    }
+
+    // Database pages are read until the merged page is full; a stored row can be dropped when
+    // its pending snapshot no longer matches
+    @Override
+    public List<OrderDTO> findPage(OrderQuery query) {
+        List<OrderDTO> page = new ArrayList<>(query.limit());
+        PendingMerge merge = new PendingMerge(query, page::add);
+        OrderQuery next = query;
+        while (true) {
+            List<OrderDTO> stored = jpaOrderStore.findPage(next);
+            stored.forEach(merge::stored);
+            if (stored.size() < next.limit()) {
+                merge.finish();
+                break;
+            }
+            if (page.size() >= query.limit()) {
+                break;
+            }
+            next = query.after(stored.get(stored.size() - 1).getId());
+        }
+        return page.size() > query.limit() ? List.copyOf(page.subList(0, query.limit())) : page;
+    }
+
+    @Override
+    public void export(OrderQuery query, Consumer<OrderDTO> sink) {
+        PendingMerge merge = new PendingMerge(query, sink);
+        jpaOrderStore.export(query, merge::stored);
+        merge.finish();
+    }
+
+    @Override
+    public long count() {
+        return jpaOrderStore.count() + unflushedInserts.size();
+    }
+
+    // Writes every pending snapshot to the database, then resets the journal once nothing is left.
+    // Synchronized: two flushes of the same snapshot would insert it twice.
+    synchronized void flush() {
+        List<OrderDTO> batch = new ArrayList<>(Math.min(pending.size(), maxBatch));
+        for (OrderDTO order : pending.values()) {
+            batch.add(order);
+            if (batch.size() == maxBatch) {
+                writeBatch(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            writeBatch(batch);
+        }
+
+        if (pending.isEmpty() && journalLock.writeLock().tryLock()) {
+            try {
+                if (pending.isEmpty()) {
+                    journal.reset();
+                }
+            } catch (IOException e) {
+                log.warn("Could not reset order journal", e);
+            } finally {
+                journalLock.writeLock().unlock();
+            }
+        }
+    }
+
+    // When the batch fails, its orders are written one at a time so one bad row cannot hold back
+    // the rest. A row the database rejects goes to the dead-letter file. Any other failure, such as
+    // the database being unreachable, ends the flush with the remaining rows still pending.
+    private void writeBatch(List<OrderDTO> batch) {
+        try {
+            jpaOrderStore.upsertAll(batch);
+            batch.forEach(this::written);
+            return;
+        } catch (DataIntegrityViolationException e) {
+            log.warn("Write-behind batch of {} orders rejected, writing them one at a time", batch.size());
+        }
+        UncheckedIOException deadLetterFailure = null;
+        for (OrderDTO order : batch) {
+            try {
+                jpaOrderStore.upsertAll(List.of(order));
+                written(order);
+            } catch (DataIntegrityViolationException e) {
+                log.error("Order {} rejected by the database, moving it to {}: {}",
+                        order.getId(), deadLetterPath, e.getMostSpecificCause().getMessage());
+                try {
+                    deadLetter(encode(order));
+                    written(order);
+                } catch (UncheckedIOException ioe) {
+                    // Stays pending until it can be set aside; the other rows go on
+                    deadLetterFailure = ioe;
+                }
+            }
+        }
+        if (deadLetterFailure != null) {
+            throw deadLetterFailure;
+        }
+    }
+
+    private void written(OrderDTO order) {
+        unflushedInserts.remove(order.getId());
+        // Keeps a newer snapshot that arrived while this one was being written
+        pending.remove(order.getId(), order);
+    }
+
+    // Fsynced before the order leaves pending: its journal record goes at the next reset
+    private void deadLetter(byte[] record) {
+        Path path = Path.of(deadLetterPath);
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            try (FileChannel channel = FileChannel.open(path,
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                ByteBuffer buffer = ByteBuffer.allocate(record.length + 1).put(record).put((byte) '\n').flip();
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(false);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void flushQuietly() {
+        long now = System.currentTimeMillis();
+        if (now < retryAt) {
+            return;
+        }
+        try {
+            flush();
+            if (failedFlushes > 0) {
+                log.info("Write-behind flush succeeded after {} failed attempts", failedFlushes);
+                failedFlushes = 0;
+            }
+        } catch (RuntimeException e) {
+            // Orders stay pending and journaled; a later run retries them
+            failedFlushes++;
+            long delay = Math.min(flushIntervalMs << Math.min(failedFlushes, 20), MAX_RETRY_DELAY_MS);
+            retryAt = now + delay;
+            if (failedFlushes == 1) {
+                log.error("Write-behind flush failed, {} orders pending", pending.size(), e);
+            } else {
+                log.warn("Write-behind flush failed {} times in a row, {} orders pending, retrying in {} ms: {}",
+                        failedFlushes, pending.size(), delay, e.toString());
+            }
+        }
+    }
+
+    // Fsyncs the snapshot and returns a private copy of it for the pending map
+    private OrderDTO append(OrderDTO order) {
+        byte[] record = encode(order);
+        journal.append(record).join();
+        return decode(record);
+    }
+
+    // Pending snapshots are read first so an order flushed mid-query is not missed
+    private List<OrderDTO> overlay(Predicate<OrderDTO> matches, Supplier<List<OrderDTO>> stored,
+                                   Comparator<OrderDTO> ordering) {
+        Map<Long, OrderDTO> unflushed = new HashMap<>(pending);
+        List<OrderDTO> result = new ArrayList<>();
+        for (OrderDTO order : stored.get()) {
+            if (!unflushed.containsKey(order.getId())) {
+                result.add(order);
+            }
+        }
+        for (OrderDTO order : unflushed.values()) {
+            if (matches.test(order)) {
+                result.add(copy(order));
+            }
+        }
+        result.sort(ordering);
+        return result;
+    }
+
+    // Interleaves the pending snapshots matching a query with stored rows arriving newest first.
+    // A stored row with a pending snapshot is replaced by it, whether or not the snapshot matches.
+    private final class PendingMerge {
+
+        private final Set<Long> unflushed;
+        private final List<OrderDTO> matching = new ArrayList<>();
+        private final Consumer<OrderDTO> sink;
+        private int next;
+
+        PendingMerge(OrderQuery query, Consumer<OrderDTO> sink) {
+            Map<Long, OrderDTO> snapshot = new HashMap<>(pending);
+            this.unflushed = snapshot.keySet();
+            for (OrderDTO order : snapshot.values()) {
+                if (query.matches(order)) {
+                    matching.add(copy(order));
+                }
+            }
+            matching.sort(Comparator.comparing(OrderDTO::getId).reversed());
+            this.sink = sink;
+        }
+
+        void stored(OrderDTO order) {
+            while (next < matching.size() && matching.get(next).getId() > order.getId()) {
+                sink.accept(matching.get(next++));
+            }
+            if (!unflushed.contains(order.getId())) {
+                sink.accept(order);
+            }
+        }
+
+        void finish() {
+            while (next < matching.size()) {
+                sink.accept(matching.get(next++));
+            }
+        }
+    }
+
+    private OrderDTO copy(OrderDTO order) {
+        return decode(encode(order));
+    }
+
+    private byte[] encode(OrderDTO order) {
+        try {
+            return journalMapper.writeValueAsBytes(order);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private OrderDTO decode(byte[] record) {
+        try {
+            return journalMapper.readValue(record, OrderDTO.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Object lockFor(Long orderId) {
+        return locks[(int) Math.floorMod(orderId, (long) LOCK_STRIPES)];
+    }
+}
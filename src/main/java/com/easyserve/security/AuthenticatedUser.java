@@ -0,0 +1,7 @@
+package com.easyserve.security;
+
+import java.util.UUID;
+
+// Principal of a request authenticated by JwtAuthenticationFilter, taken from the token's claims.
+// restaurantId is kept as issued: user profiles key restaurants by UUID, the JPA model by Long.
+public record AuthenticatedUser(UUID userId, String email, String restaurantId, String role) {}
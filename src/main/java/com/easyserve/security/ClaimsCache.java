@@ -0,0 +1,94 @@
+package com.easyserve.security;
+
+import io.jsonwebtoken.Claims;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Claims of tokens whose signature was already verified, keyed by the SHA-256 of the token so
+// raw bearer tokens are not kept in memory. An entry is only served until the token's exp.
+final class ClaimsCache {
+
+    private final int maxEntries;
+    private final Map<TokenKey, Entry> entries = new ConcurrentHashMap<>();
+
+    ClaimsCache(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    // Null when the token is unknown or has expired since it was cached
+    Claims get(String token, long nowMillis) {
+        TokenKey key = TokenKey.of(token);
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (nowMillis >= entry.expiresAtMillis()) {
+            entries.remove(key, entry);
+            return null;
+        }
+        return entry.claims();
+    }
+
+    void put(String token, Claims claims, long nowMillis) {
+        if (maxEntries <= 0 || claims.getExpiration() == null) {
+            return;
+        }
+        if (entries.size() >= maxEntries) {
+            evict(nowMillis);
+        }
+        entries.put(TokenKey.of(token), new Entry(claims, claims.getExpiration().getTime()));
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    // Drops expired tokens first; if that is not enough, an arbitrary tenth of the cache goes,
+    // which is cheaper than tracking recency on every hit
+    private void evict(long nowMillis) {
+        entries.values().removeIf(entry -> nowMillis >= entry.expiresAtMillis());
+        int excess = entries.size() - maxEntries + Math.max(1, maxEntries / 10);
+        Iterator<TokenKey> keys = entries.keySet().iterator();
+        while (excess-- > 0 && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    private record Entry(Claims claims, long expiresAtMillis) {}
+
+    private static final class TokenKey {
+
+        private final byte[] digest;
+        private final int hash;
+
+        private TokenKey(byte[] digest) {
+            this.digest = digest;
+            this.hash = Arrays.hashCode(digest);
+        }
+
+        static TokenKey of(String token) {
+            try {
+                return new TokenKey(MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII)));
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 not available", e);
+            }
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof TokenKey key && Arrays.equals(digest, key.digest);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.easyserve.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextHolderStrategy;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Authenticates "Authorization: Bearer <access token>" from the token alone: no user lookup,
+// no session. A missing or bad token leaves the request anonymous, and SecurityConfig decides
+// whether that is allowed. Not a bean, so Boot does not also register it as a servlet filter.
+public class JwtAuthenticationFilter extends OncePerRequestFilter {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final JwtTokenProvider jwtTokenProvider;
+    private final SecurityContextHolderStrategy contextHolder = SecurityContextHolder.getContextHolderStrategy();
+
+    // There are only a handful of roles; their authority lists are shared across requests
+    private final Map<String, List<GrantedAuthority>> authoritiesByRole = new ConcurrentHashMap<>();
+
+    public JwtAuthenticationFilter(JwtTokenProvider jwtTokenProvider) {
+        this.jwtTokenProvider = jwtTokenProvider;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header != null && header.startsWith(BEARER_PREFIX)) {
+            AuthenticatedUser user = jwtTokenProvider.authenticate(header.substring(BEARER_PREFIX.length()));
+            if (user != null) {
+                SecurityContext context = contextHolder.createEmptyContext();
+                context.setAuthentication(UsernamePasswordAuthenticationToken.authenticated(
+                        user, null, authorities(user.role())));
+                contextHolder.setContext(context);
+            }
+        }
+        chain.doFilter(request, response);
+    }
+
+    private List<GrantedAuthority> authorities(String role) {
+        if (role == null) {
+            return List.of();
+        }
+        return authoritiesByRole.computeIfAbsent(role, r -> List.of(new SimpleGrantedAuthority("ROLE_" + r)));
+    }
+}
@@ -2,6 +2,7 @@
 package com.easyserve.security;
 
 import com.easyserve.model.User;
+import com.easyserve.service.UserService.UserProfile;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
 import jakarta.annotation.PostConstruct;
@@ -28,23 +29,58 @@ public class JwtTokenProvider {
     @Value("${jwt.refresh-expiration-ms:604800000}") // 7 days
     private long refreshTokenValidity;
 
+    // Verified tokens kept so their signature is checked once per lifetime, not once per claim read
+    @Value("${jwt.claims-cache.max-entries:10000}")
+    private int claimsCacheSize;
+
     private Key secretKey;
 
+    // Thread-safe once built; building one per call dominated token validation
+    private JwtParser parser;
+
+    private ClaimsCache claimsCache;
+
 @PostConstruct
 public void init() {
     // Use the secret directly without Base64 decoding
     this.secretKey = Keys.hmacShaKeyFor(secretKeyBase64.getBytes(StandardCharsets.UTF_8));
+    this.parser = Jwts.parserBuilder().setSigningKey(secretKey).build();
+    this.claimsCache = new ClaimsCache(claimsCacheSize);
 }
 
     public String generateToken(User user, boolean refreshToken) {
+        return buildToken(user.getEmail(), user.getPublicId(), user.getRestaurant().getId().toString(),
+                user.getRole().name(), refreshToken);
+    }
+
+    // Tokens for the users UserService hands out
+    public String generateToken(UserProfile user, boolean refreshToken) {
+        return buildToken(user.getEmail(), user.getId(), user.getRestaurantId().toString(), user.getRole(), refreshToken);
+    }
+
+    public String generateAccessToken(UserProfile user) {
+        return generateToken(user, false);
+    }
+
+    public String generateRefreshToken(UserProfile user) {
+        return generateToken(user, true);
+    }
+
+    public long getAccessTokenValiditySeconds() {
+        return accessTokenValidity / 1000;
+    }
+
+    // Everything a request needs to be authorized travels in the token, so the filter never
+    // has to load the user
+    private String buildToken(String email, UUID userId, String restaurantId, String role, boolean refreshToken) {
         long now = System.currentTimeMillis();
         long validity = now + (refreshToken ? refreshTokenValidity : accessTokenValidity);
 
         return Jwts.builder()
-                .setSubject(user.getEmail())
-                .claim("userId", user.getId().toString())
-                .claim("restaurantId", user.getRestaurant().getId().toString())
-                .claim("role", user.getRole().name())
+                .setSubject(email)
+                .claim("userId", userId.toString())
+                .claim("restaurantId", restaurantId)
+                .claim("role", role)
                 .setIssuedAt(new Date(now))
                 .setExpiration(new Date(validity))
                 .claim("type", refreshToken ? "refresh" : "access")
@@ -62,10 +98,7 @@ public void init() {
 
     public boolean validateToken(String token) {
         try {
-            Jwts.parserBuilder()
-                .setSigningKey(secretKey)
-                .build()
-                .parseClaimsJws(token);
+            getClaims(token);
             return true;
         } catch (JwtException | IllegalArgumentException e) {
             // invalid or expired
@@ -75,13 +108,7 @@ public void init() {
 
     public boolean isTokenExpired(String token) {
         try {
-            Date expiration = Jwts.parserBuilder()
-                .setSigningKey(secretKey)
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .getExpiration();
-            return expiration.before(new Date());
+            return getClaims(token).getExpiration().before(new Date());
         } catch (JwtException e) {
             return true;
         }
@@ -96,20 +123,42 @@ public void init() {
         return UUID.fromString(userId);
     }
 
-    public UUID getRestaurantIdFromToken(String token) {
-        String rid = getClaims(token).get("restaurantId", String.class);
-        return UUID.fromString(rid);
+    public String getRestaurantIdFromToken(String token) {
+        return getClaims(token).get("restaurantId", String.class);
     }
 
     public String getUserRoleFromToken(String token) {
         return getClaims(token).get("role", String.class);
     }
 
+    public boolean isRefreshToken(String token) {
+        return "refresh".equals(getClaims(token).get("type", String.class));
+    }
+
+    // Principal for an access token, or null when the token is invalid, expired or a refresh token
+    public AuthenticatedUser authenticate(String token) {
+        try {
+            Claims claims = getClaims(token);
+            String userId = claims.get("userId", String.class);
+            if (!"access".equals(claims.get("type", String.class)) || userId == null) {
+                return null;
+            }
+            return new AuthenticatedUser(UUID.fromString(userId), claims.getSubject(),
+                    claims.get("restaurantId", String.class), claims.get("role", String.class));
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    // Verifies the token on first sight; later calls are served from the cache until exp.
+    // Expired or tampered tokens are never cached, so they keep failing in the parser.
     private Claims getClaims(String token) {
-        return Jwts.parserBuilder()
-                   .setSigningKey(secretKey)
-                   .build()
-                   .parseClaimsJws(token)
-                   .getBody();
+        long now = System.currentTimeMillis();
+        Claims claims = claimsCache.get(token, now);
+        if (claims == null) {
+            claims = parser.parseClaimsJws(token).getBody();
+            claimsCache.put(token, claims, now);
+        }
+        return claims;
     }
 }
@@ -0,0 +1,271 @@
+package com.easyserve.service;
+
+import com.easyserve.dto.KitchenStatsResponse;
+import com.easyserve.dto.OrderDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Supplier;
+
+// Server-sent events for kitchen screens. Every restaurant has its own event sequence and
+// keeps the latest events in a ring, so a screen that reconnects with Last-Event-ID only gets
+// what it missed; anything older is answered with a fresh snapshot. Publishing just appends to
+// the ring - sending to screens happens on the feed's own threads.
+@Component
+public class KitchenFeed {
+
+    private static final Logger log = LoggerFactory.getLogger(KitchenFeed.class);
+
+    public enum EventType { SNAPSHOT, CREATED, STATUS_CHANGED, CANCELLED }
+
+    // The REST converter, so events use the same JSON naming as the order endpoints
+    @Autowired
+    private MappingJackson2HttpMessageConverter jacksonConverter;
+
+    // Events kept per restaurant for resuming; rounded up to a power of two
+    @Value("${app.kitchen.feed.replay-capacity:1024}")
+    private int replayCapacity;
+
+    @Value("${app.kitchen.feed.threads:2}")
+    private int threads;
+
+    @Value("${app.kitchen.feed.heartbeat-seconds:20}")
+    private long heartbeatSeconds;
+
+    private final Map<Long, Channel> channels = new ConcurrentHashMap<>();
+
+    private ExecutorService senders;
+    private ScheduledExecutorService heartbeat;
+
+    @PostConstruct
+    void start() {
+        AtomicInteger threadIds = new AtomicInteger();
+        senders = Executors.newFixedThreadPool(threads, r -> {
+            Thread thread = new Thread(r, "kitchen-feed-" + threadIds.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        heartbeat = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "kitchen-feed-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Keeps idle connections open through proxies and finds screens that went away
+        heartbeat.scheduleWithFixedDelay(this::heartbeatAll, heartbeatSeconds, heartbeatSeconds, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        heartbeat.shutdownNow();
+        senders.shutdownNow();
+        channels.values().forEach(channel -> channel.subscribers.forEach(s -> s.emitter.complete()));
+    }
+
+    // Called after the order change is stored; serializes once and never waits on a screen
+    public void publish(EventType type, OrderDTO order, KitchenStatsResponse stats) {
+        Channel channel = channel(order.getRestaurantId());
+        synchronized (channel) {
+            long seq = channel.lastSeq + 1;
+            channel.ring.set((int) (seq & channel.mask), new Event(seq, type.name(),
+                    toJson(new EventPayload(seq, type, order, stats))));
+            channel.lastSeq = seq;
+        }
+        if (!channel.subscribers.isEmpty() && channel.fanOutScheduled.compareAndSet(false, true)) {
+            senders.execute(channel::fanOut);
+        }
+    }
+
+    // lastEventId is the last sequence number the screen received, or null on first connect
+    public SseEmitter subscribe(Long restaurantId, Long lastEventId, Supplier<List<OrderDTO>> activeOrders,
+                                Supplier<KitchenStatsResponse> stats) {
+        Channel channel = channel(restaurantId);
+        SseEmitter emitter = new SseEmitter(0L);
+        Subscriber subscriber;
+        boolean resumable;
+
+        // Registered before the snapshot is taken, so no event can fall between the two
+        synchronized (channel) {
+            resumable = lastEventId != null && lastEventId <= channel.lastSeq
+                    && channel.lastSeq - lastEventId <= channel.capacity();
+            subscriber = new Subscriber(channel, emitter, resumable ? lastEventId : channel.lastSeq);
+            channel.subscribers.add(subscriber);
+        }
+        emitter.onCompletion(() -> channel.subscribers.remove(subscriber));
+        emitter.onTimeout(() -> channel.subscribers.remove(subscriber));
+        emitter.onError(e -> channel.subscribers.remove(subscriber));
+
+        if (!resumable) {
+            long seq = subscriber.cursor;
+            subscriber.initial = new Event(seq, EventType.SNAPSHOT.name(),
+                    toJson(new SnapshotPayload(seq, activeOrders.get(), stats.get())));
+        }
+        subscriber.started = true;
+        subscriber.signal();
+        return emitter;
+    }
+
+    public int subscriberCount(Long restaurantId) {
+        Channel channel = channels.get(restaurantId);
+        return channel == null ? 0 : channel.subscribers.size();
+    }
+
+    private Channel channel(Long restaurantId) {
+        return channels.computeIfAbsent(restaurantId, id -> new Channel(Integer.highestOneBit(
+                Math.max(2, replayCapacity - 1)) << 1));
+    }
+
+    private void heartbeatAll() {
+        for (Channel channel : channels.values()) {
+            for (Subscriber subscriber : channel.subscribers) {
+                subscriber.heartbeatDue = true;
+                subscriber.signal();
+            }
+        }
+    }
+
+    private String toJson(Object payload) {
+        try {
+            return jacksonConverter.getObjectMapper().writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    record EventPayload(long seq, EventType type, OrderDTO order, KitchenStatsResponse stats) {}
+
+    record SnapshotPayload(long seq, List<OrderDTO> orders, KitchenStatsResponse stats) {}
+
+    private record Event(long seq, String name, String json) {}
+
+    private final class Channel {
+
+        private final AtomicReferenceArray<Event> ring;
+        private final long mask;
+        private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+        private final AtomicBoolean fanOutScheduled = new AtomicBoolean();
+
+        // Written under the channel lock, read by sender threads
+        private volatile long lastSeq;
+
+        Channel(int capacity) {
+            this.ring = new AtomicReferenceArray<>(capacity);
+            this.mask = capacity - 1;
+        }
+
+        int capacity() {
+            return ring.length();
+        }
+
+        // Event with the given sequence number, or null once the ring has moved past it
+        Event eventAt(long seq) {
+            Event event = ring.get((int) (seq & mask));
+            return event != null && event.seq() == seq ? event : null;
+        }
+
+        void fanOut() {
+            fanOutScheduled.set(false);
+            for (Subscriber subscriber : subscribers) {
+                subscriber.signal();
+            }
+        }
+    }
+
+    // Sends are serialized per screen: at most one sender thread drains a subscriber at a time
+    private final class Subscriber {
+
+        private final Channel channel;
+        private final SseEmitter emitter;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        // Last sequence number handed to this screen
+        private volatile long cursor;
+        private volatile Event initial;
+        private volatile boolean heartbeatDue;
+
+        // Set once the snapshot (if any) is ready; events wait until then
+        private volatile boolean started;
+
+        Subscriber(Channel channel, SseEmitter emitter, long cursor) {
+            this.channel = channel;
+            this.emitter = emitter;
+            this.cursor = cursor;
+        }
+
+        void signal() {
+            if (scheduled.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                if (started) {
+                    Event snapshot = initial;
+                    if (snapshot != null) {
+                        initial = null;
+                        send(snapshot);
+                    }
+                    while (cursor < channel.lastSeq) {
+                        Event event = channel.eventAt(cursor + 1);
+                        if (event == null) {
+                            // Fell behind the ring; the screen reconnects and gets a snapshot
+                            log.debug("Kitchen screen fell behind at event {}, closing", cursor);
+                            close();
+                            return;
+                        }
+                        send(event);
+                        cursor = event.seq();
+                    }
+                    if (heartbeatDue) {
+                        heartbeatDue = false;
+                        emitter.send(SseEmitter.event().comment("heartbeat"));
+                    }
+                }
+            } catch (IOException | IllegalStateException e) {
+                // Screen disconnected or the emitter is already completed
+                channel.subscribers.remove(this);
+                return;
+            } finally {
+                scheduled.set(false);
+            }
+            // Catches work that arrived while this drain still held the flag
+            if (started && (cursor < channel.lastSeq || initial != null)) {
+                signal();
+            }
+        }
+
+        private void send(Event event) throws IOException {
+            emitter.send(SseEmitter.event()
+                    .id(Long.toString(event.seq()))
+                    .name(event.name())
+                    .data(event.json(), MediaType.APPLICATION_JSON));
+        }
+
+        private void close() {
+            channel.subscribers.remove(this);
+            emitter.complete();
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package com.easyserve.service;
+
+import com.easyserve.dto.OrderDTO;
+import com.easyserve.model.OrderStatus;
+import com.easyserve.repository.OrderDaySummary;
+import com.easyserve.repository.OrderStore;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Kitchen counters per (restaurant, day), kept up to date on every order status change so
+// stats are read without scanning orders. Orders count towards the day they were created;
+// preparation times (CONFIRMED -> READY) count towards the day the order became ready.
+@Component
+public class KitchenStatsTracker {
+
+    private static final OrderStatus[] STATUSES = OrderStatus.values();
+
+    @Autowired
+    private OrderStore orderStore;
+
+    // Preparations finished within this many minutes count as on time for the efficiency figure
+    @Value("${app.kitchen.target-prep-minutes:25}")
+    private int targetPrepMinutes;
+
+    // Counters are kept as long as the orders themselves (0 keeps everything)
+    @Value("${app.orders.retention-days:90}")
+    private int retentionDays;
+
+    private final Map<DayKey, DayStats> days = new ConcurrentHashMap<>();
+
+    // When each order currently being prepared was confirmed
+    private final Map<Long, LocalDateTime> confirmedAt = new ConcurrentHashMap<>();
+
+    // Called before the order is stored, so a first load of the day cannot count it twice
+    public void recordCreated(OrderDTO order) {
+        stats(order.getRestaurantId(), order.getCreatedAt().toLocalDate()).created(order.getStatus());
+    }
+
+    // Undoes recordCreated when the order could not be stored
+    public void discardCreated(OrderDTO order) {
+        stats(order.getRestaurantId(), order.getCreatedAt().toLocalDate()).discarded(order.getStatus());
+    }
+
+    public void recordTransition(OrderDTO order, OrderStatus from, OrderStatus to, LocalDateTime at) {
+        if (from == to) {
+            return;
+        }
+        DayKey key = new DayKey(order.getRestaurantId(), order.getCreatedAt().toLocalDate());
+        DayStats day = days.get(key);
+        if (day != null) {
+            day.moved(from, to);
+        } else {
+            // Loading the day reads the order in its new status already
+            stats(key.restaurantId(), key.date());
+        }
+
+        if (to == OrderStatus.CONFIRMED) {
+            confirmedAt.put(order.getId(), at);
+        } else if (to == OrderStatus.READY) {
+            LocalDateTime confirmed = confirmedAt.remove(order.getId());
+            if (confirmed != null) {
+                stats(order.getRestaurantId(), at.toLocalDate()).prepTimes.record(Duration.between(confirmed, at));
+            }
+        } else if (to != OrderStatus.PREPARING) {
+            confirmedAt.remove(order.getId());
+        }
+    }
+
+    public KitchenSnapshot snapshot(Long restaurantId, LocalDate date) {
+        DayStats day = stats(restaurantId, date);
+        long[] counts = new long[STATUSES.length];
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = day.byStatus[i].sum();
+        }
+        return new KitchenSnapshot(counts, day.total.sum(), day.prepTimes.mean(),
+                day.prepTimes.fractionWithin(targetPrepMinutes), day.prepTimes.count());
+    }
+
+    // Drops the counters of days past retention, and confirmation times of orders from those days
+    // that never got to READY. Confirmed before the cutoff means created before it too. A snapshot
+    // of a dropped day loads it again from the compacted summaries.
+    @Scheduled(cron = "${app.orders.compaction-cron:0 5 0 * * *}")
+    public void evictExpiredDays() {
+        if (retentionDays <= 0) {
+            return;
+        }
+        LocalDate cutoff = LocalDate.now().minusDays(retentionDays);
+        days.keySet().removeIf(key -> key.date().isBefore(cutoff));
+        LocalDateTime cutoffTime = cutoff.atStartOfDay();
+        confirmedAt.values().removeIf(confirmed -> confirmed.isBefore(cutoffTime));
+    }
+
+    private DayStats stats(Long restaurantId, LocalDate date) {
+        return days.computeIfAbsent(new DayKey(restaurantId, date), this::loadDay);
+    }
+
+    // Seeds a day from stored orders, e.g. after a restart on the JPA backend, and from the
+    // summary of a day past retention. A status change racing this first load may be counted
+    // twice; from then on the counters are exact.
+    private DayStats loadDay(DayKey key) {
+        DayStats day = new DayStats();
+        for (OrderDaySummary summary : orderStore.findCompactedDays(key.restaurantId(), key.date(), key.date())) {
+            day.add(summary);
+        }
+        LocalDateTime startOfDay = key.date().atStartOfDay();
+        LocalDateTime endOfDay = startOfDay.plusDays(1);
+        for (OrderDTO order : orderStore.findByRestaurantAndCreatedAtBetween(key.restaurantId(), startOfDay, endOfDay)) {
+            LocalDateTime createdAt = order.getCreatedAt();
+            if (createdAt.isBefore(startOfDay) || !createdAt.isBefore(endOfDay)) {
+                continue;
+            }
+            day.created(order.getStatus());
+            // Orders still waiting for the kitchen keep their confirmation time (last update)
+            if (order.getStatus() == OrderStatus.CONFIRMED && order.getUpdatedAt() != null) {
+                confirmedAt.putIfAbsent(order.getId(), order.getUpdatedAt());
+            }
+        }
+        return day;
+    }
+
+    private record DayKey(Long restaurantId, LocalDate date) {}
+
+    public record KitchenSnapshot(long[] countsByStatus, long total, Duration averagePrepTime,
+                                  double onTimeRate, long prepSamples) {
+
+        public long count(OrderStatus status) {
+            return countsByStatus[status.ordinal()];
+        }
+    }
+
+    private static final class DayStats {
+
+        private final LongAdder[] byStatus = new LongAdder[STATUSES.length];
+        private final LongAdder total = new LongAdder();
+        private final PrepHistogram prepTimes = new PrepHistogram();
+
+        DayStats() {
+            for (int i = 0; i < byStatus.length; i++) {
+                byStatus[i] = new LongAdder();
+            }
+        }
+
+        void created(OrderStatus status) {
+            byStatus[status.ordinal()].increment();
+            total.increment();
+        }
+
+        void add(OrderDaySummary summary) {
+            for (OrderStatus status : STATUSES) {
+                byStatus[status.ordinal()].add(summary.count(status));
+            }
+            total.add(summary.orders());
+        }
+
+        void discarded(OrderStatus status) {
+            byStatus[status.ordinal()].decrement();
+            total.decrement();
+        }
+
+        void moved(OrderStatus from, OrderStatus to) {
+            byStatus[from.ordinal()].decrement();
+            byStatus[to.ordinal()].increment();
+        }
+    }
+
+    // Preparation times in one-minute buckets (the last one collects everything longer),
+    // plus the exact sum so the mean is not rounded to a bucket
+    private static final class PrepHistogram {
+
+        private static final int MAX_MINUTES = 240;
+
+        private final LongAdder[] buckets = new LongAdder[MAX_MINUTES + 1];
+        private final LongAdder samples = new LongAdder();
+        private final LongAdder totalSeconds = new LongAdder();
+
+        PrepHistogram() {
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] = new LongAdder();
+            }
+        }
+
+        void record(Duration duration) {
+            long seconds = Math.max(0, duration.getSeconds());
+            buckets[(int) Math.min(seconds / 60, MAX_MINUTES)].increment();
+            totalSeconds.add(seconds);
+            samples.increment();
+        }
+
+        long count() {
+            return samples.sum();
+        }
+
+        Duration mean() {
+            long count = samples.sum();
+            return count == 0 ? Duration.ZERO : Duration.ofSeconds(totalSeconds.sum() / count);
+        }
+
+        // Share of preparations that took less than the given number of minutes
+        double fractionWithin(int minutes) {
+            long count = samples.sum();
+            if (count == 0) {
+                return 0;
+            }
+            long within = 0;
+            for (int i = 0; i < Math.min(minutes, buckets.length); i++) {
+                within += buckets[i].sum();
+            }
+            return (double) within / count;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.easyserve.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+// Fake transport for the MVP: logs every message instead of sending it. Latency and a failure
+// rate can be configured to exercise batching, retries and backpressure locally.
+@Component
+public class LoggingNotificationTransport implements NotificationTransport {
+
+    private static final Logger log = LoggerFactory.getLogger(LoggingNotificationTransport.class);
+
+    @Value("${app.notifications.email.from:no-reply@easyserve.com}")
+    private String fromEmail;
+
+    @Value("${app.notifications.fake.latency-ms:0}")
+    private long latencyMs;
+
+    @Value("${app.notifications.fake.failure-rate:0}")
+    private double failureRate;
+
+    private final LongAdder delivered = new LongAdder();
+
+    @Override
+    public void send(Notification.Channel channel, List<Notification> batch) throws IOException {
+        if (latencyMs > 0) {
+            try {
+                Thread.sleep(latencyMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while sending " + channel + " batch", e);
+            }
+        }
+        if (failureRate > 0 && ThreadLocalRandom.current().nextDouble() < failureRate) {
+            throw new IOException("Simulated " + channel + " transport failure");
+        }
+
+        for (Notification notification : batch) {
+            switch (channel) {
+                case EMAIL -> {
+                    log.info("=== EMAIL NOTIFICATION ===");
+                    log.info("To: {}", notification.recipient());
+                    log.info("From: {}", fromEmail);
+                    log.info("Subject: {}", notification.subject());
+                    log.info("Body: {}", notification.body());
+                    log.info("========================");
+                }
+                case SMS -> {
+                    log.info("=== SMS NOTIFICATION ===");
+                    log.info("To: {}", notification.recipient());
+                    log.info("Message: {}", notification.body());
+                    log.info("======================");
+                }
+                case KITCHEN -> {
+                    log.info("=== KITCHEN NOTIFICATION ===");
+                    log.info("Station: {}", notification.recipient());
+                    log.info("Details: {}", notification.body());
+                    log.info("===========================");
+                }
+            }
+        }
+        delivered.add(batch.size());
+    }
+
+    public long deliveredCount() {
+        return delivered.sum();
+    }
+}
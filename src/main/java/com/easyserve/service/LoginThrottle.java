@@ -0,0 +1,92 @@
+package com.easyserve.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Counts login attempts per email and per client address in fixed windows. It is checked before
+// any password is hashed, so guessing at one account or stuffing credentials from one address
+// is turned away without spending BCrypt time on it. A limit of 0 turns that check off.
+@Component
+public class LoginThrottle {
+
+    @Value("${app.auth.login.window-seconds:300}")
+    private long windowSeconds;
+
+    @Value("${app.auth.login.max-attempts-per-email:10}")
+    private int maxAttemptsPerEmail;
+
+    @Value("${app.auth.login.max-attempts-per-ip:50}")
+    private int maxAttemptsPerIp;
+
+    private final Map<String, Window> byEmail = new ConcurrentHashMap<>();
+    private final Map<String, Window> byIp = new ConcurrentHashMap<>();
+    private final LongAdder throttled = new LongAdder();
+
+    // Counts the attempt, or throws when the email or the address has used up its window
+    public void acquire(String email, String clientIp) {
+        long now = System.currentTimeMillis();
+        Window emailWindow = maxAttemptsPerEmail > 0 ? count(byEmail, normalize(email), now) : null;
+        Window ipWindow = maxAttemptsPerIp > 0 && clientIp != null ? count(byIp, clientIp, now) : null;
+
+        long retryAt = 0;
+        if (emailWindow != null && emailWindow.attempts() > maxAttemptsPerEmail) {
+            retryAt = emailWindow.endsAt();
+        }
+        if (ipWindow != null && ipWindow.attempts() > maxAttemptsPerIp) {
+            retryAt = Math.max(retryAt, ipWindow.endsAt());
+        }
+        if (retryAt > 0) {
+            throttled.increment();
+            throw new TooManyAttemptsException(Math.max(1, TimeUnit.MILLISECONDS.toSeconds(retryAt - now + 999)));
+        }
+    }
+
+    // A successful login clears the email's count; the address keeps its own
+    public void succeeded(String email) {
+        byEmail.remove(normalize(email));
+    }
+
+    public long throttledCount() {
+        return throttled.sum();
+    }
+
+    @Scheduled(fixedDelayString = "${app.auth.login.cleanup-interval-ms:60000}")
+    void dropExpiredWindows() {
+        long now = System.currentTimeMillis();
+        byEmail.values().removeIf(window -> window.endsAt() <= now);
+        byIp.values().removeIf(window -> window.endsAt() <= now);
+    }
+
+    private Window count(Map<String, Window> windows, String key, long now) {
+        return windows.compute(key, (k, window) -> window == null || window.endsAt() <= now
+                ? new Window(now + TimeUnit.SECONDS.toMillis(windowSeconds), 1)
+                : new Window(window.endsAt(), window.attempts() + 1));
+    }
+
+    private static String normalize(String email) {
+        return email == null ? "" : email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private record Window(long endsAt, int attempts) {}
+
+    public static class TooManyAttemptsException extends IllegalStateException {
+
+        private final long retryAfterSeconds;
+
+        public TooManyAttemptsException(long retryAfterSeconds) {
+            super("Too many login attempts, retry in " + retryAfterSeconds + "s");
+            this.retryAfterSeconds = retryAfterSeconds;
+        }
+
+        public long getRetryAfterSeconds() {
+            return retryAfterSeconds;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.easyserve.service;
+
+import com.easyserve.dto.MenuItemResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.stereotype.Component;
+
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+// Public menu per restaurant, kept as ready-to-send JSON with a version for ETags. A snapshot
+// lives until invalidate() is called for its restaurant; the version moves on every
+// invalidation, so an ETag handed out before a menu change never matches afterwards.
+@Component
+public class MenuCache {
+
+    // Part of every ETag, so versions counted by an earlier run of the service cannot collide
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    // The REST converter, so the cached bytes match what the endpoint would have written
+    @Autowired
+    private MappingJackson2HttpMessageConverter jacksonConverter;
+
+    private final Map<Long, MenuSnapshot> snapshots = new ConcurrentHashMap<>();
+    private final Map<Long, AtomicLong> versions = new ConcurrentHashMap<>();
+
+    // Cached snapshot, or one built from loader. A snapshot built while the menu was being
+    // changed is returned to this caller but not cached.
+    public MenuSnapshot get(Long restaurantId, Supplier<List<MenuItemResponse>> loader) {
+        MenuSnapshot snapshot = snapshots.get(restaurantId);
+        if (snapshot != null) {
+            return snapshot;
+        }
+        AtomicLong version = version(restaurantId);
+        long loadedAt = version.get();
+        List<MenuItemResponse> items = List.copyOf(loader.get());
+        MenuSnapshot built = new MenuSnapshot(loadedAt, "\"" + restaurantId + "-" + epoch + "-" + loadedAt + "\"",
+                toJson(items), items);
+        // Same bin lock as invalidate(), so a change cannot slip in between the check and the put
+        MenuSnapshot cached = snapshots.compute(restaurantId,
+                (id, current) -> current != null ? current : version.get() == loadedAt ? built : null);
+        return cached != null ? cached : built;
+    }
+
+    public void invalidate(Long restaurantId) {
+        snapshots.compute(restaurantId, (id, current) -> {
+            version(id).incrementAndGet();
+            return null;
+        });
+    }
+
+    private AtomicLong version(Long restaurantId) {
+        return versions.computeIfAbsent(restaurantId, id -> new AtomicLong());
+    }
+
+    private byte[] toJson(List<MenuItemResponse> items) {
+        try {
+            return jacksonConverter.getObjectMapper().writeValueAsBytes(items);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // json must not be modified; it is shared by every response for this version
+    public record MenuSnapshot(long version, String etag, byte[] json, List<MenuItemResponse> items) {
+
+        // If-None-Match may hold several tags, weak ones, or *
+        public boolean matches(String ifNoneMatch) {
+            if (ifNoneMatch == null) {
+                return false;
+            }
+            for (String tag : ifNoneMatch.split(",")) {
+                tag = tag.trim();
+                if (tag.startsWith("W/")) {
+                    tag = tag.substring(2);
+                }
+                if (tag.equals("*") || tag.equals(etag)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -17,6 +17,12 @@ public class MenuItemService {
     @Autowired
     private MenuItemRepository menuItemRepository;
 
+    @Autowired
+    private MenuCache menuCache;
+
+    @Autowired
+    private PriceCatalog priceCatalog;
+
     public List<MenuItem> getAllMenuItems() {
         return menuItemRepository.findAll();
     }
@@ -26,11 +32,27 @@ public class MenuItemService {
     }
 
     public MenuItem saveMenuItem(MenuItem menuItem) {
-        return menuItemRepository.save(menuItem);
+        // An item moved to another restaurant leaves that restaurant's menu as well
+        Long previousRestaurantId = menuItem.getId() == null ? null : menuItemRepository.findById(menuItem.getId())
+                .map(item -> item.getRestaurant().getId())
+                .orElse(null);
+        MenuItem saved = menuItemRepository.save(menuItem);
+        menuCache.invalidate(saved.getRestaurant().getId());
+        priceCatalog.refresh(saved);
+        if (previousRestaurantId != null && !previousRestaurantId.equals(saved.getRestaurant().getId())) {
+            menuCache.invalidate(previousRestaurantId);
+            priceCatalog.remove(previousRestaurantId, saved.getId());
+        }
+        return saved;
     }
 
     public void deleteMenuItem(Long id) {
+        Optional<MenuItem> menuItem = menuItemRepository.findById(id);
         menuItemRepository.deleteById(id);
+        menuItem.ifPresent(item -> {
+            menuCache.invalidate(item.getRestaurant().getId());
+            priceCatalog.remove(item.getRestaurant().getId(), id);
+        });
     }
 
     public List<MenuItem> getMenuItemsByCategory(String category) {
@@ -41,19 +63,25 @@ public class MenuItemService {
         return menuItemRepository.findByAvailableTrue();
     }
 
-   public List<MenuItemResponse> getMenuForRestaurant(Long restaurantId) {
-    // TODO: Filter by restaurant when Restaurant relationship is added
-    return menuItemRepository.findByAvailableTrue().stream()
-            .map(menuItem -> {
-                MenuItemResponse response = new MenuItemResponse();
-                response.setId(menuItem.getId());
-                response.setName(menuItem.getName());
-                response.setDescription(menuItem.getDescription());
-                response.setPrice(menuItem.getPrice());
-                response.setCategory(menuItem.getCategory());
-                response.setAvailable(menuItem.getAvailable());
-                return response;
-            })
-            .toList();
-}
+    public List<MenuItemResponse> getMenuForRestaurant(Long restaurantId) {
+        return getMenuSnapshot(restaurantId).items();
+    }
+
+    // Served from MenuCache; the database is only read after the menu has changed
+    public MenuCache.MenuSnapshot getMenuSnapshot(Long restaurantId) {
+        return menuCache.get(restaurantId, () -> menuItemRepository.findByRestaurantIdAndAvailableTrue(restaurantId)
+                .stream()
+                .map(menuItem -> {
+                    MenuItemResponse response = new MenuItemResponse();
+                    response.setId(menuItem.getId());
+                    response.setName(menuItem.getName());
+                    response.setDescription(menuItem.getDescription());
+                    response.setPrice(menuItem.getPrice());
+                    response.setCategory(menuItem.getCategory());
+                    response.setAvailable(menuItem.getAvailable());
+                    response.setPreparationTime(menuItem.getPreparationTime());
+                    return response;
+                })
+                .toList());
+    }
 }
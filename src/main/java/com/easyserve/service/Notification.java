@@ -0,0 +1,19 @@
+package com.easyserve.service;
+
+// One message for one recipient; subject is only used by email
+public record Notification(Channel channel, String recipient, String subject, String body) {
+
+    public enum Channel { EMAIL, SMS, KITCHEN }
+
+    public static Notification email(String to, String subject, String body) {
+        return new Notification(Channel.EMAIL, to, subject, body);
+    }
+
+    public static Notification sms(String phoneNumber, String message) {
+        return new Notification(Channel.SMS, phoneNumber, null, message);
+    }
+
+    public static Notification kitchen(String station, String message) {
+        return new Notification(Channel.KITCHEN, station, null, message);
+    }
+}
@@ -0,0 +1,281 @@
+package com.easyserve.service;
+
+import com.easyserve.service.Notification.Channel;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+// Notification pipeline: one bounded queue per channel, drained by that channel's workers in
+// micro-batches. Settings are read per channel from app.notifications.<channel>.* with the
+// app.notifications.defaults.* values as fallback (same scheme as TableInventory).
+@Component
+public class NotificationDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationDispatcher.class);
+
+    // What submit() does when a channel's queue is full
+    public enum OverflowPolicy {
+        BLOCK,       // wait up to offer-timeout-ms for room, then drop the new message
+        SHED_NEWEST, // drop the new message right away
+        SHED_OLDEST  // make room by dropping the oldest queued message
+    }
+
+    @Autowired
+    private Environment environment;
+
+    @Autowired
+    private NotificationTransport transport;
+
+    @Value("${app.notifications.defaults.queue-capacity:10000}")
+    private int defaultQueueCapacity;
+
+    @Value("${app.notifications.defaults.batch-size:50}")
+    private int defaultBatchSize;
+
+    // How long a worker waits for a batch to fill before sending what it has
+    @Value("${app.notifications.defaults.linger-ms:20}")
+    private long defaultLingerMs;
+
+    @Value("${app.notifications.defaults.concurrency:2}")
+    private int defaultConcurrency;
+
+    @Value("${app.notifications.defaults.overflow:BLOCK}")
+    private OverflowPolicy defaultOverflow;
+
+    @Value("${app.notifications.defaults.offer-timeout-ms:50}")
+    private long defaultOfferTimeoutMs;
+
+    @Value("${app.notifications.defaults.max-attempts:4}")
+    private int defaultMaxAttempts;
+
+    @Value("${app.notifications.defaults.backoff-ms:200}")
+    private long defaultBackoffMs;
+
+    @Value("${app.notifications.defaults.max-backoff-ms:5000}")
+    private long defaultMaxBackoffMs;
+
+    private final Map<Channel, Lane> lanes = new EnumMap<>(Channel.class);
+
+    @PostConstruct
+    void start() {
+        for (Channel channel : Channel.values()) {
+            Lane lane = new Lane(channel);
+            lanes.put(channel, lane);
+            lane.start();
+        }
+    }
+
+    // Whatever is still queued gets one delivery attempt before shutdown completes
+    @PreDestroy
+    void stop() throws InterruptedException {
+        for (Lane lane : lanes.values()) {
+            lane.workers.shutdownNow();
+        }
+        for (Lane lane : lanes.values()) {
+            lane.workers.awaitTermination(5, TimeUnit.SECONDS);
+            List<Notification> rest = new ArrayList<>();
+            lane.queue.drainTo(rest);
+            for (int from = 0; from < rest.size(); from += lane.batchSize) {
+                lane.deliver(rest.subList(from, Math.min(rest.size(), from + lane.batchSize)), 1);
+            }
+        }
+    }
+
+    // Applies the channel's overflow policy; false when the message was shed
+    public boolean submit(Notification notification) {
+        Lane lane = lanes.get(notification.channel());
+        lane.submitted.increment();
+        boolean queued = switch (lane.overflow) {
+            case BLOCK -> offer(lane, notification);
+            case SHED_NEWEST -> lane.queue.offer(notification);
+            case SHED_OLDEST -> {
+                while (!lane.queue.offer(notification)) {
+                    if (lane.queue.poll() != null) {
+                        lane.shed.increment();
+                    }
+                }
+                yield true;
+            }
+        };
+        if (!queued) {
+            lane.shed.increment();
+            log.warn("{} queue full, dropped notification to {}", notification.channel(), notification.recipient());
+        }
+        return queued;
+    }
+
+    // For bulk producers running on their own thread: waits for room instead of shedding,
+    // so a large mailing is paced by the transport rather than filling memory
+    public void submitAll(List<Notification> notifications) {
+        for (Notification notification : notifications) {
+            Lane lane = lanes.get(notification.channel());
+            lane.submitted.increment();
+            try {
+                lane.queue.put(notification);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                lane.shed.increment();
+                return;
+            }
+        }
+    }
+
+    public Map<Channel, LaneMetrics> metrics() {
+        Map<Channel, LaneMetrics> metrics = new EnumMap<>(Channel.class);
+        lanes.forEach((channel, lane) -> metrics.put(channel, new LaneMetrics(lane.queue.size(),
+                lane.submitted.sum(), lane.sent.sum(), lane.batches.sum(), lane.retries.sum(),
+                lane.failed.sum(), lane.shed.sum())));
+        return metrics;
+    }
+
+    private boolean offer(Lane lane, Notification notification) {
+        try {
+            return lane.queue.offer(notification, lane.offerTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.notifications.metrics-log-interval-ms:60000}")
+    void logMetrics() {
+        metrics().forEach((channel, m) -> {
+            if (m.submitted() > 0) {
+                log.info("{} notifications: queued={} submitted={} sent={} batches={} retries={} failed={} shed={}",
+                        channel, m.queued(), m.submitted(), m.sent(), m.batches(), m.retries(), m.failed(), m.shed());
+            }
+        });
+    }
+
+    private <T> T setting(Channel channel, String name, Class<T> type, T fallback) {
+        return environment.getProperty("app.notifications." + channel.name().toLowerCase() + "." + name, type, fallback);
+    }
+
+    public record LaneMetrics(int queued, long submitted, long sent, long batches, long retries,
+                              long failed, long shed) {}
+
+    private final class Lane {
+
+        private final Channel channel;
+        private final BlockingQueue<Notification> queue;
+        private final int batchSize;
+        private final long lingerNanos;
+        private final int concurrency;
+        private final OverflowPolicy overflow;
+        private final long offerTimeoutMs;
+        private final int maxAttempts;
+        private final long backoffMs;
+        private final long maxBackoffMs;
+        private final ExecutorService workers;
+
+        private final LongAdder submitted = new LongAdder();
+        private final LongAdder sent = new LongAdder();
+        private final LongAdder batches = new LongAdder();
+        private final LongAdder retries = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        private final LongAdder shed = new LongAdder();
+
+        Lane(Channel channel) {
+            this.channel = channel;
+            this.queue = new ArrayBlockingQueue<>(setting(channel, "queue-capacity", Integer.class, defaultQueueCapacity));
+            this.batchSize = Math.max(1, setting(channel, "batch-size", Integer.class, defaultBatchSize));
+            this.lingerNanos = TimeUnit.MILLISECONDS.toNanos(setting(channel, "linger-ms", Long.class, defaultLingerMs));
+            this.concurrency = Math.max(1, setting(channel, "concurrency", Integer.class, defaultConcurrency));
+            this.overflow = setting(channel, "overflow", OverflowPolicy.class, defaultOverflow);
+            this.offerTimeoutMs = setting(channel, "offer-timeout-ms", Long.class, defaultOfferTimeoutMs);
+            this.maxAttempts = Math.max(1, setting(channel, "max-attempts", Integer.class, defaultMaxAttempts));
+            this.backoffMs = setting(channel, "backoff-ms", Long.class, defaultBackoffMs);
+            this.maxBackoffMs = setting(channel, "max-backoff-ms", Long.class, defaultMaxBackoffMs);
+
+            AtomicInteger threadIds = new AtomicInteger();
+            String prefix = "notify-" + channel.name().toLowerCase() + "-";
+            this.workers = Executors.newFixedThreadPool(concurrency, r -> {
+                Thread thread = new Thread(r, prefix + threadIds.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+
+        void start() {
+            for (int i = 0; i < concurrency; i++) {
+                workers.execute(this::work);
+            }
+        }
+
+        private void work() {
+            List<Notification> batch = new ArrayList<>(batchSize);
+            try {
+                while (!Thread.currentThread().isInterrupted()) {
+                    batch.add(queue.take());
+                    fill(batch);
+                    deliver(batch, maxAttempts);
+                    batch.clear();
+                }
+            } catch (InterruptedException e) {
+                // Shutting down; stop() sends what is left in the queue
+                for (Notification notification : batch) {
+                    if (!queue.offer(notification)) {
+                        shed.increment();
+                    }
+                }
+            }
+        }
+
+        // Tops the batch up with whatever arrives within the linger time
+        private void fill(List<Notification> batch) throws InterruptedException {
+            long deadline = System.nanoTime() + lingerNanos;
+            while (batch.size() < batchSize) {
+                queue.drainTo(batch, batchSize - batch.size());
+                long remaining = deadline - System.nanoTime();
+                if (batch.size() >= batchSize || remaining <= 0) {
+                    return;
+                }
+                Notification next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                if (next == null) {
+                    return;
+                }
+                batch.add(next);
+            }
+        }
+
+        // Retries with exponential backoff and full jitter, so failed workers do not retry in step
+        private void deliver(List<Notification> batch, int attempts) throws InterruptedException {
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    transport.send(channel, batch);
+                    sent.add(batch.size());
+                    batches.increment();
+                    return;
+                } catch (Exception e) {
+                    if (attempt >= attempts) {
+                        failed.add(batch.size());
+                        log.error("Giving up on {} {} notifications after {} attempts", batch.size(), channel, attempt, e);
+                        return;
+                    }
+                    retries.increment();
+                    long ceiling = Math.min(maxBackoffMs, backoffMs << Math.min(attempt - 1, 20));
+                    Thread.sleep(ThreadLocalRandom.current().nextLong(ceiling + 1));
+                }
+            }
+        }
+    }
+}
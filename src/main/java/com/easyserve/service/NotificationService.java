@@ -1,27 +1,28 @@
 
 package com.easyserve.service;
 
+import com.easyserve.dto.SalesSummaryResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.ArrayList;
 import java.util.List;
 
+// Builds the messages and hands them to NotificationDispatcher, which queues, batches and
+// retries them per channel; callers only wait if a queue is full (see its overflow policy)
 @Service
 public class NotificationService {
 
-    @Value("${app.notifications.email.from:no-reply@easyserve.com}")
-    private String fromEmail;
+    @Autowired
+    private NotificationDispatcher dispatcher;
 
     private static final Logger log = LoggerFactory.getLogger(NotificationService.class);
 
-    // Mock notification methods - perfect for MVP demonstration
-
-    @Async
     public void sendReservationConfirmation(String customerEmail, String customerName, 
                                           String restaurantName, LocalDate date, LocalTime time) {
         String subject = "Reservation Confirmed at " + restaurantName;
@@ -29,10 +30,9 @@ public class NotificationService {
                 ", your reservation on " + date + " at " + time + " is confirmed.";
 
         sendEmail(customerEmail, subject, message);
-        log.info("Reservation confirmation sent to {}", customerEmail);
+        log.info("Reservation confirmation queued for {}", customerEmail);
     }
 
-    @Async
     public void sendOrderStatusUpdate(String customerEmail, String customerPhone, 
                                     Long orderId, String status) {
         String subject = "Order Update - " + orderId;
@@ -40,17 +40,15 @@ public class NotificationService {
         
         sendEmail(customerEmail, subject, message);
         sendSMS(customerPhone, "[EasyServe] " + message);
-        log.info("Order status update sent to {} for order #{}", customerEmail, orderId);
+        log.info("Order status update queued for {} for order #{}", customerEmail, orderId);
     }
 
-    @Async
     public void sendWelcomeEmail(String userEmail, String firstName) {
         String subject = "Welcome to EasyServe!";
         String body = "Hello " + firstName + ",\n\nWelcome to EasyServe. Let's make your restaurant run smarter!";
         sendEmail(userEmail, subject, body);
     }
 
-    @Async
     public void sendReservationCancellation(String customerEmail, String restaurantName) {
         String subject = "Reservation Cancelled";
         String body = "Your reservation at " + restaurantName +
@@ -58,39 +56,40 @@ public class NotificationService {
         sendEmail(customerEmail, subject, body);
     }
 
-    @Async
-    public void sendDailyReport(String restaurantEmail, String restaurantName) {
+    public void sendDailyReport(String restaurantEmail, String restaurantName, SalesSummaryResponse today) {
         String subject = "Daily Report for " + restaurantName;
         String body = "Summary of today's activity at your restaurant:\n\n" +
-                     "• Total Reservations: 12\n" +
-                     "• Total Orders: 8\n" +
-                     "• Revenue: $450.00\n" +
-                     "• No-shows: 1\n\n" +
-                     "This is a mock report for MVP demonstration.";
+                     "• Total Reservations: " + today.getReservations() + "\n" +
+                     "• Total Orders: " + today.getOrders() + "\n" +
+                     "• Completed Orders: " + today.getCompletedOrders() + "\n" +
+                     "• Cancelled Orders: " + today.getCancelledOrders() + "\n" +
+                     "• Revenue: $" + today.getRevenue() + "\n" +
+                     "• Average Order Value: $" + today.getAverageOrderValue() + "\n" +
+                     "• No-shows: " + today.getNoShows() + "\n";
         sendEmail(restaurantEmail, subject, body);
     }
 
+    // Runs on its own thread and waits for queue room, so a big list is paced by the transport
     @Async
     public void sendMarketingMessage(List<String> customerEmails, String restaurantName, String message) {
         String subject = "Exclusive Offer from " + restaurantName;
-        for (String email : customerEmails) {
-            sendEmail(email, subject, message);
-            log.info("Marketing email sent to {}", email);
-        }
+        dispatcher.submitAll(emails(customerEmails, subject, message));
+        log.info("Marketing email queued for {} recipients", customerEmails.size());
     }
 
-    @Async
+    // Walk-ins may leave just a phone number
     public void sendTableReadyNotification(String customerEmail, String customerPhone, 
                                          String restaurantName, int partySize) {
         String subject = "Your Table is Ready!";
         String message = "Hi! Your table for " + partySize + " at " + restaurantName + 
                         " is now ready. Please come to the restaurant.";
         
-        sendEmail(customerEmail, subject, message);
+        if (customerEmail != null && !customerEmail.isBlank()) {
+            sendEmail(customerEmail, subject, message);
+        }
         sendSMS(customerPhone, "[EasyServe] Table ready at " + restaurantName + "!");
     }
 
-    @Async
     public void sendOrderReadyNotification(String customerEmail, String customerPhone, 
                                          Long orderId, String orderType) {
         String subject = "Order Ready - " + orderId;
@@ -104,10 +103,9 @@ public class NotificationService {
         
         sendEmail(customerEmail, subject, message);
         sendSMS(customerPhone, "[EasyServe] " + message);
-        log.info("Order ready notification sent to {} for order #{}", customerEmail, orderId);
+        log.info("Order ready notification queued for {} for order #{}", customerEmail, orderId);
     }
 
-    @Async
     public void sendPasswordResetEmail(String userEmail, String resetToken) {
         String subject = "Password Reset Request";
         String body = "Click the link below to reset your password:\n\n" +
@@ -116,28 +114,23 @@ public class NotificationService {
         sendEmail(userEmail, subject, body);
     }
 
-    // Mock email sending - logs instead of actual email for MVP
     private void sendEmail(String to, String subject, String text) {
-        log.info("=== EMAIL NOTIFICATION ===");
-        log.info("To: {}", to);
-        log.info("From: {}", fromEmail);
-        log.info("Subject: {}", subject);
-        log.info("Body: {}", text);
-        log.info("========================");
-        
-        // In production, this would actually send email
-        // For MVP, we just log it to show the functionality works
+        dispatcher.submit(Notification.email(to, subject, text));
     }
 
-    // Mock SMS sending - logs instead of actual SMS for MVP
+    // Customers without a phone number simply get no SMS
     private void sendSMS(String phoneNumber, String message) {
-        log.info("=== SMS NOTIFICATION ===");
-        log.info("To: {}", phoneNumber);
-        log.info("Message: {}", message);
-        log.info("======================");
-        
-        // In production, this would integrate with Twilio or similar service
-        // For MVP, we just log it to demonstrate the functionality
+        if (phoneNumber != null && !phoneNumber.isBlank()) {
+            dispatcher.submit(Notification.sms(phoneNumber, message));
+        }
+    }
+
+    private static List<Notification> emails(List<String> recipients, String subject, String message) {
+        List<Notification> notifications = new ArrayList<>(recipients.size());
+        for (String email : recipients) {
+            notifications.add(Notification.email(email, subject, message));
+        }
+        return notifications;
     }
 
     // Utility methods for testing
@@ -147,30 +140,22 @@ public class NotificationService {
 
     @Async
     public void sendBulkNotification(List<String> emails, String subject, String message) {
-        for (String email : emails) {
-            sendEmail(email, subject, message);
-        }
-        log.info("Bulk notification sent to {} recipients", emails.size());
+        dispatcher.submitAll(emails(emails, subject, message));
+        log.info("Bulk notification queued for {} recipients", emails.size());
     }
 
     // Business notification methods
-    @Async
     public void notifyStaffNewReservation(String staffEmail, String customerName, LocalDate date, LocalTime time) {
         String subject = "New Reservation Alert";
         String message = "New reservation: " + customerName + " for " + date + " at " + time;
         sendEmail(staffEmail, subject, message);
     }
 
-    @Async
     public void notifyKitchenNewOrder(Long orderId, String orderDetails) {
-        log.info("=== KITCHEN NOTIFICATION ===");
-        log.info("New Order: {}", orderId);
-        log.info("Details: {}", orderDetails);
-        log.info("===========================");
+        dispatcher.submit(Notification.kitchen("kitchen", "New Order: " + orderId + " - " + orderDetails));
     }
 
     // Additional methods needed by OrderService and other services
-    @Async
     public void sendReservationConfirmation(String customerEmail, String customerPhone, 
                                           Long reservationId, String restaurantName, 
                                           String dateTime, int partySize) {
@@ -182,15 +167,14 @@ public class NotificationService {
         if (customerPhone != null && !customerPhone.isEmpty()) {
             sendSMS(customerPhone, "[EasyServe] " + message);
         }
-        log.info("Reservation confirmation sent to {} for reservation #{}", customerEmail, reservationId);
+        log.info("Reservation confirmation queued for {} for reservation #{}", customerEmail, reservationId);
     }
 
-    @Async
     public void sendWelcomeNotification(String customerEmail, String customerName) {
         String subject = "Welcome to EasyServe!";
         String message = String.format("Welcome to EasyServe, %s! Thank you for joining us.", customerName);
         
         sendEmail(customerEmail, subject, message);
-        log.info("Welcome notification sent to {} ({})", customerName, customerEmail);
+        log.info("Welcome notification queued for {} ({})", customerName, customerEmail);
     }
 }
\ No newline at end of file
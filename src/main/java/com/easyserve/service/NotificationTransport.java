@@ -0,0 +1,11 @@
+package com.easyserve.service;
+
+import java.io.IOException;
+import java.util.List;
+
+// Delivers a batch of notifications of one channel. A failure applies to the whole batch,
+// which NotificationDispatcher then retries.
+public interface NotificationTransport {
+
+    void send(Notification.Channel channel, List<Notification> batch) throws IOException;
+}
@@ -4,18 +4,31 @@ package com.easyserve.service;
 
 import com.easyserve.dto.*;
 import com.easyserve.dto.OrderDTO.OrderItemDTO;
+import com.easyserve.model.Money;
 import com.easyserve.model.OrderStatus;
 import com.easyserve.model.OrderType;
+import com.easyserve.repository.OrderQuery;
+import com.easyserve.repository.OrderStore;
+import com.easyserve.service.KitchenFeed.EventType;
+import com.easyserve.service.KitchenStatsTracker.KitchenSnapshot;
+import com.fasterxml.jackson.core.JsonGenerator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.EnumSet;
 import java.util.List;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicLong;
-import java.time.Duration;
+import java.util.Set;
 
 
 @Service
@@ -24,49 +37,64 @@ public class OrderService {
     @Autowired
     private NotificationService notificationService;
 
-    // Mock storage for orders (in-memory for MVP)
-    private final Map<Long, OrderDTO> orders = new ConcurrentHashMap<>();
-    private final AtomicLong orderIdGenerator = new AtomicLong(1);
-    
-    // Mock menu items with prices
-    private final Map<Long, BigDecimal> menuItemPrices = new ConcurrentHashMap<>();
-
-    public OrderService() {
-        // Initialize some mock menu items for testing
-        menuItemPrices.put(1L, new BigDecimal("12.99")); // Burger
-        menuItemPrices.put(2L, new BigDecimal("8.99"));  // Pizza
-        menuItemPrices.put(3L, new BigDecimal("6.99"));  // Salad
-        menuItemPrices.put(4L, new BigDecimal("4.99"));  // Fries
-        menuItemPrices.put(5L, new BigDecimal("2.99"));  // Drink
-    }
+    @Autowired
+    private OrderStore orderStore;
+
+    @Autowired
+    private KitchenStatsTracker kitchenStatsTracker;
+
+    @Autowired
+    private KitchenFeed kitchenFeed;
+
+    @Autowired
+    private PriceCatalog priceCatalog;
+
+    @Autowired
+    private SalesRollupService salesRollupService;
+
+    // The REST converter, so exported lines match the listing's JSON
+    @Autowired
+    private MappingJackson2HttpMessageConverter jacksonConverter;
+
+    // 10% tax, rounded half up to the cent
+    private static final long TAX_RATE_BASIS_POINTS = 1000;
+
+    private static final int MAX_PAGE_SIZE = 200;
+
+    private static final Set<OrderStatus> ACTIVE_STATUSES =
+            EnumSet.of(OrderStatus.PENDING, OrderStatus.CONFIRMED, OrderStatus.PREPARING);
 
     public OrderDTO createOrder(OrderDTO dto) {
-        // Generate new order ID
-        Long orderId = orderIdGenerator.getAndIncrement();
-        dto.setId(orderId);
-        
         // Calculate pricing
-        BigDecimal subtotal = calculateSubtotal(dto.getItems());
-        BigDecimal tax = subtotal.multiply(new BigDecimal("0.10")); // 10% tax
-        BigDecimal total = subtotal.add(tax);
+        long subtotal = priceCatalog.subtotalCents(dto.getRestaurantId(), dto.getItems());
+        long tax = Money.percentage(subtotal, TAX_RATE_BASIS_POINTS, RoundingMode.HALF_UP);
+        long total = Money.plus(subtotal, tax);
         
         // Set calculated values
-        dto.setSubtotal(subtotal);
-        dto.setTax(tax);
-        dto.setTotal(total);
+        dto.setSubtotal(Money.toBigDecimal(subtotal));
+        dto.setTax(Money.toBigDecimal(tax));
+        dto.setTotal(Money.toBigDecimal(total));
         dto.setStatus(OrderStatus.PENDING);
         dto.setEstimatedTime(LocalDateTime.now().plusMinutes(30));
         dto.setCreatedAt(LocalDateTime.now());
         dto.setUpdatedAt(LocalDateTime.now());
 
-        // Save order
-        orders.put(orderId, dto);
+        // Save order (assigns the order ID and indexes it)
+        kitchenStatsTracker.recordCreated(dto);
+        try {
+            orderStore.insert(dto);
+        } catch (RuntimeException e) {
+            kitchenStatsTracker.discardCreated(dto);
+            throw e;
+        }
+        salesRollupService.orderCreated(dto);
+        kitchenFeed.publish(EventType.CREATED, dto, calculateKitchenStats(dto.getRestaurantId()));
 
         // Send confirmation notification
         notificationService.sendOrderStatusUpdate(
             dto.getCustomerEmail(), 
             dto.getCustomerPhone(), 
-            orderId, 
+            dto.getId(), 
             "CONFIRMED"
         );
 
@@ -74,13 +102,26 @@ public class OrderService {
     }
 
     public OrderDTO updateOrderStatus(Long orderId, OrderStatus newStatus) {
-        OrderDTO order = orders.get(orderId);
-        if (order == null) {
-            throw new IllegalArgumentException("Order not found: " + orderId);
-        }
+        return updateOrderStatus(orderId, newStatus, null);
+    }
 
-        order.setStatus(newStatus);
-        order.setUpdatedAt(LocalDateTime.now());
+    // Throws OrderTransitionException when the order cannot move to newStatus from the status it
+    // has at the moment of the update, and OptimisticLockingFailureException when it is no
+    // longer at expectedVersion (If-Match; null to skip the check)
+    public OrderDTO updateOrderStatus(Long orderId, OrderStatus newStatus, Long expectedVersion) {
+        OrderStatus[] previous = new OrderStatus[1];
+        LocalDateTime now = LocalDateTime.now();
+        OrderDTO order = orderStore.update(orderId, o -> {
+                    checkVersion(o, expectedVersion);
+                    checkTransition(o, newStatus);
+                    previous[0] = o.getStatus();
+                    o.setStatus(newStatus);
+                    o.setUpdatedAt(now);
+                })
+                .orElseThrow(() -> new IllegalArgumentException("Order not found: " + orderId));
+        kitchenStatsTracker.recordTransition(order, previous[0], newStatus, now);
+        salesRollupService.orderStatusChanged(order, previous[0], newStatus);
+        kitchenFeed.publish(EventType.STATUS_CHANGED, order, calculateKitchenStats(order.getRestaurantId()));
         
         // Send status update notification
         notificationService.sendOrderStatusUpdate(
@@ -93,81 +134,116 @@ public class OrderService {
         return order;
     }
 
-    public List<OrderDTO> filterOrders(Long restaurantId, OrderStatus status, OrderType type, 
-                                      LocalDateTime from, LocalDateTime to, Long customerId) {
-        return orders.values().stream()
-                .filter(order -> restaurantId == null || order.getRestaurantId().equals(restaurantId))
-                .filter(order -> status == null || order.getStatus().equals(status))
-                .filter(order -> type == null || order.getOrderType().equals(type))
-                .filter(order -> from == null || order.getCreatedAt().isAfter(from))
-                .filter(order -> to == null || order.getCreatedAt().isBefore(to))
-                .filter(order -> customerId == null || order.getCustomerId().equals(customerId))
-                .sorted((o1, o2) -> o2.getCreatedAt().compareTo(o1.getCreatedAt()))
-                .toList();
+    // cursor is the nextCursor of the previous page, or null for the first page
+    public OrderPage listOrders(Long restaurantId, OrderStatus status, OrderType type, LocalDateTime from,
+                                LocalDateTime to, Long customerId, int size, String cursor) {
+        int limit = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        Long beforeId = cursor == null || cursor.isBlank() ? null : decodeCursor(cursor);
+
+        // One row more than the page shows whether another page follows
+        List<OrderDTO> rows = orderStore.findPage(
+                new OrderQuery(restaurantId, status, type, from, to, customerId, beforeId, limit + 1));
+        boolean hasNext = rows.size() > limit;
+        List<OrderDTO> content = hasNext ? rows.subList(0, limit) : rows;
+        String nextCursor = hasNext ? encodeCursor(content.get(limit - 1).getId()) : null;
+        return new OrderPage(List.copyOf(content), content.size(), nextCursor);
+    }
+
+    // Every matching order as one JSON object per line, newest first, written as the store
+    // reads them
+    public void exportOrders(Long restaurantId, OrderStatus status, OrderType type, LocalDateTime from,
+                             LocalDateTime to, Long customerId, OutputStream out) throws IOException {
+        OrderQuery query = new OrderQuery(restaurantId, status, type, from, to, customerId, null, 1);
+        try (JsonGenerator generator = jacksonConverter.getObjectMapper().getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // Lines end with a newline instead of the default space between root values
+            generator.setRootValueSeparator(null);
+            orderStore.export(query, order -> {
+                try {
+                    generator.writeObject(order);
+                    generator.writeRaw('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    // Opaque to clients: the id of the last order shown, base64url
+    private static String encodeCursor(Long orderId) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(
+                orderId.toString().getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static Long decodeCursor(String cursor) {
+        try {
+            return Long.parseLong(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII));
+        } catch (IllegalArgumentException e) {
+            // Covers NumberFormatException and bad base64
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+        }
     }
 
     public List<OrderDTO> getOrdersForKitchen(Long restaurantId) {
         // Return active orders for kitchen display
-        return orders.values().stream()
-                .filter(order -> order.getRestaurantId().equals(restaurantId))
-                .filter(order -> isActiveStatus(order.getStatus()))
+        return orderStore.findByRestaurantAndStatusIn(restaurantId, ACTIVE_STATUSES).stream()
                 .sorted((o1, o2) -> o1.getCreatedAt().compareTo(o2.getCreatedAt()))
                 .toList();
     }
 
+    // Read from counters kept by KitchenStatsTracker, so the cost does not grow with the order count
     public KitchenStatsResponse calculateKitchenStats(Long restaurantId) {
-        List<OrderDTO> todayOrders = getTodaysOrders(restaurantId);
-        
-        int totalActive = (int) todayOrders.stream()
-                .filter(order -> isActiveStatus(order.getStatus()))
-                .count();
-        
-        int preparing = (int) todayOrders.stream()
-                .filter(order -> OrderStatus.PREPARING.equals(order.getStatus()))
-                .count();
-        
-        int ready = (int) todayOrders.stream()
-                .filter(order -> OrderStatus.READY.equals(order.getStatus()))
-                .count();
-        
-        int completed = (int) todayOrders.stream()
-                .filter(order -> OrderStatus.COMPLETED.equals(order.getStatus()))
-                .count();
-        
-        // Simple average preparation time calculation
- double avgPrepTime = 25.0; // Mock value
-
-KitchenStatsResponse response = new KitchenStatsResponse();
-response.setTotalActiveOrders(totalActive);
-response.setOrdersInPreparation(preparing);
-response.setOrdersReady(ready);
-response.setOrdersCompleted(completed);
-response.setAveragePreparationTime(Duration.ofMinutes((long) avgPrepTime)); //  Fixed
-response.setTotalOrdersToday(todayOrders.size());
-return response;
+        KitchenSnapshot today = kitchenStatsTracker.snapshot(restaurantId, LocalDate.now());
+
+        int totalActive = 0;
+        for (OrderStatus status : ACTIVE_STATUSES) {
+            totalActive += (int) today.count(status);
+        }
+        int completed = (int) today.count(OrderStatus.COMPLETED);
+
+        KitchenStatsResponse response = new KitchenStatsResponse();
+        response.setActiveOrders(totalActive);
+        response.setPendingOrders((int) today.count(OrderStatus.PENDING));
+        response.setCompletedTodayOrders(completed);
+        response.setTotalActiveOrders(totalActive);
+        response.setOrdersInPreparation((int) today.count(OrderStatus.PREPARING));
+        response.setOrdersReady((int) today.count(OrderStatus.READY));
+        response.setOrdersCompleted(completed);
+        response.setAveragePreparationTime(today.averagePrepTime());
+        // Percentage of today's preparations that met the target time
+        response.setEfficiency(Math.round(today.onTimeRate() * 1000) / 10.0);
+        response.setTotalOrdersToday((int) today.total());
+        return response;
     }
 
 
     public List<OrderDTO> getOrderHistory(Long customerId) {
-        // Mock customer order history by customer ID
-        return orders.values().stream()
-                .filter(order -> customerId.equals(order.getCustomerId()))
+        return orderStore.findByCustomer(customerId).stream()
                 .sorted((o1, o2) -> o2.getCreatedAt().compareTo(o1.getCreatedAt()))
                 .toList();
     }
 
-    public void cancelOrder(Long orderId, String reason) {
-        OrderDTO order = orders.get(orderId);
-        if (order == null) {
-            throw new IllegalArgumentException("Order not found: " + orderId);
-        }
-
-        order.setStatus(OrderStatus.CANCELLED);
-        order.setSpecialInstructions(
-            (order.getSpecialInstructions() != null ? order.getSpecialInstructions() + " | " : "") + 
-            "Cancelled: " + reason
-        );
-        order.setUpdatedAt(LocalDateTime.now());
+    // Throws OrderTransitionException once the kitchen has started on the order
+    public void cancelOrder(Long orderId, String reason, Long expectedVersion) {
+        OrderStatus[] previous = new OrderStatus[1];
+        LocalDateTime now = LocalDateTime.now();
+        OrderDTO order = orderStore.update(orderId, o -> {
+                    checkVersion(o, expectedVersion);
+                    checkTransition(o, OrderStatus.CANCELLED);
+                    previous[0] = o.getStatus();
+                    o.setStatus(OrderStatus.CANCELLED);
+                    o.setSpecialInstructions(
+                        (o.getSpecialInstructions() != null ? o.getSpecialInstructions() + " | " : "") + 
+                        "Cancelled: " + reason
+                    );
+                    o.setUpdatedAt(now);
+                })
+                .orElseThrow(() -> new IllegalArgumentException("Order not found: " + orderId));
+        kitchenStatsTracker.recordTransition(order, previous[0], OrderStatus.CANCELLED, now);
+        salesRollupService.orderStatusChanged(order, previous[0], OrderStatus.CANCELLED);
+        kitchenFeed.publish(EventType.CANCELLED, order, calculateKitchenStats(order.getRestaurantId()));
 
         // Send cancellation notification
         notificationService.sendOrderStatusUpdate(
@@ -178,64 +254,57 @@ return response;
         );
     }
 
-    public OrderDTO getOrderById(Long orderId) {
-        OrderDTO order = orders.get(orderId);
-        if (order == null) {
-            throw new IllegalArgumentException("Order not found: " + orderId);
+    // Both checks run inside the store's update, so they see the version and status the change
+    // is applied to
+    private static void checkVersion(OrderDTO order, Long expectedVersion) {
+        if (expectedVersion != null && expectedVersion != order.getVersion()) {
+            throw new OptimisticLockingFailureException(
+                    "Order " + order.getId() + " is at version " + order.getVersion() + ", not " + expectedVersion);
         }
-        return order;
+    }
+
+    private static void checkTransition(OrderDTO order, OrderStatus newStatus) {
+        if (order.getStatus() == null || !order.getStatus().canTransitionTo(newStatus)) {
+            throw new OrderTransitionException(
+                    "Order " + order.getId() + " cannot move from " + order.getStatus() + " to " + newStatus);
+        }
+    }
+
+    public OrderDTO getOrderById(Long orderId) {
+        return orderStore.findById(orderId)
+                .orElseThrow(() -> new IllegalArgumentException("Order not found: " + orderId));
     }
 
     public List<OrderDTO> getTodaysOrders(Long restaurantId) {
-        LocalDateTime startOfDay = LocalDateTime.now().withHour(0).withMinute(0).withSecond(0);
-        LocalDateTime endOfDay = LocalDateTime.now().withHour(23).withMinute(59).withSecond(59);
+        LocalDateTime startOfDay = LocalDate.now().atStartOfDay();
+        LocalDateTime endOfDay = startOfDay.plusDays(1);
 
-        return orders.values().stream()
-                .filter(order -> order.getRestaurantId().equals(restaurantId))
-                .filter(order -> order.getCreatedAt().isAfter(startOfDay) && 
+        return orderStore.findByRestaurantAndCreatedAtBetween(restaurantId, startOfDay, endOfDay).stream()
+                .filter(order -> !order.getCreatedAt().isBefore(startOfDay) &&
                                order.getCreatedAt().isBefore(endOfDay))
                 .sorted((o1, o2) -> o2.getCreatedAt().compareTo(o1.getCreatedAt()))
                 .toList();
     }
 
-    public BigDecimal calculateSubtotal(List<OrderItemDTO> items) {
-        if (items == null || items.isEmpty()) {
-            return BigDecimal.ZERO;
-        }
-
-        return items.stream()
-                .map(item -> {
-                    BigDecimal price = menuItemPrices.getOrDefault(item.getMenuItemId(), new BigDecimal("9.99"));
-                    return price.multiply(BigDecimal.valueOf(item.getQuantity()));
-                })
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-    }
-
-    // Business helper methods
-    private boolean isActiveStatus(OrderStatus status) {
-        return OrderStatus.PENDING.equals(status) || 
-               OrderStatus.CONFIRMED.equals(status) || 
-               OrderStatus.PREPARING.equals(status);
+    // Priced from the restaurant's menu in cents; only the result becomes a BigDecimal
+    public BigDecimal calculateSubtotal(Long restaurantId, List<OrderItemDTO> items) {
+        return Money.toBigDecimal(priceCatalog.subtotalCents(restaurantId, items));
     }
 
+    // Advisory only: cancelOrder checks again against the status it actually changes
     public boolean canCancelOrder(Long orderId) {
-        OrderDTO order = orders.get(orderId);
-        return order != null && 
-               (OrderStatus.PENDING.equals(order.getStatus()) || OrderStatus.CONFIRMED.equals(order.getStatus()));
+        OrderDTO order = orderStore.findById(orderId).orElse(null);
+        return order != null && order.canBeCancelled();
     }
 
     public void markOrderReady(Long orderId) {
-        updateOrderStatus(orderId, OrderStatus.READY);
-        
-        OrderDTO order = orders.get(orderId);
-        if (order != null) {
-            notificationService.sendOrderReadyNotification(
-                order.getCustomerEmail(),
-                order.getCustomerPhone(),
-                orderId,
-                order.getOrderType().toString()
-            );
-        }
+        OrderDTO order = updateOrderStatus(orderId, OrderStatus.READY);
+        notificationService.sendOrderReadyNotification(
+            order.getCustomerEmail(),
+            order.getCustomerPhone(),
+            orderId,
+            order.getOrderType().toString()
+        );
     }
 
     public void completeOrder(Long orderId) {
@@ -244,30 +313,39 @@ return response;
 
     // Analytics methods
     public int getTotalOrdersToday(Long restaurantId) {
-        return getTodaysOrders(restaurantId).size();
+        return (int) kitchenStatsTracker.snapshot(restaurantId, LocalDate.now()).total();
     }
 
     public BigDecimal getTotalRevenueToday(Long restaurantId) {
-        return getTodaysOrders(restaurantId).stream()
-                .filter(order -> OrderStatus.COMPLETED.equals(order.getStatus()))
-                .map(OrderDTO::getTotal)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        long revenue = 0;
+        for (OrderDTO order : getTodaysOrders(restaurantId)) {
+            if (OrderStatus.COMPLETED.equals(order.getStatus())) {
+                revenue = Money.plus(revenue, order.getTotalCents());
+            }
+        }
+        return Money.toBigDecimal(revenue);
     }
 
     public BigDecimal getAverageOrderValue(Long restaurantId) {
-        List<OrderDTO> completedOrders = orders.values().stream()
-                .filter(order -> order.getRestaurantId().equals(restaurantId))
-                .filter(order -> OrderStatus.COMPLETED.equals(order.getStatus()))
-                .toList();
+        List<OrderDTO> completedOrders = orderStore.findByRestaurantAndStatus(restaurantId, OrderStatus.COMPLETED);
 
         if (completedOrders.isEmpty()) {
             return BigDecimal.ZERO;
         }
 
-        BigDecimal totalRevenue = completedOrders.stream()
-                .map(OrderDTO::getTotal)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        long totalRevenue = 0;
+        for (OrderDTO order : completedOrders) {
+            totalRevenue = Money.plus(totalRevenue, order.getTotalCents());
+        }
+        return Money.toBigDecimal(Money.divide(totalRevenue, completedOrders.size(), RoundingMode.HALF_UP));
+    }
 
-        return totalRevenue.divide(BigDecimal.valueOf(completedOrders.size()), 2, BigDecimal.ROUND_HALF_UP);
+    // Not an IllegalStateException: it is thrown inside the store's update, and the repository
+    // exception translation would turn that into an InvalidDataAccessApiUsageException
+    public static class OrderTransitionException extends RuntimeException {
+
+        public OrderTransitionException(String message) {
+            super(message);
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,139 @@
+package com.easyserve.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+// All BCrypt work runs on this pool, so a burst of logins queues here instead of tying up
+// request threads. The queue is bounded: once it is full, submit() fails right away and the
+// caller answers 503 rather than letting logins pile up behind each other.
+@Component
+public class PasswordHasher {
+
+    private static final Logger log = LoggerFactory.getLogger(PasswordHasher.class);
+
+    // Work factor for new hashes; stored hashes with another cost are rehashed on the next login
+    @Value("${app.auth.bcrypt.cost:10}")
+    private int cost;
+
+    // 0 means one worker per core; hashing is CPU bound, more threads do not help
+    @Value("${app.auth.hash.threads:0}")
+    private int threads;
+
+    @Value("${app.auth.hash.queue-capacity:64}")
+    private int queueCapacity;
+
+    private BCryptPasswordEncoder encoder;
+    private ThreadPoolExecutor workers;
+
+    private final LongAdder hashes = new LongAdder();
+    private final LongAdder hashNanos = new LongAdder();
+    private final AtomicLong maxHashNanos = new AtomicLong();
+    private final LongAdder rejected = new LongAdder();
+
+    @PostConstruct
+    void start() {
+        encoder = new BCryptPasswordEncoder(cost);
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadIds = new AtomicInteger();
+        workers = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)), r -> {
+                    Thread thread = new Thread(r, "password-hash-" + threadIds.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    void stop() {
+        workers.shutdownNow();
+    }
+
+    // Throws RejectedExecutionException when the pool and its queue are full
+    public <T> CompletableFuture<T> submit(Supplier<T> work) {
+        try {
+            return CompletableFuture.supplyAsync(work, workers);
+        } catch (RuntimeException e) {
+            rejected.increment();
+            throw e;
+        }
+    }
+
+    // For the rare hashing outside login (registration, password changes): still bounded by the
+    // pool, the caller just waits for the result
+    public String encodeOnPool(String rawPassword) {
+        return submit(() -> encode(rawPassword)).join();
+    }
+
+    // The methods below run on the calling thread; use them from work handed to submit()
+    public boolean matches(String rawPassword, String hash) {
+        long start = System.nanoTime();
+        try {
+            return encoder.matches(rawPassword, hash);
+        } finally {
+            record(System.nanoTime() - start);
+        }
+    }
+
+    public String encode(String rawPassword) {
+        long start = System.nanoTime();
+        try {
+            return encoder.encode(rawPassword);
+        } finally {
+            record(System.nanoTime() - start);
+        }
+    }
+
+    // True when the hash was made with a different cost than the configured one, in either
+    // direction, so lowering the cost also takes effect as users log in
+    public boolean needsRehash(String hash) {
+        // $2a$10$... - the cost is the two digits after the second '$'
+        if (hash == null || hash.length() < 7 || hash.charAt(0) != '$' || hash.charAt(3) != '$') {
+            return true;
+        }
+        try {
+            return Integer.parseInt(hash.substring(4, 6)) != cost;
+        } catch (NumberFormatException e) {
+            return true;
+        }
+    }
+
+    public HashMetrics metrics() {
+        long count = hashes.sum();
+        return new HashMetrics(cost, workers.getQueue().size(), workers.getActiveCount(), count,
+                count == 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(hashNanos.sum() / count) / 1000.0,
+                TimeUnit.NANOSECONDS.toMicros(maxHashNanos.get()) / 1000.0, rejected.sum());
+    }
+
+    @Scheduled(fixedDelayString = "${app.auth.hash.metrics-log-interval-ms:60000}")
+    void logMetrics() {
+        HashMetrics m = metrics();
+        if (m.hashes() > 0 || m.rejected() > 0) {
+            log.info("Password hashing: cost={} queued={} active={} hashes={} avgMs={} maxMs={} rejected={}",
+                    m.cost(), m.queued(), m.active(), m.hashes(), m.averageMillis(), m.maxMillis(), m.rejected());
+        }
+    }
+
+    private void record(long nanos) {
+        hashes.increment();
+        hashNanos.add(nanos);
+        maxHashNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    public record HashMetrics(int cost, int queued, int active, long hashes, double averageMillis,
+                              double maxMillis, long rejected) {}
+}
@@ -0,0 +1,177 @@
+package com.easyserve.service;
+
+import com.easyserve.dto.OrderDTO.OrderItemDTO;
+import com.easyserve.model.MenuItem;
+import com.easyserve.model.Money;
+import com.easyserve.repository.MenuItemRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Prices of the orderable (available) menu items, per restaurant, in cents. A restaurant's
+// prices are loaded from the menu on first use and then kept current item by item through
+// MenuItemService, so pricing an order never goes to the database.
+@Component
+public class PriceCatalog {
+
+    @Autowired
+    private MenuItemRepository menuItemRepository;
+
+    private final Map<Long, PriceTable> tables = new ConcurrentHashMap<>();
+
+    // Sum of price * quantity over the items, in cents. Unknown or unavailable items are
+    // rejected rather than priced with a guess.
+    public long subtotalCents(Long restaurantId, List<OrderItemDTO> items) {
+        if (items == null || items.isEmpty()) {
+            return 0;
+        }
+        if (restaurantId == null) {
+            throw new IllegalArgumentException("Order has no restaurant");
+        }
+        PriceTable prices = table(restaurantId);
+        long subtotal = 0;
+        for (OrderItemDTO item : items) {
+            Long menuItemId = item.getMenuItemId();
+            long cents = menuItemId == null ? -1 : prices.get(menuItemId);
+            if (cents < 0) {
+                throw new IllegalArgumentException("Menu item not found: " + menuItemId);
+            }
+            Integer quantity = item.getQuantity();
+            if (quantity == null || quantity < 1) {
+                throw new IllegalArgumentException("Invalid quantity for menu item " + menuItemId + ": " + quantity);
+            }
+            subtotal = Money.plus(subtotal, Money.times(cents, quantity));
+        }
+        return subtotal;
+    }
+
+    // Price in cents, or -1 when the item cannot be ordered
+    public long priceCents(Long restaurantId, long menuItemId) {
+        return table(restaurantId).get(menuItemId);
+    }
+
+    // Called after a menu item was saved. Restaurants not loaded yet are left alone; they read
+    // the saved item when they load.
+    public void refresh(MenuItem menuItem) {
+        Long restaurantId = menuItem.getRestaurant().getId();
+        if (Boolean.TRUE.equals(menuItem.getAvailable()) && menuItem.getPrice() != null) {
+            long cents = Money.toCents(menuItem.getPrice());
+            tables.computeIfPresent(restaurantId, (id, table) -> table.with(menuItem.getId(), cents));
+        } else {
+            remove(restaurantId, menuItem.getId());
+        }
+    }
+
+    public void remove(Long restaurantId, Long menuItemId) {
+        tables.computeIfPresent(restaurantId, (id, table) -> table.without(menuItemId));
+    }
+
+    // Writers go through the map's per-key lock, so a refresh cannot be lost to a load in progress
+    private PriceTable table(Long restaurantId) {
+        PriceTable table = tables.get(restaurantId);
+        return table != null ? table : tables.computeIfAbsent(restaurantId, this::load);
+    }
+
+    private PriceTable load(Long restaurantId) {
+        List<MenuItem> menu = menuItemRepository.findByRestaurantId(restaurantId);
+        long[] ids = new long[menu.size()];
+        long[] cents = new long[menu.size()];
+        int count = 0;
+        for (MenuItem item : menu) {
+            if (Boolean.TRUE.equals(item.getAvailable()) && item.getPrice() != null) {
+                ids[count] = item.getId();
+                cents[count] = Money.toCents(item.getPrice());
+                count++;
+            }
+        }
+        return PriceTable.of(ids, cents, count);
+    }
+
+    // Open-addressing long -> long map, never modified once built; updates copy it, which is
+    // cheap at menu sizes and keeps lookups free of locks and boxing. Id 0 marks an empty slot
+    // (menu item ids start at 1).
+    static final class PriceTable {
+
+        private final long[] keys;
+        private final long[] values;
+        private final int mask;
+        private final int size;
+
+        private PriceTable(int expected) {
+            int capacity = Integer.highestOneBit(Math.max(4, expected * 2 - 1)) << 1;
+            this.keys = new long[capacity];
+            this.values = new long[capacity];
+            this.mask = capacity - 1;
+            this.size = expected;
+        }
+
+        static PriceTable of(long[] ids, long[] cents, int count) {
+            PriceTable table = new PriceTable(count);
+            for (int i = 0; i < count; i++) {
+                table.put(ids[i], cents[i]);
+            }
+            return table;
+        }
+
+        long get(long id) {
+            if (id <= 0) {
+                return -1;
+            }
+            for (int slot = slot(id); ; slot = (slot + 1) & mask) {
+                long key = keys[slot];
+                if (key == id) {
+                    return values[slot];
+                }
+                if (key == 0) {
+                    return -1;
+                }
+            }
+        }
+
+        PriceTable with(long id, long cents) {
+            boolean present = get(id) >= 0;
+            PriceTable copy = new PriceTable(present ? size : size + 1);
+            copyInto(copy, 0);
+            copy.put(id, cents);
+            return copy;
+        }
+
+        PriceTable without(long id) {
+            if (get(id) < 0) {
+                return this;
+            }
+            PriceTable copy = new PriceTable(size - 1);
+            copyInto(copy, id);
+            return copy;
+        }
+
+        private void copyInto(PriceTable target, long skipId) {
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] != 0 && keys[i] != skipId) {
+                    target.put(keys[i], values[i]);
+                }
+            }
+        }
+
+        // Only used while building
+        private void put(long id, long cents) {
+            if (id <= 0) {
+                return;
+            }
+            int slot = slot(id);
+            while (keys[slot] != 0 && keys[slot] != id) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = id;
+            values[slot] = cents;
+        }
+
+        private int slot(long id) {
+            long h = id * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32)) & mask;
+        }
+    }
+}
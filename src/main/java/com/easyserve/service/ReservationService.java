@@ -3,46 +3,82 @@ package com.easyserve.service;
 
 import com.easyserve.dto.AvailabilityResponse;
 import com.easyserve.dto.ReservationDTO;
+import com.easyserve.dto.ReservationPage;
+import com.easyserve.dto.WaitlistEntryDTO;
+import com.easyserve.repository.ReservationQuery;
+import com.easyserve.repository.ReservationQuery.Position;
+import com.easyserve.repository.ReservationStore;
+import com.easyserve.service.SeatInventory.SeatHold;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
-import org.springframework.data.domain.Pageable;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Base64;
 import java.util.List;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.Objects;
+import java.util.Set;
 import java.time.LocalDateTime;
 
 @Service
 public class ReservationService {
 
+    private static final Logger log = LoggerFactory.getLogger(ReservationService.class);
+
     @Autowired
     private NotificationService notificationService;
 
-    // Mock storage for reservations (in-memory for MVP)
-    private final Map<Long, ReservationDTO> reservations = new ConcurrentHashMap<>();
-    private final AtomicLong reservationIdGenerator = new AtomicLong(1);
+    @Autowired
+    private ReservationStore reservationStore;
+
+    @Autowired
+    private SeatInventory seatInventory;
+
+    @Autowired
+    private SalesRollupService salesRollupService;
+
+    @Autowired
+    private Waitlist waitlist;
+
+    @Autowired
+    private TurnoverModel turnoverModel;
+
+    // Listings are keyset-paged on (date, time, id); both sort keys select that order
+    private static final Set<String> SORT_KEYS = Set.of("reservationDate", "reservationTime");
+    private static final int MAX_PAGE_SIZE = 200;
+
+    // Business hours: 10 AM to 10 PM, every 30 minutes
+    private static final List<LocalTime> TIME_SLOTS = generateTimeSlots();
 
     public ReservationDTO createReservation(ReservationDTO dto) {
-        // Check availability
-        if (!checkAvailability(dto.getRestaurantId(), dto.getReservationDate(), dto.getReservationTime())) {
+        // Seat the party at the smallest free table that fits - this is the availability check
+        SeatHold hold = seatInventory.hold(dto.getRestaurantId(), dto.getReservationDate(),
+                dto.getReservationTime(), dto.getPartySize() != null ? dto.getPartySize() : 1);
+        if (hold == null) {
             throw new IllegalStateException("Time slot not available.");
         }
-
-        // Generate new reservation ID
-        Long reservationId = reservationIdGenerator.getAndIncrement();
-        dto.setId(reservationId);
+        dto.setTableNumber(hold.tableNumber());
         dto.setStatus("CONFIRMED");
         dto.setSource("ONLINE");
         dto.setCreatedAt(LocalDateTime.now());
         dto.setUpdatedAt(LocalDateTime.now());
 
-        // Save reservation
-        reservations.put(reservationId, dto);
+        // Save reservation (the store assigns the id), giving the table back if that fails
+        try {
+            reservationStore.insert(dto);
+        } catch (RuntimeException e) {
+            seatInventory.releaseHold(hold);
+            throw e;
+        }
+        seatInventory.bind(dto.getId(), hold);
+        salesRollupService.reservationCreated(dto);
 
         // Send confirmation notification
         notificationService.sendReservationConfirmation(
@@ -57,52 +93,91 @@ public class ReservationService {
     }
 
     public boolean checkAvailability(Long restaurantId, LocalDate date, LocalTime time) {
-        // Check if any existing reservation conflicts with the requested time
-        return reservations.values().stream()
-                .filter(r -> r.getRestaurantId().equals(restaurantId))
-                .filter(r -> r.getReservationDate().equals(date))
-                .filter(r -> r.isActive()) // Only check active reservations
-                .noneMatch(r -> isTimeConflict(r.getReservationTime(), time));
+        // Check if any table is free for a predicted stay from the requested time
+        return seatInventory.canSeat(restaurantId, date, time, 1);
     }
 
     public AvailabilityResponse checkAvailability(Long restaurantId, LocalDate date, LocalTime time, Integer partySize) {
-        boolean available = checkAvailability(restaurantId, date, time);
-        if (available) {
-            return AvailabilityResponse.available(date, List.of(time));
+        int party = partySize != null ? partySize : 1;
+        List<LocalTime> slots = seatInventory.availableSlots(restaurantId, date, party, TIME_SLOTS);
+
+        AvailabilityResponse response;
+        if (seatInventory.canSeat(restaurantId, date, time, party)) {
+            response = AvailabilityResponse.available(date, slots);
         } else {
-            return AvailabilityResponse.unavailable("Time slot not available");
+            response = AvailabilityResponse.unavailable("No table for " + party + " available at " + time);
+            response.setDate(date);
+            response.setAvailableTimeSlots(slots);
         }
+        response.setMaxPartySize(seatInventory.maxPartySize(restaurantId, date, time));
+        return response;
     }
 
-    public Page<ReservationDTO> getReservations(Long restaurantId, LocalDate from, LocalDate to, 
-                                               String status, String customerEmail, Pageable pageable) {
-        List<ReservationDTO> filtered = reservations.values().stream()
-                .filter(r -> restaurantId == null || r.getRestaurantId().equals(restaurantId))
-                .filter(r -> from == null || !r.getReservationDate().isBefore(from))
-                .filter(r -> to == null || !r.getReservationDate().isAfter(to))
-                .filter(r -> status == null || status.equals(r.getStatus()))
-                .filter(r -> customerEmail == null || customerEmail.equals(r.getCustomerEmail()))
-                .sorted((r1, r2) -> r1.getReservationDate().compareTo(r2.getReservationDate()))
-                .toList();
+    // cursor is the nextCursor of the previous page, or null for the first page
+    public ReservationPage getReservations(Long restaurantId, LocalDate from, LocalDate to, String status,
+                                           String customerEmail, String sortBy, String sortDir, int size,
+                                           String cursor) {
+        if (!SORT_KEYS.contains(sortBy)) {
+            throw new IllegalArgumentException("Unsupported sort: " + sortBy);
+        }
+        boolean descending = "desc".equalsIgnoreCase(sortDir);
+        int limit = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        Position after = cursor == null || cursor.isBlank() ? null : decodeCursor(cursor, descending);
+
+        // One row more than the page shows whether another page follows
+        List<ReservationDTO> rows = reservationStore.findPage(new ReservationQuery(
+                restaurantId, from, to, status, customerEmail, descending, after, limit + 1));
+        boolean hasNext = rows.size() > limit;
+        List<ReservationDTO> content = hasNext ? rows.subList(0, limit) : rows;
+        String nextCursor = hasNext ? encodeCursor(Position.of(content.get(limit - 1)), descending) : null;
+        return new ReservationPage(List.copyOf(content), content.size(), sortBy, descending ? "desc" : "asc", nextCursor);
+    }
+
+    // Opaque to clients: direction|date|time|id, base64url
+    private static String encodeCursor(Position position, boolean descending) {
+        String raw = (descending ? "d" : "a") + "|" + position.date() + "|" + position.time() + "|" + position.id();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.US_ASCII));
+    }
 
-        return new PageImpl<>(filtered, pageable, filtered.size());
+    private static Position decodeCursor(String cursor, boolean descending) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII).split("\\|");
+            if (parts.length != 4 || !parts[0].equals(descending ? "d" : "a")) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+            return new Position(LocalDate.parse(parts[1]), LocalTime.parse(parts[2]), Long.parseLong(parts[3]));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+        }
     }
 
-    public ReservationDTO updateReservation(Long reservationId, ReservationDTO updates) {
-        ReservationDTO reservation = reservations.get(reservationId);
+    // expectedVersion is the version the client last saw (If-Match), or null to update
+    // whatever is stored. A stale version fails with OptimisticLockingFailureException before
+    // any table is moved.
+    public ReservationDTO updateReservation(Long reservationId, ReservationDTO updates, Long expectedVersion) {
+        ReservationDTO reservation = reservationStore.findById(reservationId).orElse(null);
         if (reservation == null) {
             throw new IllegalArgumentException("Reservation not found: " + reservationId);
         }
-
-        // Check availability for new time if changed
-        if (!reservation.getReservationDate().equals(updates.getReservationDate()) ||
-            !reservation.getReservationTime().equals(updates.getReservationTime())) {
+        checkVersion(reservation, expectedVersion);
+        LocalDate previousDate = reservation.getReservationDate();
+        LocalTime previousTime = reservation.getReservationTime();
+
+        // Re-seat the party if the time or party size changed; the old table is kept on failure
+        boolean reseated = false;
+        if (reservation.isActive() &&
+            (!reservation.getReservationDate().equals(updates.getReservationDate()) ||
+             !reservation.getReservationTime().equals(updates.getReservationTime()) ||
+             !Objects.equals(reservation.getPartySize(), updates.getPartySize()))) {
             
-            if (!checkAvailability(reservation.getRestaurantId(), 
-                                 updates.getReservationDate(), 
-                                 updates.getReservationTime())) {
+            Integer tableNumber = seatInventory.assign(reservationId, reservation.getRestaurantId(),
+                    updates.getReservationDate(), updates.getReservationTime(),
+                    updates.getPartySize() != null ? updates.getPartySize() : 1);
+            if (tableNumber == null) {
                 throw new IllegalStateException("New time slot not available.");
             }
+            reservation.setTableNumber(tableNumber);
+            reseated = true;
         }
 
         // Update reservation fields
@@ -111,15 +186,26 @@ public class ReservationService {
         reservation.setPartySize(updates.getPartySize());
         reservation.setSpecialRequests(updates.getSpecialRequests());
         reservation.setUpdatedAt(LocalDateTime.now());
+        try {
+            reservationStore.save(reservation);
+        } catch (OptimisticLockingFailureException e) {
+            if (reseated) {
+                reseat(reservationId);
+            }
+            throw e;
+        }
 
+        salesRollupService.reservationMoved(reservation.getRestaurantId(), previousDate, previousTime,
+                reservation.getReservationDate(), reservation.getReservationTime());
         return reservation;
     }
 
-    public void cancelReservation(Long reservationId, String reason) {
-        ReservationDTO reservation = reservations.get(reservationId);
+    public void cancelReservation(Long reservationId, String reason, Long expectedVersion) {
+        ReservationDTO reservation = reservationStore.findById(reservationId).orElse(null);
         if (reservation == null) {
             throw new IllegalArgumentException("Reservation not found: " + reservationId);
         }
+        checkVersion(reservation, expectedVersion);
 
         reservation.setStatus("CANCELLED");
         reservation.setSpecialRequests(
@@ -127,6 +213,10 @@ public class ReservationService {
             "Cancelled: " + reason
         );
         reservation.setUpdatedAt(LocalDateTime.now());
+        reservationStore.save(reservation);
+        seatInventory.release(reservationId);
+        turnoverModel.forget(reservationId);
+        tableFreed(reservation);
 
         // Send cancellation notification
         notificationService.sendReservationCancellation(
@@ -136,37 +226,60 @@ public class ReservationService {
     }
 
     public List<ReservationDTO> getReservationsByDate(Long restaurantId, LocalDate date) {
-        return reservations.values().stream()
-                .filter(r -> r.getRestaurantId().equals(restaurantId))
-                .filter(r -> r.getReservationDate().equals(date))
+        return reservationStore.findByRestaurantAndDate(restaurantId, date).stream()
                 .sorted((r1, r2) -> r1.getReservationTime().compareTo(r2.getReservationTime()))
                 .toList();
     }
 
-    public ReservationDTO confirmReservation(Long reservationId) {
-        ReservationDTO reservation = reservations.get(reservationId);
+    public ReservationDTO confirmReservation(Long reservationId, Long expectedVersion) {
+        ReservationDTO reservation = reservationStore.findById(reservationId).orElse(null);
         if (reservation == null) {
             throw new IllegalArgumentException("Reservation not found: " + reservationId);
         }
+        checkVersion(reservation, expectedVersion);
+
+        // A reservation confirmed again after cancellation needs its table back
+        boolean reseated = false;
+        if (!seatInventory.isAssigned(reservationId)) {
+            Integer tableNumber = seatInventory.assign(reservation);
+            if (tableNumber == null) {
+                throw new IllegalStateException("Time slot not available.");
+            }
+            reservation.setTableNumber(tableNumber);
+            reseated = true;
+        }
 
         reservation.setStatus("CONFIRMED");
         reservation.setUpdatedAt(LocalDateTime.now());
+        try {
+            reservationStore.save(reservation);
+        } catch (OptimisticLockingFailureException e) {
+            if (reseated) {
+                reseat(reservationId);
+            }
+            throw e;
+        }
         return reservation;
     }
 
-    public ReservationDTO cancelReservationStatus(Long reservationId) {
-        ReservationDTO reservation = reservations.get(reservationId);
+    public ReservationDTO cancelReservationStatus(Long reservationId, Long expectedVersion) {
+        ReservationDTO reservation = reservationStore.findById(reservationId).orElse(null);
         if (reservation == null) {
             throw new IllegalArgumentException("Reservation not found: " + reservationId);
         }
+        checkVersion(reservation, expectedVersion);
 
         reservation.setStatus("CANCELLED");
         reservation.setUpdatedAt(LocalDateTime.now());
+        reservationStore.save(reservation);
+        seatInventory.release(reservationId);
+        turnoverModel.forget(reservationId);
+        tableFreed(reservation);
         return reservation;
     }
 
     public ReservationDTO getReservationById(Long reservationId) {
-        ReservationDTO reservation = reservations.get(reservationId);
+        ReservationDTO reservation = reservationStore.findById(reservationId).orElse(null);
         if (reservation == null) {
             throw new IllegalArgumentException("Reservation not found: " + reservationId);
         }
@@ -179,16 +292,14 @@ public class ReservationService {
     }
 
     public List<ReservationDTO> getReservationsByCustomerEmail(String email) {
-        return reservations.values().stream()
-                .filter(r -> email.equals(r.getCustomerEmail()))
+        return reservationStore.findByCustomerEmail(email).stream()
                 .sorted((r1, r2) -> r2.getCreatedAt().compareTo(r1.getCreatedAt()))
                 .toList();
     }
 
     public List<ReservationDTO> getUpcomingReservations(Long restaurantId) {
         LocalDate today = LocalDate.now();
-        return reservations.values().stream()
-                .filter(r -> r.getRestaurantId().equals(restaurantId))
+        return reservationStore.findByRestaurant(restaurantId).stream()
                 .filter(r -> r.getReservationDate().isAfter(today) || 
                            (r.getReservationDate().equals(today) && 
                             r.getReservationTime().isAfter(LocalTime.now())))
@@ -204,60 +315,68 @@ public class ReservationService {
     }
 
     public List<ReservationDTO> getReservationsByStatus(Long restaurantId, String status) {
-        return reservations.values().stream()
-                .filter(r -> r.getRestaurantId().equals(restaurantId))
+        return reservationStore.findByRestaurant(restaurantId).stream()
                 .filter(r -> status.equals(r.getStatus()))
                 .sorted((r1, r2) -> r1.getReservationDate().compareTo(r2.getReservationDate()))
                 .toList();
     }
 
     public void markReservationSeated(Long reservationId) {
-        ReservationDTO reservation = reservations.get(reservationId);
+        ReservationDTO reservation = reservationStore.findById(reservationId).orElse(null);
         if (reservation == null) {
             throw new IllegalArgumentException("Reservation not found: " + reservationId);
         }
 
         reservation.setStatus("SEATED");
         reservation.setUpdatedAt(LocalDateTime.now());
+        reservationStore.save(reservation);
+        turnoverModel.seated(reservationId, reservation.getUpdatedAt());
     }
 
     public void markReservationCompleted(Long reservationId) {
-        ReservationDTO reservation = reservations.get(reservationId);
+        ReservationDTO reservation = reservationStore.findById(reservationId).orElse(null);
         if (reservation == null) {
             throw new IllegalArgumentException("Reservation not found: " + reservationId);
         }
 
         reservation.setStatus("COMPLETED");
         reservation.setUpdatedAt(LocalDateTime.now());
+        reservationStore.save(reservation);
+        seatInventory.release(reservationId);
+        turnoverModel.completed(reservation, reservation.getUpdatedAt());
+        if (reservation.getTableNumber() != null) {
+            waitlist.tableTurned(reservation.getRestaurantId(), reservation.getTableNumber(), reservation.getUpdatedAt());
+        }
+        tableFreed(reservation);
     }
 
     public void markReservationNoShow(Long reservationId) {
-        ReservationDTO reservation = reservations.get(reservationId);
+        ReservationDTO reservation = reservationStore.findById(reservationId).orElse(null);
         if (reservation == null) {
             throw new IllegalArgumentException("Reservation not found: " + reservationId);
         }
 
+        boolean firstNoShow = !"NO_SHOW".equals(reservation.getStatus());
         reservation.setStatus("NO_SHOW");
         reservation.setUpdatedAt(LocalDateTime.now());
+        reservationStore.save(reservation);
+        seatInventory.release(reservationId);
+        turnoverModel.forget(reservationId);
+        if (firstNoShow) {
+            salesRollupService.reservationNoShow(reservation);
+        }
+        tableFreed(reservation);
     }
 
     // Business helper methods
-    private boolean isTimeConflict(LocalTime existingTime, LocalTime newTime) {
-        // Consider 2-hour slots - check if times overlap
-        LocalTime existingEnd = existingTime.plusHours(2);
-        LocalTime newEnd = newTime.plusHours(2);
-        
-        return !(newTime.isAfter(existingEnd) || newEnd.isBefore(existingTime));
-    }
-
     public boolean canCancelReservation(Long reservationId) {
-        ReservationDTO reservation = reservations.get(reservationId);
+        ReservationDTO reservation = reservationStore.findById(reservationId).orElse(null);
         return reservation != null && 
                ("CONFIRMED".equals(reservation.getStatus()) || "SEATED".equals(reservation.getStatus()));
     }
 
     public boolean canModifyReservation(Long reservationId) {
-        ReservationDTO reservation = reservations.get(reservationId);
+        ReservationDTO reservation = reservationStore.findById(reservationId).orElse(null);
         if (reservation == null) return false;
         
         // Can modify if status is CONFIRMED and reservation is in the future
@@ -290,17 +409,127 @@ public class ReservationService {
     }
 
     public List<LocalTime> getAvailableTimeSlots(Long restaurantId, LocalDate date) {
-        // Business hours: 10 AM to 10 PM, every 30 minutes
-        List<LocalTime> allSlots = generateTimeSlots();
-        List<ReservationDTO> existingReservations = getReservationsByDate(restaurantId, date);
-        
-        return allSlots.stream()
-                .filter(slot -> existingReservations.stream()
-                        .noneMatch(r -> isTimeConflict(r.getReservationTime(), slot)))
-                .toList();
+        return seatInventory.availableSlots(restaurantId, date, 1, TIME_SLOTS);
+    }
+
+    // Walk-ins: a party joins the waitlist and is seated right away if a table is free
+    public WaitlistEntryDTO joinWaitlist(WaitlistEntryDTO entry) {
+        WaitlistEntryDTO joined = waitlist.join(entry, LocalDateTime.now());
+        for (WaitlistEntryDTO seated : seatWaitingPartiesQuietly(entry.getRestaurantId())) {
+            if (seated.getId().equals(joined.getId())) {
+                return seated;
+            }
+        }
+        WaitlistEntryDTO waiting = waitlist.find(joined.getId());
+        return waiting != null ? waiting : joined;
+    }
+
+    public List<WaitlistEntryDTO> getWaitlist(Long restaurantId) {
+        return waitlist.waiting(restaurantId);
+    }
+
+    public WaitlistEntryDTO getWaitlistEntry(Long entryId) {
+        WaitlistEntryDTO entry = waitlist.find(entryId);
+        if (entry == null) {
+            throw new IllegalArgumentException("Waitlist entry not found: " + entryId);
+        }
+        return entry;
+    }
+
+    public void leaveWaitlist(Long entryId) {
+        if (!waitlist.remove(entryId)) {
+            throw new IllegalArgumentException("Waitlist entry not found: " + entryId);
+        }
+    }
+
+    private static void checkVersion(ReservationDTO reservation, Long expectedVersion) {
+        if (expectedVersion != null && expectedVersion != reservation.getVersion()) {
+            throw new OptimisticLockingFailureException("Reservation " + reservation.getId() + " is at version "
+                    + reservation.getVersion() + ", not " + expectedVersion);
+        }
+    }
+
+    // A table was given back; walk-ins only wait for tables today
+    private void tableFreed(ReservationDTO reservation) {
+        if (reservation.isTodayReservation()) {
+            seatWaitingPartiesQuietly(reservation.getRestaurantId());
+        }
+    }
+
+    // Seating follows a change that is already saved, so a failure must not fail that change:
+    // it is logged, and the parties not seated stay queued for the next table
+    private List<WaitlistEntryDTO> seatWaitingPartiesQuietly(Long restaurantId) {
+        try {
+            return seatWaitingParties(restaurantId);
+        } catch (RuntimeException e) {
+            log.error("Could not seat waiting parties of restaurant {}", restaurantId, e);
+            return List.of();
+        }
+    }
+
+    // While a table is free for a full stay from now, the longest-waiting party it can seat gets
+    // a walk-in reservation at the smallest table that fits, and is told the table is ready
+    private List<WaitlistEntryDTO> seatWaitingParties(Long restaurantId) {
+        List<WaitlistEntryDTO> seated = new ArrayList<>();
+        while (waitlist.hasWaiting(restaurantId)) {
+            LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES);
+            int largestFree = seatInventory.maxPartySize(restaurantId, now.toLocalDate(), now.toLocalTime());
+            WaitlistEntryDTO party = waitlist.nextFitting(restaurantId, largestFree);
+            if (party == null) {
+                break;
+            }
+            SeatHold hold = seatInventory.hold(restaurantId, now.toLocalDate(), now.toLocalTime(), party.getPartySize());
+            if (hold == null) {
+                // Taken by a booking meanwhile; the next table given back tries again
+                break;
+            }
+            if (!waitlist.remove(party.getId())) {
+                // Left, or seated by a concurrent call
+                seatInventory.releaseHold(hold);
+                continue;
+            }
+
+            ReservationDTO reservation = new ReservationDTO(restaurantId, party.getCustomerFirstName(),
+                    party.getCustomerLastName(), party.getCustomerEmail(), party.getCustomerPhone(),
+                    now.toLocalDate(), now.toLocalTime(), party.getPartySize());
+            reservation.setSource("WALK_IN");
+            reservation.setTableNumber(hold.tableNumber());
+            try {
+                reservationStore.insert(reservation);
+            } catch (RuntimeException e) {
+                seatInventory.releaseHold(hold);
+                waitlist.requeue(party);
+                throw e;
+            }
+            seatInventory.bind(reservation.getId(), hold);
+            salesRollupService.reservationCreated(reservation);
+
+            party.setStatus("TABLE_READY");
+            party.setPosition(0);
+            party.setEstimatedWaitMinutes(0);
+            party.setReservationId(reservation.getId());
+            party.setTableNumber(hold.tableNumber());
+            notificationService.sendTableReadyNotification(party.getCustomerEmail(), party.getCustomerPhone(),
+                    "Restaurant Name", // Mock restaurant name
+                    party.getPartySize());
+            seated.add(party);
+        }
+        return seated;
+    }
+
+    // After losing a save race with the table already moved: seat the reservation as the
+    // winning change left it
+    private void reseat(Long reservationId) {
+        ReservationDTO current = reservationStore.findById(reservationId).orElse(null);
+        if (current != null && current.isActive()) {
+            seatInventory.assign(reservationId, current.getRestaurantId(), current.getReservationDate(),
+                    current.getReservationTime(), current.getPartySize() != null ? current.getPartySize() : 1);
+        } else {
+            seatInventory.release(reservationId);
+        }
     }
 
-    private List<LocalTime> generateTimeSlots() {
+    private static List<LocalTime> generateTimeSlots() {
         List<LocalTime> slots = new java.util.ArrayList<>();
         LocalTime start = LocalTime.of(10, 0); // 10 AM
         LocalTime end = LocalTime.of(22, 0);   // 10 PM
@@ -311,6 +540,6 @@ public class ReservationService {
             current = current.plusMinutes(30);
         }
         
-        return slots;
+        return List.copyOf(slots);
     }
 }
\ No newline at end of file
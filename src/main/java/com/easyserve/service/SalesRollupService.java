@@ -0,0 +1,252 @@
+package com.easyserve.service;
+
+import com.easyserve.dto.OrderDTO;
+import com.easyserve.dto.ReservationDTO;
+import com.easyserve.dto.SalesSummaryResponse;
+import com.easyserve.model.Money;
+import com.easyserve.model.OrderStatus;
+import com.easyserve.model.OrderType;
+import com.easyserve.model.Restaurant;
+import com.easyserve.model.RollupPeriod;
+import com.easyserve.model.SalesRollup;
+import com.easyserve.repository.RestaurantRepository;
+import com.easyserve.repository.SalesRollupRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+// Per-restaurant hourly and daily sales rollups, kept current from order and reservation
+// events. Events only touch in-memory deltas; flush() adds them to the sales_rollups rows, so
+// analytics over any range read one row per day (or hour) instead of the orders.
+@Service
+public class SalesRollupService {
+
+    private static final Logger log = LoggerFactory.getLogger(SalesRollupService.class);
+
+    private static final RollupPeriod[] PERIODS = RollupPeriod.values();
+
+    @Autowired
+    private SalesRollupRepository salesRollupRepository;
+
+    @Autowired
+    private RestaurantRepository restaurantRepository;
+
+    @Autowired
+    private NotificationService notificationService;
+
+    // Changes not yet added to the table, per bucket. Updated under the map's per-key lock.
+    private final Map<BucketKey, SalesRollup> pending = new ConcurrentHashMap<>();
+
+    // Readers combine the table with pending deltas; a flush moves deltas from one to the other
+    // under the write lock so no reader sees them twice or not at all
+    private final ReadWriteLock flushLock = new ReentrantReadWriteLock();
+
+    public void orderCreated(OrderDTO order) {
+        record(order.getRestaurantId(), order.getCreatedAt(), rollup -> {
+            rollup.addType(order.getOrderType(), 1);
+            rollup.addStatus(order.getStatus(), 1);
+            if (order.getStatus() == OrderStatus.COMPLETED) {
+                rollup.addSales(order.getTotalCents(), Money.toCents(order.getTax()));
+            }
+        });
+    }
+
+    public void orderStatusChanged(OrderDTO order, OrderStatus from, OrderStatus to) {
+        if (from == to) {
+            return;
+        }
+        record(order.getRestaurantId(), order.getCreatedAt(), rollup -> {
+            rollup.addStatus(from, -1);
+            rollup.addStatus(to, 1);
+            if (to == OrderStatus.COMPLETED) {
+                rollup.addSales(order.getTotalCents(), Money.toCents(order.getTax()));
+            } else if (from == OrderStatus.COMPLETED) {
+                rollup.addSales(-order.getTotalCents(), -Money.toCents(order.getTax()));
+            }
+        });
+    }
+
+    public void reservationCreated(ReservationDTO reservation) {
+        record(reservation.getRestaurantId(), reservedAt(reservation.getReservationDate(), reservation.getReservationTime()),
+                rollup -> rollup.addReservations(1, 0));
+    }
+
+    public void reservationMoved(Long restaurantId, LocalDate fromDate, LocalTime fromTime,
+                                 LocalDate toDate, LocalTime toTime) {
+        LocalDateTime from = reservedAt(fromDate, fromTime);
+        LocalDateTime to = reservedAt(toDate, toTime);
+        if (!from.equals(to)) {
+            record(restaurantId, from, rollup -> rollup.addReservations(-1, 0));
+            record(restaurantId, to, rollup -> rollup.addReservations(1, 0));
+        }
+    }
+
+    public void reservationNoShow(ReservationDTO reservation) {
+        record(reservation.getRestaurantId(), reservedAt(reservation.getReservationDate(), reservation.getReservationTime()),
+                rollup -> rollup.addReservations(0, 1));
+    }
+
+    // Totals over the days [from, to]
+    public SalesSummaryResponse summarize(Long restaurantId, LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("Invalid range: " + from + " to " + to);
+        }
+        LocalDateTime start = from.atStartOfDay();
+        LocalDateTime end = to.plusDays(1).atStartOfDay();
+        SalesRollup total = new SalesRollup(restaurantId, RollupPeriod.DAY, start);
+        read(restaurantId, RollupPeriod.DAY, start, end).values().forEach(total::add);
+        return toResponse(total, start, end);
+    }
+
+    // One entry per hour of the day that had any activity
+    public List<SalesSummaryResponse> hourly(Long restaurantId, LocalDate date) {
+        LocalDateTime start = date.atStartOfDay();
+        List<SalesSummaryResponse> hours = new ArrayList<>();
+        for (SalesRollup hour : read(restaurantId, RollupPeriod.HOUR, start, start.plusDays(1)).values()) {
+            hours.add(toResponse(hour, hour.getBucketStart(), RollupPeriod.HOUR.bucketEnd(hour.getBucketStart())));
+        }
+        return hours;
+    }
+
+    // Adds pending deltas to the table. A failed write keeps them pending for the next run.
+    @Scheduled(fixedDelayString = "${app.rollups.flush-interval-ms:5000}")
+    public void flush() {
+        flushLock.writeLock().lock();
+        try {
+            List<SalesRollup> batch = new ArrayList<>();
+            for (BucketKey key : pending.keySet()) {
+                SalesRollup delta = pending.remove(key);
+                if (delta != null) {
+                    batch.add(delta);
+                }
+            }
+            if (batch.isEmpty()) {
+                return;
+            }
+            try {
+                salesRollupRepository.addAll(batch);
+            } catch (RuntimeException e) {
+                for (SalesRollup delta : batch) {
+                    pending.merge(keyOf(delta), delta, (current, failed) -> {
+                        current.add(failed);
+                        return current;
+                    });
+                }
+                log.error("Sales rollup flush failed, {} buckets pending", batch.size(), e);
+            }
+        } finally {
+            flushLock.writeLock().unlock();
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        flush();
+    }
+
+    // Today's figures to every active restaurant; disabled unless app.reports.daily-cron is set
+    @Scheduled(cron = "${app.reports.daily-cron:-}")
+    public void sendDailyReports() {
+        LocalDate today = LocalDate.now();
+        for (Restaurant restaurant : restaurantRepository.findByIsActiveTrue()) {
+            notificationService.sendDailyReport(restaurant.getEmail(), restaurant.getName(),
+                    summarize(restaurant.getId(), today, today));
+        }
+    }
+
+    private void record(Long restaurantId, LocalDateTime at, Consumer<SalesRollup> change) {
+        for (RollupPeriod period : PERIODS) {
+            BucketKey key = new BucketKey(restaurantId, period, period.bucketStart(at));
+            pending.compute(key, (k, rollup) -> {
+                SalesRollup delta = rollup != null ? rollup : new SalesRollup(k.restaurantId(), k.period(), k.bucketStart());
+                change.accept(delta);
+                return delta;
+            });
+        }
+    }
+
+    // Stored buckets starting in [from, to) plus their pending deltas, by bucket start
+    private Map<LocalDateTime, SalesRollup> read(Long restaurantId, RollupPeriod period,
+                                                 LocalDateTime from, LocalDateTime to) {
+        Map<LocalDateTime, SalesRollup> buckets = new TreeMap<>();
+        flushLock.readLock().lock();
+        try {
+            for (SalesRollup stored : salesRollupRepository.findBuckets(restaurantId, period, from, to)) {
+                // A copy: the row may be managed, and must not pick up the pending delta
+                buckets.put(stored.getBucketStart(), stored.copy());
+            }
+            for (BucketKey key : pending.keySet()) {
+                if (!key.restaurantId().equals(restaurantId) || key.period() != period
+                        || key.bucketStart().isBefore(from) || !key.bucketStart().isBefore(to)) {
+                    continue;
+                }
+                // Copied under the key's lock so a delta being updated is not read half-way
+                pending.computeIfPresent(key, (k, delta) -> {
+                    buckets.computeIfAbsent(k.bucketStart(), start -> new SalesRollup(restaurantId, period, start))
+                            .add(delta);
+                    return delta;
+                });
+            }
+        } finally {
+            flushLock.readLock().unlock();
+        }
+        return buckets;
+    }
+
+    private static SalesSummaryResponse toResponse(SalesRollup rollup, LocalDateTime from, LocalDateTime to) {
+        Map<OrderStatus, Long> byStatus = new EnumMap<>(OrderStatus.class);
+        for (OrderStatus status : OrderStatus.values()) {
+            byStatus.put(status, rollup.count(status));
+        }
+        Map<OrderType, Long> byType = new EnumMap<>(OrderType.class);
+        for (OrderType type : OrderType.values()) {
+            byType.put(type, rollup.count(type));
+        }
+        long completed = rollup.getCompletedOrders();
+
+        SalesSummaryResponse response = new SalesSummaryResponse();
+        response.setRestaurantId(rollup.getRestaurantId());
+        response.setFrom(from);
+        response.setTo(to);
+        response.setOrders(rollup.getOrders());
+        response.setOrdersByStatus(byStatus);
+        response.setOrdersByType(byType);
+        response.setCompletedOrders(completed);
+        response.setCancelledOrders(rollup.getCancelledOrders());
+        response.setRevenue(Money.toBigDecimal(rollup.getRevenueCents()));
+        response.setTax(Money.toBigDecimal(rollup.getTaxCents()));
+        response.setAverageOrderValue(Money.toBigDecimal(completed == 0 ? 0
+                : Money.divide(rollup.getRevenueCents(), completed, RoundingMode.HALF_UP)));
+        response.setReservations(rollup.getReservations());
+        response.setNoShows(rollup.getNoShows());
+        return response;
+    }
+
+    // Reservations without a time count towards the start of their day
+    private static LocalDateTime reservedAt(LocalDate date, LocalTime time) {
+        return date.atTime(time != null ? time : LocalTime.MIDNIGHT);
+    }
+
+    private static BucketKey keyOf(SalesRollup rollup) {
+        return new BucketKey(rollup.getRestaurantId(), rollup.getPeriod(), rollup.getBucketStart());
+    }
+
+    private record BucketKey(Long restaurantId, RollupPeriod period, LocalDateTime bucketStart) {}
+}
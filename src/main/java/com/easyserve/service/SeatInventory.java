@@ -0,0 +1,332 @@
+package com.easyserve.service;
+
+import com.easyserve.dto.ReservationDTO;
+import com.easyserve.repository.ReservationStore;
+import com.easyserve.service.TableInventory.TableLayout;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.IntToLongFunction;
+
+// Table occupancy per (restaurant, date), one bitmap per table with a bit per 30-minute slot
+@Component
+public class SeatInventory {
+
+    private static final int SLOT_MINUTES = 30;
+    private static final int SLOTS_PER_DAY = 24 * 60 / SLOT_MINUTES; // 48, fits in one long
+    private static final long DAY_MASK = (1L << SLOTS_PER_DAY) - 1;
+
+    @Autowired
+    private TableInventory tableInventory;
+
+    @Autowired
+    private ReservationStore reservationStore;
+
+    // How long each party is expected to hold its table
+    @Autowired
+    private TurnoverModel turnoverModel;
+
+    private final Map<DayKey, DayOccupancy> days = new ConcurrentHashMap<>();
+
+    // Which table and slots each seated reservation holds
+    private final Map<Long, SeatHold> bookings = new ConcurrentHashMap<>();
+
+    // Takes a table for a reservation that has no id yet; bind() it once the reservation is saved
+    public SeatHold hold(Long restaurantId, LocalDate date, LocalTime time, int partySize) {
+        long slots = slotMask(date.getDayOfWeek(), time, partySize);
+        if (slots == 0) {
+            return null;
+        }
+        DayKey day = new DayKey(restaurantId, date);
+        int table = occupancy(day).tryAssign(partySize, slots);
+        return table < 0 ? null : new SeatHold(day, table, slots);
+    }
+
+    public void bind(Long reservationId, SeatHold hold) {
+        bookings.put(reservationId, hold);
+    }
+
+    // A no-op once the day is evicted
+    public void releaseHold(SeatHold hold) {
+        DayOccupancy occupancy = days.get(hold.day);
+        if (occupancy != null) {
+            occupancy.free(hold.table, hold.slots);
+        }
+    }
+
+    // Best-fit assignment: the smallest free table that seats the party. Returns the table
+    // number (1-based, in seat order) or null when no table is free for the whole stay.
+    public Integer assign(ReservationDTO reservation) {
+        return assign(reservation.getId(), reservation.getRestaurantId(), reservation.getReservationDate(),
+                reservation.getReservationTime(), partySizeOf(reservation));
+    }
+
+    // Also used to move an existing booking; the old table is kept if the new stay cannot be seated
+    public Integer assign(Long reservationId, Long restaurantId, LocalDate date, LocalTime time, int partySize) {
+        long slots = slotMask(date.getDayOfWeek(), time, partySize);
+        if (slots == 0) {
+            return null;
+        }
+
+        DayKey day = new DayKey(restaurantId, date);
+        SeatHold previous = bookings.get(reservationId);
+        int table;
+        if (previous != null && previous.day.equals(day)) {
+            table = occupancy(day).tryMove(previous.table, previous.slots, partySize, slots);
+        } else {
+            table = occupancy(day).tryAssign(partySize, slots);
+            if (table >= 0 && previous != null) {
+                releaseHold(previous);
+            }
+        }
+        if (table < 0) {
+            return null;
+        }
+
+        bookings.put(reservationId, new SeatHold(day, table, slots));
+        return table + 1;
+    }
+
+    public void release(Long reservationId) {
+        SeatHold booking = bookings.remove(reservationId);
+        if (booking != null) {
+            releaseHold(booking);
+        }
+    }
+
+    public boolean isAssigned(Long reservationId) {
+        return bookings.containsKey(reservationId);
+    }
+
+    public boolean canSeat(Long restaurantId, LocalDate date, LocalTime time, int partySize) {
+        long slots = slotMask(date.getDayOfWeek(), time, partySize);
+        if (slots == 0) {
+            return false;
+        }
+        return occupancy(new DayKey(restaurantId, date)).canSeat(partySize, slots);
+    }
+
+    // Largest party that could still be seated at the given time, each table checked for the
+    // stay of a party that fills it
+    public int maxPartySize(Long restaurantId, LocalDate date, LocalTime time) {
+        DayOfWeek day = date.getDayOfWeek();
+        return occupancy(new DayKey(restaurantId, date)).largestFreeTable(seats -> slotMask(day, time, seats));
+    }
+
+    // Candidate slots (aligned to 30 minutes) where a party of this size can start its predicted stay
+    public List<LocalTime> availableSlots(Long restaurantId, LocalDate date, int partySize, List<LocalTime> candidates) {
+        DayOccupancy occupancy = occupancy(new DayKey(restaurantId, date));
+        DayOfWeek day = date.getDayOfWeek();
+
+        // Slots where a stay can start, per stay length in slots; most candidates share a few lengths
+        long[] startable = new long[SLOTS_PER_DAY + 1];
+        long computed = 0;
+        List<LocalTime> available = new ArrayList<>();
+        for (LocalTime candidate : candidates) {
+            int minute = candidate.getHour() * 60 + candidate.getMinute();
+            if (minute % SLOT_MINUTES != 0) {
+                continue;
+            }
+            int staySlots = staySlots(turnoverModel.predictedStayMinutes(partySize, day, candidate));
+            if ((computed & (1L << staySlots)) == 0) {
+                startable[staySlots] = occupancy.startableSlots(partySize, staySlots);
+                computed |= 1L << staySlots;
+            }
+            if ((startable[staySlots] & (1L << (minute / SLOT_MINUTES))) != 0) {
+                available.add(candidate);
+            }
+        }
+        return available;
+    }
+
+    // Drops the occupancy of days before today, and the bookings on them. No stay runs past
+    // midnight, so nothing later depends on those days; looking one up again reloads it from
+    // the stored reservations.
+    @Scheduled(cron = "${app.reservations.eviction-cron:0 5 0 * * *}")
+    public void evictPastDays() {
+        LocalDate today = LocalDate.now();
+        bookings.values().removeIf(booking -> booking.day.date().isBefore(today));
+        days.keySet().removeIf(key -> key.date().isBefore(today));
+    }
+
+    private DayOccupancy occupancy(DayKey day) {
+        return days.computeIfAbsent(day, this::loadDay);
+    }
+
+    // Rebuilds a day from stored active reservations, e.g. after a restart on the JPA backend
+    private DayOccupancy loadDay(DayKey day) {
+        DayOccupancy occupancy = new DayOccupancy(tableInventory.layoutFor(day.restaurantId()));
+        for (ReservationDTO reservation : reservationStore.findByRestaurantAndDate(day.restaurantId(), day.date())) {
+            long slots = reservation.isActive()
+                    ? slotMask(day.date().getDayOfWeek(), reservation.getReservationTime(), partySizeOf(reservation))
+                    : 0;
+            if (slots == 0) {
+                continue;
+            }
+            Integer tableNumber = reservation.getTableNumber();
+            int table = tableNumber != null
+                    ? occupancy.tryOccupy(tableNumber - 1, slots)
+                    : occupancy.tryAssign(partySizeOf(reservation), slots);
+            if (table >= 0) {
+                bookings.put(reservation.getId(), new SeatHold(day, table, slots));
+            }
+        }
+        return occupancy;
+    }
+
+    private static int partySizeOf(ReservationDTO reservation) {
+        return reservation.getPartySize() != null ? reservation.getPartySize() : 1;
+    }
+
+    // Slots covered by the party's predicted stay from the given time; 0 if it runs past midnight
+    private long slotMask(DayOfWeek day, LocalTime time, int partySize) {
+        int start = time.getHour() * 60 + time.getMinute();
+        int firstSlot = start / SLOT_MINUTES;
+        int stayMinutes = staySlots(turnoverModel.predictedStayMinutes(partySize, day, time)) * SLOT_MINUTES;
+        int endSlot = (start + stayMinutes + SLOT_MINUTES - 1) / SLOT_MINUTES;
+        if (endSlot > SLOTS_PER_DAY) {
+            return 0;
+        }
+        return ((1L << (endSlot - firstSlot)) - 1) << firstSlot;
+    }
+
+    // Whole slots a stay takes, at least one and never more than a day
+    private static int staySlots(int stayMinutes) {
+        return Math.min(Math.max((stayMinutes + SLOT_MINUTES - 1) / SLOT_MINUTES, 1), SLOTS_PER_DAY);
+    }
+
+    // Bits s where slots s .. s + staySlots - 1 are all free
+    private static long windowStarts(long occupied, int staySlots) {
+        long free = ~occupied & DAY_MASK;
+        long starts = free;
+        for (int i = 1; i < staySlots; i++) {
+            starts &= free >>> i;
+        }
+        return starts;
+    }
+
+    private record DayKey(Long restaurantId, LocalDate date) {}
+
+    public static final class SeatHold {
+
+        private final DayKey day;
+        private final int table;
+        private final long slots;
+
+        private SeatHold(DayKey day, int table, long slots) {
+            this.day = day;
+            this.table = table;
+            this.slots = slots;
+        }
+
+        public int tableNumber() {
+            return table + 1;
+        }
+    }
+
+    // Each table's bitmap is claimed and released by compare-and-set, so bookings for different
+    // tables never wait on each other and two parties can never both win the same slot
+    private static final class DayOccupancy {
+
+        private final TableLayout layout;
+        private final AtomicLongArray occupied;
+
+        DayOccupancy(TableLayout layout) {
+            this.layout = layout;
+            this.occupied = new AtomicLongArray(layout.tableCount());
+        }
+
+        int tryAssign(int partySize, long slots) {
+            for (int table = layout.firstFitting(partySize); table < occupied.length(); table++) {
+                if (tryOccupy(table, slots) >= 0) {
+                    return table;
+                }
+            }
+            return -1;
+        }
+
+        int tryOccupy(int table, long slots) {
+            if (table < 0 || table >= occupied.length()) {
+                return -1;
+            }
+            long current;
+            do {
+                current = occupied.get(table);
+                if ((current & slots) != 0) {
+                    return -1;
+                }
+            } while (!occupied.compareAndSet(table, current, current | slots));
+            return table;
+        }
+
+        // Same best fit as a fresh booking, with the current stay counted as free. A new table is
+        // taken before the old one is given up, so a failed move keeps its table.
+        int tryMove(int currentTable, long currentSlots, int partySize, long slots) {
+            for (int table = layout.firstFitting(partySize); table < occupied.length(); table++) {
+                if (table == currentTable) {
+                    if (tryShift(table, currentSlots, slots)) {
+                        return table;
+                    }
+                } else if (tryOccupy(table, slots) >= 0) {
+                    free(currentTable, currentSlots);
+                    return table;
+                }
+            }
+            return -1;
+        }
+
+        private boolean tryShift(int table, long currentSlots, long slots) {
+            long current;
+            long moved;
+            do {
+                current = occupied.get(table);
+                moved = current & ~currentSlots;
+                if ((moved & slots) != 0) {
+                    return false;
+                }
+            } while (!occupied.compareAndSet(table, current, moved | slots));
+            return true;
+        }
+
+        void free(int table, long slots) {
+            occupied.getAndUpdate(table, current -> current & ~slots);
+        }
+
+        boolean canSeat(int partySize, long slots) {
+            for (int table = layout.firstFitting(partySize); table < occupied.length(); table++) {
+                if ((occupied.get(table) & slots) == 0) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        int largestFreeTable(IntToLongFunction slotsForSeats) {
+            for (int table = occupied.length() - 1; table >= 0; table--) {
+                long slots = slotsForSeats.applyAsLong(layout.seats(table));
+                if (slots != 0 && (occupied.get(table) & slots) == 0) {
+                    return layout.seats(table);
+                }
+            }
+            return 0;
+        }
+
+        // Slots where any table that seats the party can take a stay of that many slots
+        long startableSlots(int partySize, int staySlots) {
+            long startable = 0;
+            for (int table = layout.firstFitting(partySize); table < occupied.length(); table++) {
+                startable |= windowStarts(occupied.get(table), staySlots);
+            }
+            return startable;
+        }
+    }
+}
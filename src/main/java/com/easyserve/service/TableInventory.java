@@ -0,0 +1,67 @@
+package com.easyserve.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Table layout per restaurant, read from app.reservations.tables.<restaurantId>
+// (comma separated seat counts) with app.reservations.default-tables as fallback
+@Component
+public class TableInventory {
+
+    @Autowired
+    private Environment environment;
+
+    @Value("${app.reservations.default-tables:2,2,2,4,4,4,4,6,6,8}")
+    private int[] defaultTables;
+
+    private final Map<Long, TableLayout> layouts = new ConcurrentHashMap<>();
+
+    public TableLayout layoutFor(Long restaurantId) {
+        return layouts.computeIfAbsent(restaurantId, id ->
+                new TableLayout(environment.getProperty("app.reservations.tables." + id, int[].class, defaultTables)));
+    }
+
+    // Tables ordered by seat count so the smallest table that fits a party is found first
+    public static final class TableLayout {
+
+        private final int[] seats;
+
+        TableLayout(int[] seatCounts) {
+            this.seats = seatCounts.clone();
+            Arrays.sort(this.seats);
+        }
+
+        public int tableCount() {
+            return seats.length;
+        }
+
+        public int seats(int table) {
+            return seats[table];
+        }
+
+        public int largestTable() {
+            return seats.length == 0 ? 0 : seats[seats.length - 1];
+        }
+
+        // Index of the first table with at least partySize seats, or tableCount() if none fits
+        public int firstFitting(int partySize) {
+            int low = 0;
+            int high = seats.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (seats[mid] < partySize) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+}
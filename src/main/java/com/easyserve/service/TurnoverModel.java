@@ -0,0 +1,127 @@
+package com.easyserve.service;
+
+import com.easyserve.dto.ReservationDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// How long parties hold their table, learned from seated -> completed times as they happen.
+// Stays are bucketed by party size, day of week and the 3-hour block of the booked time; each
+// bucket keeps a histogram of stay lengths and predicts a high quantile of it, so the next party
+// rarely finds its table still taken. Buckets with too few stays fall back to every stay of that
+// party size, and then to the configured default.
+@Component
+public class TurnoverModel {
+
+    private static final int BIN_MINUTES = 5;
+    private static final int BINS = 6 * 60 / BIN_MINUTES; // the last bin takes stays of 6 hours and more
+    private static final int SIZE_CLASSES = 4; // parties of 1-2, 3-4, 5-6, 7+
+    private static final int DAY_BLOCKS = 8; // 3 hours each
+    private static final int MIN_SAMPLES = 30;
+    private static final long DECAY_AT = 2000; // counts halve past this, so recent stays weigh more
+
+    @Value("${app.reservations.default-stay-minutes:120}")
+    private int defaultStayMinutes;
+
+    @Value("${app.reservations.stay-quantile:0.9}")
+    private double stayQuantile;
+
+    private final StaySketch[] buckets = new StaySketch[SIZE_CLASSES * 7 * DAY_BLOCKS];
+    private final StaySketch[] bySize = new StaySketch[SIZE_CLASSES];
+
+    // When each party currently at its table sat down
+    private final Map<Long, LocalDateTime> seatedAt = new ConcurrentHashMap<>();
+
+    public TurnoverModel() {
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new StaySketch();
+        }
+        for (int i = 0; i < bySize.length; i++) {
+            bySize[i] = new StaySketch();
+        }
+    }
+
+    public void seated(Long reservationId, LocalDateTime at) {
+        seatedAt.putIfAbsent(reservationId, at);
+    }
+
+    // Parties never marked seated have no stay to learn from
+    public void completed(ReservationDTO reservation, LocalDateTime at) {
+        LocalDateTime seated = seatedAt.remove(reservation.getId());
+        if (seated == null || at.isBefore(seated)) {
+            return;
+        }
+        int minutes = (int) Math.min(Duration.between(seated, at).toMinutes(), Integer.MAX_VALUE);
+        int partySize = reservation.getPartySize() != null ? reservation.getPartySize() : 1;
+        bucket(partySize, reservation.getReservationDate().getDayOfWeek(), reservation.getReservationTime())
+                .add(minutes, stayQuantile);
+        bySize[sizeClass(partySize)].add(minutes, stayQuantile);
+    }
+
+    // Cancelled or no-show: the party will not be completed
+    public void forget(Long reservationId) {
+        seatedAt.remove(reservationId);
+    }
+
+    // Minutes to hold a table for a party booked at the given day and time
+    public int predictedStayMinutes(int partySize, DayOfWeek day, LocalTime time) {
+        int predicted = bucket(partySize, day, time).predicted;
+        if (predicted > 0) {
+            return predicted;
+        }
+        predicted = bySize[sizeClass(partySize)].predicted;
+        return predicted > 0 ? predicted : defaultStayMinutes;
+    }
+
+    private StaySketch bucket(int partySize, DayOfWeek day, LocalTime time) {
+        return buckets[(sizeClass(partySize) * 7 + day.ordinal()) * DAY_BLOCKS + time.getHour() / 3];
+    }
+
+    private static int sizeClass(int partySize) {
+        return Math.min(Math.max(partySize - 1, 0) / 2, SIZE_CLASSES - 1);
+    }
+
+    // Histogram of stay lengths in 5-minute bins. The quantile is kept up to date on every
+    // stay, so predictions are a volatile read.
+    private static final class StaySketch {
+
+        private final long[] bins = new long[BINS];
+        private long count;
+
+        // Upper edge of the bin holding the quantile, or 0 while there are too few stays
+        private volatile int predicted;
+
+        synchronized void add(int minutes, double quantile) {
+            if (count >= DECAY_AT) {
+                count = 0;
+                for (int bin = 0; bin < BINS; bin++) {
+                    bins[bin] >>= 1;
+                    count += bins[bin];
+                }
+            }
+            bins[Math.min(minutes / BIN_MINUTES, BINS - 1)]++;
+            count++;
+            if (count >= MIN_SAMPLES) {
+                predicted = quantile(quantile);
+            }
+        }
+
+        private int quantile(double quantile) {
+            long rank = Math.max((long) Math.ceil(quantile * count), 1);
+            long seen = 0;
+            for (int bin = 0; bin < BINS; bin++) {
+                seen += bins[bin];
+                if (seen >= rank) {
+                    return (bin + 1) * BIN_MINUTES;
+                }
+            }
+            return BINS * BIN_MINUTES;
+        }
+    }
+}
@@ -3,16 +3,15 @@ package com.easyserve.service;
 
 import com.easyserve.dto.LoginRequest;
 import com.easyserve.dto.RegisterRequest;
+import com.easyserve.repository.UserStore;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 public class UserService {
@@ -20,13 +19,16 @@ public class UserService {
     @Autowired
     private NotificationService notificationService;
 
-    private final BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
+    @Autowired
+    private PasswordHasher passwordHasher;
+
+    @Autowired
+    private LoginThrottle loginThrottle;
 
-    // Mock storage for users (in-memory for MVP)
-    private final Map<UUID, UserProfile> users = new ConcurrentHashMap<>();
-    private final Map<String, UUID> emailToUserId = new ConcurrentHashMap<>();
+    @Autowired
+    private UserStore userStore;
 
-    // User profile class for mock storage
+    // User profile handed out by UserService and kept in the UserStore
     public static class UserProfile {
         private UUID id;
         private String email;
@@ -91,57 +93,55 @@ public class UserService {
         }
     }
 
-    public UserService() {
-        // Initialize with some test users
-        createTestUsers();
-    }
+    @PostConstruct
+    void createTestUsers() {
+        // Initialize with some test users (the JPA backend may already have them)
+        if (userStore.existsByEmail("admin@restaurant.com")) {
+            return;
+        }
 
-    private void createTestUsers() {
         UUID restaurantId = UUID.fromString("550e8400-e29b-41d4-a716-446655440000");
         
         // Owner user
         UserProfile owner = new UserProfile(
             UUID.randomUUID(),
             "admin@restaurant.com",
-            passwordEncoder.encode("password"),
+            passwordHasher.encodeOnPool("password"),
             "John",
             "Owner",
             "OWNER",
             restaurantId
         );
-        users.put(owner.getId(), owner);
-        emailToUserId.put(owner.getEmail(), owner.getId());
+        userStore.insert(owner);
 
         // Manager user
         UserProfile manager = new UserProfile(
             UUID.randomUUID(),
             "manager@restaurant.com",
-            passwordEncoder.encode("password"),
+            passwordHasher.encodeOnPool("password"),
             "Jane",
             "Manager",
             "MANAGER",
             restaurantId
         );
-        users.put(manager.getId(), manager);
-        emailToUserId.put(manager.getEmail(), manager.getId());
+        userStore.insert(manager);
 
         // Staff user
         UserProfile staff = new UserProfile(
             UUID.randomUUID(),
             "staff@restaurant.com",
-            passwordEncoder.encode("password"),
+            passwordHasher.encodeOnPool("password"),
             "Bob",
             "Staff",
             "STAFF",
             restaurantId
         );
-        users.put(staff.getId(), staff);
-        emailToUserId.put(staff.getEmail(), staff.getId());
+        userStore.insert(staff);
     }
 
     public UserProfile registerUser(RegisterRequest request) {
         // Check if email already exists
-        if (emailToUserId.containsKey(request.getEmail())) {
+        if (userStore.existsByEmail(request.getEmail())) {
             throw new IllegalArgumentException("User already exists with this email");
         }
 
@@ -150,7 +150,7 @@ public class UserService {
         UserProfile user = new UserProfile(
             userId,
             request.getEmail(),
-            passwordEncoder.encode(request.getPassword()),
+            passwordHasher.encodeOnPool(request.getPassword()),
             request.getFirstName(),
             request.getLastName(),
             request.getRole(),
@@ -158,9 +158,8 @@ public class UserService {
                 request.getExistingRestaurantId() : UUID.randomUUID()
         );
 
-        // Save user
-        users.put(userId, user);
-        emailToUserId.put(user.getEmail(), userId);
+        // Save user (the store rejects an email registered concurrently)
+        userStore.insert(user);
 
         // Send welcome email
         notificationService.sendWelcomeEmail(user.getEmail(), user.getFirstName());
@@ -168,48 +167,61 @@ public class UserService {
         return user;
     }
 
-    public UserProfile authenticateUser(String email, String rawPassword) {
-        UUID userId = emailToUserId.get(email);
-        if (userId == null) {
-            throw new IllegalArgumentException("Invalid email or inactive user");
-        }
+    // Throttled before any hashing is done; the password check itself runs on the PasswordHasher
+    // pool. Fails with LoginThrottle.TooManyAttemptsException or, when the pool is saturated,
+    // RejectedExecutionException; bad credentials complete the future with IllegalArgumentException.
+    public CompletableFuture<UserProfile> authenticateUser(String email, String rawPassword, String clientIp) {
+        loginThrottle.acquire(email, clientIp);
+        return passwordHasher.submit(() -> verifyCredentials(email, rawPassword));
+    }
 
-        UserProfile user = users.get(userId);
+    // Runs on a hashing worker
+    private UserProfile verifyCredentials(String email, String rawPassword) {
+        UserProfile user = userStore.findByEmail(email).orElse(null);
         if (user == null || !user.isActive()) {
             throw new IllegalArgumentException("Invalid email or inactive user");
         }
 
-        if (!passwordEncoder.matches(rawPassword, user.getPassword())) {
+        if (!passwordHasher.matches(rawPassword, user.getPassword())) {
             throw new IllegalArgumentException("Invalid credentials");
         }
+        loginThrottle.succeeded(email);
+
+        // Only now is the raw password at hand, so this is where a cost change reaches old hashes
+        if (passwordHasher.needsRehash(user.getPassword())) {
+            user.setPassword(passwordHasher.encode(rawPassword));
+        }
 
         // Update last login time
         user.setLastLogin(LocalDateTime.now());
+        userStore.save(user);
         return user;
     }
 
     public UserProfile updateUserProfile(UUID userId, String firstName, String lastName) {
-        UserProfile user = users.get(userId);
+        UserProfile user = userStore.findById(userId).orElse(null);
         if (user == null) {
             throw new IllegalArgumentException("User not found");
         }
 
         user.setFirstName(firstName);
         user.setLastName(lastName);
+        userStore.save(user);
         return user;
     }
 
     public void deactivateUser(UUID userId) {
-        UserProfile user = users.get(userId);
+        UserProfile user = userStore.findById(userId).orElse(null);
         if (user == null) {
             throw new IllegalArgumentException("User not found");
         }
 
         user.setActive(false);
+        userStore.save(user);
     }
 
     public List<UserProfile> getUsersByRestaurant(UUID restaurantId) {
-        return users.values().stream()
+        return userStore.findAll().stream()
                 .filter(user -> user.getRestaurantId().equals(restaurantId))
                 .filter(UserProfile::isActive)
                 .sorted((u1, u2) -> u1.getRole().compareTo(u2.getRole()))
@@ -217,16 +229,17 @@ public class UserService {
     }
 
     public void changeUserRole(UUID userId, String newRole) {
-        UserProfile user = users.get(userId);
+        UserProfile user = userStore.findById(userId).orElse(null);
         if (user == null) {
             throw new IllegalArgumentException("User not found");
         }
 
         user.setRole(newRole);
+        userStore.save(user);
     }
 
     public UserProfile getUserById(UUID userId) {
-        UserProfile user = users.get(userId);
+        UserProfile user = userStore.findById(userId).orElse(null);
         if (user == null) {
             throw new IllegalArgumentException("User not found");
         }
@@ -234,52 +247,47 @@ public class UserService {
     }
 
     public UserProfile getUserByEmail(String email) {
-        UUID userId = emailToUserId.get(email);
-        if (userId == null) {
-            throw new IllegalArgumentException("User not found");
-        }
-        return users.get(userId);
+        return userStore.findByEmail(email)
+                .orElseThrow(() -> new IllegalArgumentException("User not found"));
     }
 
     public boolean emailExists(String email) {
-        return emailToUserId.containsKey(email);
+        return userStore.existsByEmail(email);
     }
 
     public void changePassword(UUID userId, String oldPassword, String newPassword) {
-        UserProfile user = users.get(userId);
+        UserProfile user = userStore.findById(userId).orElse(null);
         if (user == null) {
             throw new IllegalArgumentException("User not found");
         }
 
-        if (!passwordEncoder.matches(oldPassword, user.getPassword())) {
+        if (!passwordHasher.submit(() -> passwordHasher.matches(oldPassword, user.getPassword())).join()) {
             throw new IllegalArgumentException("Invalid current password");
         }
 
-        user.setPassword(passwordEncoder.encode(newPassword));
+        user.setPassword(passwordHasher.encodeOnPool(newPassword));
+        userStore.save(user);
     }
 
     public void resetPassword(String email, String newPassword) {
-        UUID userId = emailToUserId.get(email);
-        if (userId == null) {
-            throw new IllegalArgumentException("User not found");
-        }
-
-        UserProfile user = users.get(userId);
-        user.setPassword(passwordEncoder.encode(newPassword));
+        UserProfile user = userStore.findByEmail(email)
+                .orElseThrow(() -> new IllegalArgumentException("User not found"));
+        user.setPassword(passwordHasher.encodeOnPool(newPassword));
+        userStore.save(user);
 
         // Send password reset notification
         notificationService.sendPasswordResetEmail(email, "reset-token-" + UUID.randomUUID());
     }
 
     public List<UserProfile> getActiveUsers() {
-        return users.values().stream()
+        return userStore.findAll().stream()
                 .filter(UserProfile::isActive)
                 .sorted((u1, u2) -> u1.getEmail().compareTo(u2.getEmail()))
                 .toList();
     }
 
     public List<UserProfile> getUsersByRole(String role) {
-        return users.values().stream()
+        return userStore.findAll().stream()
                 .filter(user -> role.equals(user.getRole()))
                 .filter(UserProfile::isActive)
                 .toList();
@@ -287,17 +295,17 @@ public class UserService {
 
     // Analytics methods
     public int getTotalUsers() {
-        return users.size();
+        return (int) userStore.count();
     }
 
     public int getActiveUsersCount() {
-        return (int) users.values().stream()
+        return (int) userStore.findAll().stream()
                 .filter(UserProfile::isActive)
                 .count();
     }
 
     public int getUsersByRoleCount(String role) {
-        return (int) users.values().stream()
+        return (int) userStore.findAll().stream()
                 .filter(user -> role.equals(user.getRole()))
                 .filter(UserProfile::isActive)
                 .count();
@@ -305,22 +313,22 @@ public class UserService {
 
     // Business logic methods
     public boolean canUserAccessRestaurant(UUID userId, UUID restaurantId) {
-        UserProfile user = users.get(userId);
+        UserProfile user = userStore.findById(userId).orElse(null);
         return user != null && user.getRestaurantId().equals(restaurantId) && user.isActive();
     }
 
     public boolean isUserOwner(UUID userId) {
-        UserProfile user = users.get(userId);
+        UserProfile user = userStore.findById(userId).orElse(null);
         return user != null && "OWNER".equals(user.getRole());
     }
 
     public boolean isUserManager(UUID userId) {
-        UserProfile user = users.get(userId);
+        UserProfile user = userStore.findById(userId).orElse(null);
         return user != null && ("OWNER".equals(user.getRole()) || "MANAGER".equals(user.getRole()));
     }
 
     public List<UserProfile> getRestaurantStaff(UUID restaurantId) {
-        return users.values().stream()
+        return userStore.findAll().stream()
                 .filter(user -> user.getRestaurantId().equals(restaurantId))
                 .filter(UserProfile::isActive)
                 .filter(user -> "STAFF".equals(user.getRole()))
@@ -0,0 +1,306 @@
+package com.easyserve.service;
+
+import com.easyserve.dto.WaitlistEntryDTO;
+import com.easyserve.service.TableInventory.TableLayout;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Walk-in parties waiting for a table, per restaurant. Parties are queued by size, each size in
+// arrival order, so the longest-waiting party a free table can seat is found by looking at one
+// head per party size. Held in memory only: the queue is for tonight, not for after a restart.
+//
+// Wait estimates go by table size: tables of each size free up at the pace of their own recent
+// turns, and a party only waits behind the parties ahead of it that take the tables it fits.
+@Component
+public class Waitlist {
+
+    private static final int TURNOVER_SAMPLES = 20;
+
+    // Ids grow with arrival, so id order is arrival order
+    private static final Comparator<Party> ARRIVAL = Comparator.comparingLong(party -> party.id);
+
+    @Autowired
+    private TableInventory tableInventory;
+
+    // Assumed for tables of a size until two of them have turned, as for holds before stays are learned
+    @Value("${app.reservations.default-stay-minutes:120}")
+    private int defaultStayMinutes;
+
+    private final Map<Long, RestaurantQueue> queues = new ConcurrentHashMap<>();
+    private final Map<Long, Party> parties = new ConcurrentHashMap<>();
+    private final AtomicLong ids = new AtomicLong();
+
+    public WaitlistEntryDTO join(WaitlistEntryDTO entry, LocalDateTime now) {
+        Party party = new Party(ids.incrementAndGet(), entry, now);
+        RestaurantQueue queue = queue(entry.getRestaurantId());
+        parties.put(party.id, party);
+        return queue.add(party);
+    }
+
+    public boolean hasWaiting(Long restaurantId) {
+        RestaurantQueue queue = queues.get(restaurantId);
+        return queue != null && queue.size() > 0;
+    }
+
+    // The longest-waiting party of at most maxPartySize, or null; it stays queued until removed
+    public WaitlistEntryDTO nextFitting(Long restaurantId, int maxPartySize) {
+        RestaurantQueue queue = queues.get(restaurantId);
+        return queue == null ? null : queue.nextFitting(maxPartySize);
+    }
+
+    // False when the party already left or was seated by someone else
+    public boolean remove(Long entryId) {
+        Party party = parties.remove(entryId);
+        return party != null && queue(party.restaurantId).remove(party);
+    }
+
+    // Puts a party taken by remove() back at its place in the queue, e.g. when seating it failed.
+    // The entry is one handed out by nextFitting, which carries the id and arrival time.
+    public void requeue(WaitlistEntryDTO entry) {
+        Party party = new Party(entry.getId(), entry, entry.getJoinedAt());
+        parties.put(party.id, party);
+        queue(party.restaurantId).add(party);
+    }
+
+    public WaitlistEntryDTO find(Long entryId) {
+        Party party = parties.get(entryId);
+        return party == null ? null : queue(party.restaurantId).describe(party);
+    }
+
+    // Waiting parties in arrival order, each with its position and estimated wait
+    public List<WaitlistEntryDTO> waiting(Long restaurantId) {
+        RestaurantQueue queue = queues.get(restaurantId);
+        return queue == null ? List.of() : queue.waiting();
+    }
+
+    // A party left the table (numbered from 1); recent turns of tables that size set the pace
+    // for wait estimates
+    public void tableTurned(Long restaurantId, int tableNumber, LocalDateTime at) {
+        queue(restaurantId).turned(tableNumber - 1, at);
+    }
+
+    private RestaurantQueue queue(Long restaurantId) {
+        return queues.computeIfAbsent(restaurantId,
+                id -> new RestaurantQueue(tableInventory.layoutFor(id), defaultStayMinutes));
+    }
+
+    private static long epochMillis(LocalDateTime at) {
+        return at.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static final class Party {
+
+        private final long id;
+        private final Long restaurantId;
+        private final WaitlistEntryDTO entry;
+        private final LocalDateTime joinedAt;
+
+        Party(long id, WaitlistEntryDTO entry, LocalDateTime joinedAt) {
+            this.id = id;
+            this.restaurantId = entry.getRestaurantId();
+            this.entry = entry;
+            this.joinedAt = joinedAt;
+        }
+
+        int size() {
+            return entry.getPartySize() != null ? entry.getPartySize() : 1;
+        }
+
+        WaitlistEntryDTO describe(Integer position, Integer estimatedWaitMinutes) {
+            WaitlistEntryDTO dto = new WaitlistEntryDTO(restaurantId, entry.getCustomerFirstName(),
+                    entry.getCustomerLastName(), entry.getCustomerEmail(), entry.getCustomerPhone(), size());
+            dto.setId(id);
+            dto.setStatus("WAITING");
+            dto.setJoinedAt(joinedAt);
+            dto.setPosition(position);
+            dto.setEstimatedWaitMinutes(estimatedWaitMinutes);
+            return dto;
+        }
+    }
+
+    private static final class RestaurantQueue {
+
+        private final TableLayout layout;
+        private final int stayMinutes;
+        private final NavigableMap<Integer, TreeSet<Party>> bySize = new TreeMap<>();
+        private final TreeSet<Party> byArrival = new TreeSet<>(ARRIVAL);
+
+        // Table sizes, each a size class: the distinct seat counts, ascending, and how many
+        // tables have each
+        private final int[] classSeats;
+        private final int[] classTables;
+
+        // Per size class, times of its last few table turns, oldest first, as a ring
+        private final long[][] turns;
+        private final int[] turnCount;
+        private final int[] nextTurn;
+
+        RestaurantQueue(TableLayout layout, int stayMinutes) {
+            this.layout = layout;
+            this.stayMinutes = stayMinutes;
+            int[] seats = new int[layout.tableCount()];
+            int[] tables = new int[layout.tableCount()];
+            int classes = 0;
+            for (int table = 0; table < layout.tableCount(); table++) {
+                if (classes == 0 || seats[classes - 1] != layout.seats(table)) {
+                    seats[classes++] = layout.seats(table);
+                }
+                tables[classes - 1]++;
+            }
+            this.classSeats = Arrays.copyOf(seats, classes);
+            this.classTables = Arrays.copyOf(tables, classes);
+            this.turns = new long[classes][TURNOVER_SAMPLES];
+            this.turnCount = new int[classes];
+            this.nextTurn = new int[classes];
+        }
+
+        synchronized int size() {
+            return byArrival.size();
+        }
+
+        synchronized WaitlistEntryDTO add(Party party) {
+            bySize.computeIfAbsent(party.size(), size -> new TreeSet<>(ARRIVAL)).add(party);
+            byArrival.add(party);
+            return describe(party);
+        }
+
+        synchronized WaitlistEntryDTO nextFitting(int maxPartySize) {
+            Party best = null;
+            for (TreeSet<Party> sameSize : bySize.headMap(maxPartySize, true).values()) {
+                Party first = sameSize.first();
+                if (best == null || first.id < best.id) {
+                    best = first;
+                }
+            }
+            return best == null ? null : best.describe(null, null);
+        }
+
+        synchronized boolean remove(Party party) {
+            TreeSet<Party> sameSize = bySize.get(party.size());
+            if (sameSize == null || !sameSize.remove(party)) {
+                return false;
+            }
+            if (sameSize.isEmpty()) {
+                bySize.remove(party.size());
+            }
+            byArrival.remove(party);
+            return true;
+        }
+
+        synchronized WaitlistEntryDTO describe(Party party) {
+            List<Party> upTo = new ArrayList<>(byArrival.headSet(party, false));
+            upTo.add(party);
+            Integer[] waits = waits(upTo);
+            return party.describe(upTo.size() - 1, waits[upTo.size() - 1]);
+        }
+
+        synchronized List<WaitlistEntryDTO> waiting() {
+            Integer[] waits = waits(byArrival);
+            List<WaitlistEntryDTO> waiting = new ArrayList<>(byArrival.size());
+            for (Party party : byArrival) {
+                waiting.add(party.describe(waiting.size(), waits[waiting.size()]));
+            }
+            return waiting;
+        }
+
+        synchronized void turned(int table, LocalDateTime at) {
+            if (table < 0 || table >= layout.tableCount()) {
+                return;
+            }
+            int k = Arrays.binarySearch(classSeats, layout.seats(table));
+            turns[k][nextTurn[k]] = epochMillis(at);
+            nextTurn[k] = (nextTurn[k] + 1) % TURNOVER_SAMPLES;
+            turnCount[k] = Math.min(turnCount[k] + 1, TURNOVER_SAMPLES);
+        }
+
+        // Minutes until each of the parties, in arrival order, gets a table: tables of each size
+        // turn at their recent pace, and each freed table goes to the longest-waiting party it
+        // fits, as seating does. A party only waits behind those ahead of it that take the tables
+        // it could have had. Null when the restaurant has no tables.
+        private Integer[] waits(Collection<Party> inArrivalOrder) {
+            Integer[] waits = new Integer[inArrivalOrder.size()];
+            int classes = classSeats.length;
+            if (classes == 0) {
+                return waits;
+            }
+            List<ArrayDeque<Integer>> bySizeClass = new ArrayList<>(classes);
+            for (int k = 0; k < classes; k++) {
+                bySizeClass.add(new ArrayDeque<>());
+            }
+            int index = 0;
+            for (Party party : inArrivalOrder) {
+                bySizeClass.get(sizeClass(party.size())).add(index++);
+            }
+
+            double[] minutesPerTurn = new double[classes];
+            double[] nextTurnAt = new double[classes];
+            boolean[] fitsSomeone = new boolean[classes];
+            for (int k = 0; k < classes; k++) {
+                minutesPerTurn[k] = minutesPerTurn(k);
+                nextTurnAt[k] = minutesPerTurn[k];
+                fitsSomeone[k] = true;
+            }
+            for (int seated = 0; seated < waits.length; ) {
+                int turning = -1;
+                for (int k = 0; k < classes; k++) {
+                    if (fitsSomeone[k] && (turning < 0 || nextTurnAt[k] < nextTurnAt[turning])) {
+                        turning = k;
+                    }
+                }
+                ArrayDeque<Integer> longestWaiting = null;
+                for (int k = 0; k <= turning; k++) {
+                    ArrayDeque<Integer> sameClass = bySizeClass.get(k);
+                    if (!sameClass.isEmpty() && (longestWaiting == null || sameClass.peek() < longestWaiting.peek())) {
+                        longestWaiting = sameClass;
+                    }
+                }
+                if (longestWaiting == null) {
+                    // Nobody left it fits, and nobody joins in between
+                    fitsSomeone[turning] = false;
+                    continue;
+                }
+                waits[longestWaiting.poll()] = (int) Math.round(nextTurnAt[turning]);
+                nextTurnAt[turning] += minutesPerTurn[turning];
+                seated++;
+            }
+            return waits;
+        }
+
+        // Index into classSeats of the smallest table size the party fits; parties larger than
+        // every table wait for the largest
+        private int sizeClass(int partySize) {
+            int k = Arrays.binarySearch(classSeats, partySize);
+            if (k < 0) {
+                k = -k - 1;
+            }
+            return Math.min(k, classSeats.length - 1);
+        }
+
+        // Average gap between recent turns of tables of one size. Until two of them turn, each
+        // table of that size is assumed to turn once per stay.
+        private double minutesPerTurn(int k) {
+            if (turnCount[k] < 2) {
+                return (double) stayMinutes / classTables[k];
+            }
+            long newest = turns[k][(nextTurn[k] + TURNOVER_SAMPLES - 1) % TURNOVER_SAMPLES];
+            long oldest = turns[k][turnCount[k] < TURNOVER_SAMPLES ? 0 : nextTurn[k]];
+            return Math.max((newest - oldest) / 60_000.0 / (turnCount[k] - 1), 1.0);
+        }
+    }
+}